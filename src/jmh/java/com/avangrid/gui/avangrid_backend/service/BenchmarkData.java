@@ -0,0 +1,138 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.infra.nyseg.entity.VpiCaptureNyseg;
+import com.avangrid.gui.avangrid_backend.model.dto.request.VpiFiltersRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic inputs shaped like production data: recording file names,
+ * CMP {@code ExportSummary} day files, NYSEG/RGE {@code Media} files and capture rows.
+ */
+final class BenchmarkData {
+
+    static final OffsetDateTime START = OffsetDateTime.of(2024, 1, 15, 15, 45, 30, 0, ZoneOffset.UTC);
+
+    private static final String[] CUSTOMERS = {
+            "John Doe", "Maria Garcia", "Wei Chen", "Fatima Al-Sayed", "Liam O'Brien", "Priya Natarajan"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @return Recording file name: 5-digit channel, file timestamp, customer name
+     */
+    static String wavFileName(int index) {
+        OffsetDateTime start = START.plusMinutes(index * 7L);
+        return String.format("%05d%04d-%02d-%02d_%02d-%02d-%02d%s.wav",
+                index % 96,
+                start.getYear(), start.getMonthValue(), start.getDayOfMonth(),
+                (start.getHour() + 11) % 12 + 1, start.getMinute(), start.getSecond(),
+                CUSTOMERS[index % CUSTOMERS.length]);
+    }
+
+    /**
+     * @return CMP day file listing {@code mediaCount} recordings
+     */
+    static byte[] cmpExportSummary(int mediaCount) {
+        StringBuilder xml = new StringBuilder(mediaCount * 640)
+                .append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+                .append("<ExportSummary xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n")
+                .append("  <ExportInfo>\n")
+                .append("    <ExportDate>1/16/2024 2:00:00 AM</ExportDate>\n")
+                .append("    <ObjectCount>").append(mediaCount).append("</ObjectCount>\n")
+                .append("  </ExportInfo>\n")
+                .append("  <Objects>\n");
+        for (int i = 0; i < mediaCount; i++) {
+            appendMedia(xml, i, "    ");
+        }
+        xml.append("  </Objects>\n</ExportSummary>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return NYSEG/RGE metadata file of one recording
+     */
+    static byte[] nysegMedia() {
+        StringBuilder xml = new StringBuilder(1024).append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+        appendMedia(xml, 7, "");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendMedia(StringBuilder xml, int index, String indent) {
+        OffsetDateTime start = START.plusMinutes(index * 7L);
+        Random random = new Random(index);
+        xml.append(indent).append("<Media FileName=\"").append(wavFileName(index))
+                .append("\" Type=\"Audio\" Result=\"").append(index % 50 == 49 ? "FAILED" : "SUCCESS").append("\">\n");
+        field(xml, indent, "objectID", new UUID(index, random.nextLong()).toString());
+        field(xml, indent, "startTime", VpiRecordingService.toXmlStartTime(start));
+        field(xml, indent, "duration", Integer.toString(30 + random.nextInt(900)));
+        field(xml, indent, "channelNum", Integer.toString(index % 96));
+        field(xml, indent, "channelName", "Trunk " + index % 96);
+        field(xml, indent, "extensionNum", Integer.toString(4000 + random.nextInt(1000)));
+        field(xml, indent, "aniAliDigits", Long.toString(5_850_000_000L + random.nextInt(10_000_000)));
+        field(xml, indent, "agentID", "A" + (1000 + random.nextInt(9000)));
+        field(xml, indent, "direction", Boolean.toString(random.nextBoolean()));
+        field(xml, indent, "userName", CUSTOMERS[index % CUSTOMERS.length]);
+        xml.append(indent).append("</Media>\n");
+    }
+
+    private static void field(StringBuilder xml, String indent, String name, String value) {
+        xml.append(indent).append("  <").append(name).append('>').append(value)
+                .append("</").append(name).append(">\n");
+    }
+
+    /**
+     * @return Fully populated capture row
+     */
+    static VpiCaptureNyseg capture(int index) {
+        Random random = new Random(index);
+        OffsetDateTime start = START.plusMinutes(index * 7L);
+        VpiCaptureNyseg capture = new VpiCaptureNyseg();
+        capture.setObjectId(new UUID(index, random.nextLong()));
+        capture.setDateAdded(start.plusSeconds(30));
+        capture.setStartTime(start);
+        capture.setGmtStartTime(start);
+        capture.setResourceId(new UUID(7, index % 96));
+        capture.setWorkstationId(new UUID(11, index % 40));
+        capture.setUserId(new UUID(13, index % CUSTOMERS.length));
+        capture.setGmtOffset((short) -300);
+        capture.setDuration(30 + random.nextInt(900));
+        capture.setTags("billing;escalation");
+        capture.setChannelNum((short) (index % 96));
+        capture.setChannelName("Trunk " + index % 96);
+        capture.setExtensionNum(Integer.toString(4000 + random.nextInt(1000)));
+        capture.setAgentId("A" + (1000 + random.nextInt(9000)));
+        capture.setAnialidigits(Long.toString(5_850_000_000L + random.nextInt(10_000_000)));
+        capture.setDirection(random.nextBoolean());
+        capture.setMediaFileId(new UUID(17, index));
+        capture.setCallId(Long.toHexString(random.nextLong()));
+        capture.setGlobalCallId(Long.toHexString(random.nextLong()));
+        capture.setTranscriptResult((short) 0);
+        capture.setTranscriptStatus((short) 0);
+        capture.setAudioChannels((short) 2);
+        capture.setHasTalkover(false);
+        return capture;
+    }
+
+    /**
+     * @return Search filters using every supported criterion
+     */
+    static VpiFiltersRequest filters() {
+        VpiFiltersRequest filters = new VpiFiltersRequest();
+        filters.setExtensionNum(List.of("4021", " 4022 "));
+        filters.setChannelNum(List.of("12", "13"));
+        filters.setAniAliDigits(List.of("585555"));
+        filters.setName(List.of("Doe"));
+        filters.setObjectIDs(List.of(new UUID(1, 2), new UUID(3, 4)));
+        filters.setDirection(Boolean.TRUE);
+        filters.setAgentID(List.of("A1234"));
+        return filters;
+    }
+}
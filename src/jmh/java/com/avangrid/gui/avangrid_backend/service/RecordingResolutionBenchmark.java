@@ -0,0 +1,72 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-candidate work of recording resolution: matching listed blob names against the
+ * requested call, and the start time conversions between API, XML and file name formats.
+ * The blob name benchmarks run over a day listing, so results are per listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordingResolutionBenchmark {
+
+    private static final int LISTING_SIZE = 200;
+
+    private String[] blobNames;
+    private String expectedTimestamp;
+    private String xmlStartTime;
+    private OffsetDateTime startTime;
+
+    @Setup
+    public void setUp() {
+        blobNames = new String[LISTING_SIZE];
+        for (int i = 0; i < LISTING_SIZE; i++) {
+            blobNames[i] = "NYSEG/2024/1/15/" + BenchmarkData.wavFileName(i);
+        }
+        startTime = BenchmarkData.START.plusMinutes(7L * LISTING_SIZE / 2);
+        xmlStartTime = VpiRecordingService.toXmlStartTime(startTime);
+        expectedTimestamp = VpiRecordingService.xmlStartTimeToFileTimestamp(xmlStartTime);
+    }
+
+    @Benchmark
+    public void matchesTimestamp(Blackhole blackhole) {
+        for (String blobName : blobNames) {
+            blackhole.consume(RecordingFileNames.matchesTimestamp(blobName, expectedTimestamp));
+        }
+    }
+
+    @Benchmark
+    public void extractCustomerName(Blackhole blackhole) {
+        for (String blobName : blobNames) {
+            blackhole.consume(RecordingFileNames.extractCustomerName(blobName));
+        }
+    }
+
+    @Benchmark
+    public String xmlStartTimeToFileTimestamp() {
+        return VpiRecordingService.xmlStartTimeToFileTimestamp(xmlStartTime);
+    }
+
+    @Benchmark
+    public String toXmlStartTime() {
+        return VpiRecordingService.toXmlStartTime(startTime);
+    }
+}
@@ -0,0 +1,82 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.infra.nyseg.entity.VpiCaptureNyseg;
+import com.avangrid.gui.avangrid_backend.model.common.VpiMetadata;
+import com.avangrid.gui.avangrid_backend.model.dto.request.VpiFiltersRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work of search outside the database: building the query specification from
+ * the filters, and mapping a page of capture rows to response DTOs or full metadata maps.
+ * Mapping benchmarks run over one page, so results are per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchMappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String OPCO = "NYSEG";
+
+    private VpiCaptureNyseg[] page;
+    private Map<UUID, String> userNames;
+    private VpiFiltersRequest filters;
+    private Set<UUID> matchedUserIds;
+    private OffsetDateTime from;
+    private OffsetDateTime to;
+
+    @Setup
+    public void setUp() {
+        page = new VpiCaptureNyseg[PAGE_SIZE];
+        userNames = new HashMap<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page[i] = BenchmarkData.capture(i);
+            userNames.put(page[i].getUserId(), "User " + i);
+        }
+        filters = BenchmarkData.filters();
+        matchedUserIds = Set.copyOf(userNames.keySet());
+        from = BenchmarkData.START.minusDays(7);
+        to = BenchmarkData.START;
+    }
+
+    @Benchmark
+    public Specification<VpiCaptureNyseg> captureSpecificationsBuild() {
+        return CaptureSpecifications.build(from, to, filters, matchedUserIds);
+    }
+
+    @Benchmark
+    public void convertToMetadata(Blackhole blackhole) {
+        for (VpiCaptureNyseg capture : page) {
+            VpiMetadata metadata = VpiMetadataMapper.convertToMetadata(capture, OPCO, userNames);
+            blackhole.consume(metadata);
+        }
+    }
+
+    @Benchmark
+    public void buildMetadataMap(Blackhole blackhole) {
+        for (VpiCaptureNyseg capture : page) {
+            blackhole.consume(VpiMetadataMapper.buildMetadataMap(capture));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.model.common.MediaMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link XmlMediaParser} on CMP day files of increasing size and on a single NYSEG/RGE
+ * metadata file. {@code findFirst} stops at the record in the middle of the day file, as a
+ * playback lookup does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlMediaParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CmpDayFile {
+
+        @Param({"20", "500", "5000"})
+        int mediaCount;
+
+        XmlMediaParser parser;
+        byte[] content;
+        String middleFileName;
+
+        @Setup
+        public void setUp() {
+            parser = new XmlMediaParser();
+            content = BenchmarkData.cmpExportSummary(mediaCount);
+            middleFileName = BenchmarkData.wavFileName(mediaCount / 2);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class NysegFile {
+
+        XmlMediaParser parser;
+        byte[] content;
+
+        @Setup
+        public void setUp() {
+            parser = new XmlMediaParser();
+            content = BenchmarkData.nysegMedia();
+        }
+    }
+
+    @Benchmark
+    public List<MediaMetadata> parseCmpExportSummary(CmpDayFile file) {
+        return file.parser.parse(new ByteArrayInputStream(file.content));
+    }
+
+    @Benchmark
+    public boolean findFirstInCmpExportSummary(CmpDayFile file) {
+        return file.parser.parse(new ByteArrayInputStream(file.content),
+                media -> !file.middleFileName.equals(media.getFileName()));
+    }
+
+    @Benchmark
+    public List<MediaMetadata> parseNysegMedia(NysegFile file) {
+        return file.parser.parse(new ByteArrayInputStream(file.content));
+    }
+}
@@ -0,0 +1,184 @@
+package com.avangrid.gui.avangrid_backend.loadtest;
+
+import com.avangrid.gui.avangrid_backend.loadtest.LoadRunner.EndpointResult;
+import com.avangrid.gui.avangrid_backend.loadtest.LoadRunner.StepResult;
+import com.avangrid.gui.avangrid_backend.loadtest.LoadTestOptions.Endpoint;
+import com.avangrid.gui.avangrid_backend.loadtest.LoadTestOptions.ThreadMode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Per-endpoint throughput and latency percentiles of every step, and where each endpoint's
+ * latency collapsed. Written to the console, {@code results.csv} and {@code summary.md}.
+ *
+ * <p>A step has collapsed for an endpoint when its p99 exceeds {@code collapse-factor} times
+ * the p99 of the first step, or its error rate exceeds {@code collapse-error-rate}. In flight
+ * is the mean number of that endpoint's requests being served at once (throughput times mean
+ * latency), which is what a pod's limits have to admit.
+ */
+final class LoadReport {
+
+    private static final String HEADER = String.format("%-9s %5s %-9s %8s %7s %8s %8s %8s %8s %8s %8s %9s",
+            "threads", "conc", "endpoint", "ok", "errors", "ok/s", "mean", "p50", "p90", "p99", "max", "in-flight");
+
+    private final LoadTestOptions options;
+    private final List<StepResult> steps = new ArrayList<>();
+
+    LoadReport(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    void add(StepResult step) {
+        steps.add(step);
+        System.out.println();
+        System.out.println(HEADER);
+        for (EndpointResult result : step.endpoints().values()) {
+            if (result.ok() + result.errorCount() > 0) {
+                System.out.println(row(step, result));
+            }
+        }
+        if (!step.serverCounters().isEmpty()) {
+            System.out.println("server: " + step.serverCounters());
+        }
+        step.endpoints().values().stream()
+                .filter(result -> !result.errors().isEmpty())
+                .forEach(result -> System.out.println("errors " + result.endpoint() + ": " + result.errors()));
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(options.reportDir);
+        Files.write(options.reportDir.resolve("results.csv"), csv());
+        Path summary = options.reportDir.resolve("summary.md");
+        List<String> markdown = markdown();
+        Files.write(summary, markdown);
+        System.out.println();
+        markdown.stream().filter(line -> line.startsWith("- ")).forEach(System.out::println);
+        System.out.println();
+        System.out.println("Report written to " + summary.toAbsolutePath());
+    }
+
+    private String row(StepResult step, EndpointResult result) {
+        Histogram latencies = result.latencies();
+        return String.format(Locale.ROOT, "%-9s %5d %-9s %8d %7d %8.1f %8.1f %8d %8d %8d %8d %9.1f",
+                step.threadMode().name().toLowerCase(Locale.ROOT), step.concurrency(), result.endpoint(),
+                result.ok(), result.errorCount(), throughput(step, result), latencies.getMean(),
+                latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(90),
+                latencies.getValueAtPercentile(99), latencies.getMaxValue(), inFlight(step, result));
+    }
+
+    private List<String> csv() {
+        List<String> lines = new ArrayList<>();
+        lines.add("threads,concurrency,endpoint,ok,errors,ok_per_s,mean_ms,p50_ms,p90_ms,p99_ms,max_ms,in_flight,bytes");
+        for (StepResult step : steps) {
+            for (EndpointResult result : step.endpoints().values()) {
+                Histogram latencies = result.latencies();
+                lines.add(String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%.2f,%.2f,%d,%d,%d,%d,%.2f,%d",
+                        step.threadMode().name().toLowerCase(Locale.ROOT), step.concurrency(), result.endpoint(),
+                        result.ok(), result.errorCount(), throughput(step, result), latencies.getMean(),
+                        latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(90),
+                        latencies.getValueAtPercentile(99), latencies.getMaxValue(), inFlight(step, result),
+                        result.bytes()));
+            }
+        }
+        return lines;
+    }
+
+    private List<String> markdown() {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Load test summary");
+        lines.add("");
+        options.describe().forEach(line -> lines.add("    " + line));
+        lines.add("");
+        lines.add("## Collapse points");
+        lines.add("");
+        for (ThreadMode mode : options.threadModes) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                collapse(mode, endpoint).ifPresent(lines::add);
+            }
+        }
+        lines.add("");
+        lines.add("## Steps");
+        lines.add("");
+        lines.add("| threads | concurrency | endpoint | ok | errors | ok/s | mean ms | p50 ms | p90 ms | p99 ms | max ms | in flight |");
+        lines.add("|---|---:|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|");
+        for (StepResult step : steps) {
+            for (EndpointResult result : step.endpoints().values()) {
+                if (result.ok() + result.errorCount() == 0) {
+                    continue;
+                }
+                Histogram latencies = result.latencies();
+                lines.add(String.format(Locale.ROOT, "| %s | %d | %s | %d | %d | %.1f | %.1f | %d | %d | %d | %d | %.1f |",
+                        step.threadMode().name().toLowerCase(Locale.ROOT), step.concurrency(), result.endpoint(),
+                        result.ok(), result.errorCount(), throughput(step, result), latencies.getMean(),
+                        latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(90),
+                        latencies.getValueAtPercentile(99), latencies.getMaxValue(), inFlight(step, result)));
+            }
+        }
+        List<StepResult> withCounters = steps.stream().filter(step -> !step.serverCounters().isEmpty()).toList();
+        if (!withCounters.isEmpty()) {
+            lines.add("");
+            lines.add("## Server counters per step");
+            lines.add("");
+            for (StepResult step : withCounters) {
+                lines.add(String.format("- %s, %d clients: %s",
+                        step.threadMode().name().toLowerCase(Locale.ROOT), step.concurrency(), step.serverCounters()));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * @return One line naming the last healthy step of an endpoint and the step that collapsed
+     */
+    private Optional<String> collapse(ThreadMode mode, Endpoint endpoint) {
+        List<StepResult> modeSteps = steps.stream()
+                .filter(step -> step.threadMode() == mode)
+                .filter(step -> step.endpoints().get(endpoint).ok() > 0)
+                .toList();
+        if (modeSteps.isEmpty()) {
+            return Optional.empty();
+        }
+        long baselineP99 = Math.max(1, modeSteps.get(0).endpoints().get(endpoint).latencies().getValueAtPercentile(99));
+        StepResult healthy = null;
+        for (StepResult step : modeSteps) {
+            EndpointResult result = step.endpoints().get(endpoint);
+            long p99 = result.latencies().getValueAtPercentile(99);
+            if (p99 > options.collapseFactor * baselineP99 || result.errorRate() > options.collapseErrorRate) {
+                String healthyPart = healthy == null
+                        ? "never healthy"
+                        : String.format(Locale.ROOT, "healthy up to %d clients (%.1f in flight, %.1f ok/s)",
+                                healthy.concurrency(), inFlight(healthy, healthy.endpoints().get(endpoint)),
+                                throughput(healthy, healthy.endpoints().get(endpoint)));
+                return Optional.of(String.format(Locale.ROOT,
+                        "- %s %s: %s; collapsed at %d clients (%.1f in flight): p99 %d ms vs %d ms baseline, %.1f%% errors",
+                        endpoint, mode.name().toLowerCase(Locale.ROOT), healthyPart, step.concurrency(),
+                        inFlight(step, result), p99, baselineP99, 100 * result.errorRate()));
+            }
+            healthy = step;
+        }
+        return Optional.of(String.format(Locale.ROOT,
+                "- %s %s: no collapse up to %d clients (%.1f in flight, %.1f ok/s, p99 %d ms)",
+                endpoint, mode.name().toLowerCase(Locale.ROOT), healthy.concurrency(),
+                inFlight(healthy, healthy.endpoints().get(endpoint)),
+                throughput(healthy, healthy.endpoints().get(endpoint)),
+                healthy.endpoints().get(endpoint).latencies().getValueAtPercentile(99)));
+    }
+
+    private static double throughput(StepResult step, EndpointResult result) {
+        return result.ok() / step.seconds();
+    }
+
+    /**
+     * Little's law over all requests of the endpoint, failed ones at the mean latency.
+     */
+    private static double inFlight(StepResult step, EndpointResult result) {
+        return (result.ok() + result.errorCount()) / step.seconds() * result.latencies().getMean() / 1000;
+    }
+}
@@ -0,0 +1,164 @@
+package com.avangrid.gui.avangrid_backend.loadtest;
+
+import com.avangrid.gui.avangrid_backend.loadtest.LoadTestOptions.Endpoint;
+import com.avangrid.gui.avangrid_backend.loadtest.LoadTestOptions.ThreadMode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load: each of {@code concurrency} clients sends a request, reads the whole
+ * response and immediately sends the next, so the number of requests in flight is fixed and
+ * latency grows as the server saturates. Requests started during the warmup are not
+ * recorded. Latency is measured to the last byte of the response.
+ */
+final class LoadRunner {
+
+    private static final long MAX_LATENCY_MS = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Outcome of one endpoint in one step.
+     *
+     * @param latencies Latency in milliseconds of successful (2xx) requests
+     * @param errors Failed requests by status code or exception
+     */
+    record EndpointResult(Endpoint endpoint, Histogram latencies, Map<String, Long> errors, long bytes) {
+
+        long ok() {
+            return latencies.getTotalCount();
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        double errorRate() {
+            long total = ok() + errorCount();
+            return total == 0 ? 0 : (double) errorCount() / total;
+        }
+    }
+
+    /**
+     * Outcome of one concurrency step.
+     *
+     * @param serverCounters Application counter deltas over the step, e.g. pinned threads
+     */
+    record StepResult(ThreadMode threadMode, int concurrency, double seconds,
+                      Map<Endpoint, EndpointResult> endpoints, Map<String, Double> serverCounters) {
+    }
+
+    private final RequestScript script;
+    private final HttpClient client;
+
+    LoadRunner(RequestScript script) {
+        this.script = script;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Sends one request to an endpoint, to check the setup before putting load on it.
+     *
+     * @return Empty on success, otherwise the status and the start of the response body
+     */
+    Optional<String> probe(Endpoint endpoint, long seed) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(script.build(endpoint, new SplittableRandom(seed)),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 == 2) {
+            return Optional.empty();
+        }
+        String body = new String(response.body(), StandardCharsets.UTF_8);
+        return Optional.of("HTTP " + response.statusCode() + ": " + body.substring(0, Math.min(body.length(), 500)));
+    }
+
+    /**
+     * Runs {@code concurrency} clients for the warmup plus the measured duration.
+     */
+    Map<Endpoint, EndpointResult> run(int concurrency, Duration warmup, Duration measured, long seed)
+            throws InterruptedException {
+
+        Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, Map<String, LongAdder>> errors = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, LongAdder> bytes = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(MAX_LATENCY_MS, 3));
+            errors.put(endpoint, new ConcurrentHashMap<>());
+            bytes.put(endpoint, new LongAdder());
+        }
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + measured.toNanos();
+
+        List<Thread> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            SplittableRandom random = new SplittableRandom(seed * 1_000_003 + i);
+            clients.add(Thread.ofVirtual().name("loadtest-client-" + i).start(() -> {
+                while (System.nanoTime() < end) {
+                    Endpoint endpoint = script.next(random);
+                    HttpRequest request = script.build(endpoint, random);
+                    long start = System.nanoTime();
+                    String error = null;
+                    long received = 0;
+                    try {
+                        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                        try (InputStream body = response.body()) {
+                            received = body.transferTo(OutputStream.nullOutputStream());
+                        }
+                        if (response.statusCode() / 100 != 2) {
+                            error = "HTTP " + response.statusCode();
+                        }
+                    } catch (IOException e) {
+                        error = e.getClass().getSimpleName();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (start < measureFrom) {
+                        continue;
+                    }
+                    if (error == null) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        recorders.get(endpoint).recordValue(Math.min(millis, MAX_LATENCY_MS));
+                        bytes.get(endpoint).add(received);
+                    } else {
+                        errors.get(endpoint).computeIfAbsent(error, key -> new LongAdder()).increment();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+
+        Map<Endpoint, EndpointResult> results = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Map<String, Long> errorCounts = new TreeMap<>();
+            errors.get(endpoint).forEach((key, count) -> errorCounts.put(key, count.sum()));
+            results.put(endpoint, new EndpointResult(endpoint, recorders.get(endpoint).getIntervalHistogram(),
+                    errorCounts, bytes.get(endpoint).sum()));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,251 @@
+package com.avangrid.gui.avangrid_backend.loadtest;
+
+import com.avangrid.gui.avangrid_backend.AvangridBackendApplication;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStore;
+import com.avangrid.gui.avangrid_backend.infra.blob.InMemoryBlobStore;
+import com.avangrid.gui.avangrid_backend.loadtest.LoadRunner.EndpointResult;
+import com.avangrid.gui.avangrid_backend.loadtest.LoadRunner.StepResult;
+import com.avangrid.gui.avangrid_backend.loadtest.LoadTestOptions.Endpoint;
+import com.avangrid.gui.avangrid_backend.loadtest.LoadTestOptions.ThreadMode;
+import com.avangrid.gui.avangrid_backend.service.UserDirectoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test of one application instance, standing in for a pod.
+ *
+ * <p>Generates synthetic captures into in-memory H2 databases and the matching recordings
+ * into a local blob store, starts the application against them with the {@code loadtest}
+ * profile, and drives a scripted mix of search, metadata, playback and ZIP download requests
+ * at each step of a concurrency ladder. With {@code --threads=both} the whole ladder runs
+ * once on platform threads and once with {@code spring.threads.virtual.enabled}, each on a
+ * fresh application context with empty caches.
+ *
+ * <p>Run with {@code mvn -Ploadtest verify}; see {@link LoadTestOptions} for the options.
+ * Without {@code --ffmpeg} the {@code ffmpeg} on the PATH is used, or failing that a
+ * pass-through stand-in that copies the WAV, which leaves out the cost of encoding.
+ */
+public final class LoadTestHarness {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(1);
+    private static final List<String> OPCOS = List.of("CMP", "NYSEG", "RGE");
+
+    private final LoadTestOptions options;
+    private final LoadReport report;
+    private SyntheticDataset dataset;
+    private String ffmpeg;
+
+    private LoadTestHarness(LoadTestOptions options) {
+        this.options = options;
+        this.report = new LoadReport(options);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness(LoadTestOptions.parse(args)).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        options.describe().forEach(System.out::println);
+        Files.createDirectories(options.workDir);
+        ffmpeg = resolveFfmpeg();
+
+        long start = System.nanoTime();
+        dataset = SyntheticDataset.generate(options);
+        dataset.writeDatabases();
+        if (options.blobStore.equals("fs")) {
+            deleteRecursively(blobRoot());
+            dataset.writeBlobs(SyntheticDataset.directory(blobRoot()));
+        }
+        System.out.printf("Generated %d recordings of %d KiB in %d ms%n", dataset.recordings().size(),
+                dataset.wavBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        try (TokenIssuer issuer = new TokenIssuer()) {
+            for (ThreadMode mode : options.threadModes) {
+                runLadder(mode, issuer);
+            }
+        }
+        report.write();
+    }
+
+    private void runLadder(ThreadMode mode, TokenIssuer issuer) throws Exception {
+        System.out.println();
+        System.out.println("Starting application, " + mode.name().toLowerCase(Locale.ROOT) + " threads");
+        try (ConfigurableApplicationContext context = startApplication(mode, issuer)) {
+            if (options.blobStore.equals("memory")) {
+                InMemoryBlobStore store = context.getBean(InMemoryBlobStore.class);
+                dataset.writeBlobs(store::put);
+            }
+            awaitUserDirectories(context);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            RequestScript script = new RequestScript(options, dataset, URI.create("http://localhost:" + port), issuer.token());
+            LoadRunner runner = new LoadRunner(script);
+            probe(runner);
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            for (int concurrency : options.concurrency) {
+                System.out.printf("%n%s threads, %d clients: %d s warmup, %d s measured%n",
+                        mode.name().toLowerCase(Locale.ROOT), concurrency, options.warmupSeconds, options.stepSeconds);
+                Map<String, Double> before = serverCounters(registry);
+                Map<Endpoint, EndpointResult> results = runner.run(concurrency,
+                        Duration.ofSeconds(options.warmupSeconds), Duration.ofSeconds(options.stepSeconds),
+                        options.seed + concurrency);
+                Map<String, Double> counters = serverCounters(registry);
+                counters.replaceAll((name, value) -> value - before.getOrDefault(name, 0.0));
+                report.add(new StepResult(mode, concurrency, options.stepSeconds, results, counters));
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(ThreadMode mode, TokenIssuer issuer) throws IOException {
+        Path modeDir = options.workDir.resolve(mode.name().toLowerCase(Locale.ROOT));
+        deleteRecursively(modeDir);
+        Files.createDirectories(modeDir);
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", mode == ThreadMode.VIRTUAL);
+        properties.put("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", issuer.jwkSetUri());
+        properties.put("spring.security.oauth2.resourceserver.jwt.issuer-uri", TokenIssuer.ISSUER);
+        properties.put("spring.security.oauth2.resourceserver.jwt.audience", TokenIssuer.AUDIENCE);
+        for (String opco : OPCOS) {
+            String prefix = "datasource." + opco.toLowerCase(Locale.ROOT) + ".";
+            boolean enabled = options.opcos.contains(opco);
+            properties.put(prefix + "enabled", enabled);
+            if (enabled) {
+                properties.put(prefix + "jdbc-url", SyntheticDataset.jdbcUrl(opco));
+                properties.put(prefix + "username", "sa");
+                properties.put(prefix + "password", "");
+                properties.put(prefix + "driver-class-name", "org.h2.Driver");
+            }
+        }
+        properties.put("blobstore.fs.root", blobRoot().toAbsolutePath().toString());
+        properties.put("blobstore.memory.latency-ms", options.blobLatencyMs);
+        properties.put("blobstore.memory.latency-jitter-ms", options.blobLatencyJitterMs);
+        properties.put("ffmpeg.path", ffmpeg);
+        properties.put("blob.listing-cache.file", modeDir.resolve("blob-listings.bin").toAbsolutePath().toString());
+        properties.put("recording.cache.dir", modeDir.resolve("mp3-cache").toAbsolutePath().toString());
+        properties.put("download.jobs.dir", modeDir.resolve("download-jobs").toAbsolutePath().toString());
+        properties.putAll(options.springProperties);
+
+        // As command line arguments, so they override application.properties
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        String blobProfile = options.blobStore.equals("memory") ? BlobStore.PROFILE_MEMORY : BlobStore.PROFILE_FILESYSTEM;
+        return new SpringApplicationBuilder(AvangridBackendApplication.class)
+                .profiles("loadtest", blobProfile)
+                .run(args);
+    }
+
+    /**
+     * Waits for the first user directory load, so name searches never fall back to the
+     * PostgreSQL-only query.
+     */
+    private void awaitUserDirectories(ConfigurableApplicationContext context) throws InterruptedException {
+        UserDirectoryService directories = context.getBean(UserDirectoryService.class);
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!options.opcos.stream().allMatch(opco -> directories.find(opco).isPresent())) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("User directories did not load within " + STARTUP_TIMEOUT);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * Sends one request per endpoint in the mix and stops the run if any fails, rather than
+     * reporting latencies of error responses.
+     */
+    private void probe(LoadRunner runner) throws IOException, InterruptedException {
+        for (Map.Entry<Endpoint, Integer> entry : options.mix.entrySet()) {
+            if (entry.getValue() <= 0) {
+                continue;
+            }
+            Optional<String> failure = runner.probe(entry.getKey(), options.seed);
+            if (failure.isPresent()) {
+                throw new IllegalStateException("Probe of " + entry.getKey() + " failed: " + failure.get());
+            }
+        }
+    }
+
+    /**
+     * @return Cumulative values of the application meters worth reading next to latencies
+     */
+    private static Map<String, Double> serverCounters(MeterRegistry registry) {
+        Map<String, Double> counters = new HashMap<>();
+        Timer pinned = registry.find("vpi.threads.pinned").timer();
+        if (pinned != null) {
+            counters.put("pinned", (double) pinned.count());
+        }
+        double rejected = registry.find("vpi.transcode.rejected").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+        counters.put("transcode.rejected", rejected);
+        Timer wait = registry.find("vpi.transcode.wait").timer();
+        if (wait != null) {
+            counters.put("transcode.waits", (double) wait.count());
+            counters.put("transcode.wait-ms", wait.totalTime(TimeUnit.MILLISECONDS));
+        }
+        return counters;
+    }
+
+    /**
+     * @return Configured ffmpeg, else the one on the PATH, else a pass-through stand-in
+     */
+    private String resolveFfmpeg() throws IOException {
+        if (options.ffmpeg != null) {
+            return options.ffmpeg;
+        }
+        String path = System.getenv().getOrDefault("PATH", "");
+        for (String dir : path.split(File.pathSeparator)) {
+            Path candidate = Path.of(dir, "ffmpeg");
+            if (Files.isExecutable(candidate)) {
+                return candidate.toString();
+            }
+        }
+        Path stub = options.workDir.resolve("ffmpeg-passthrough.sh").toAbsolutePath();
+        Files.writeString(stub, "#!/bin/sh\nexec cat\n");
+        Files.setPosixFilePermissions(stub, PosixFilePermissions.fromString("rwxr-xr-x"));
+        System.out.println("ffmpeg not found on the PATH; playback uses a pass-through stand-in without encoding cost");
+        options.ffmpeg = stub.toString();
+        return options.ffmpeg;
+    }
+
+    private Path blobRoot() {
+        return options.workDir.resolve("blobs");
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.avangrid.gui.avangrid_backend.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadTestHarness}. Options are {@code --name=value}; any option not
+ * listed here is passed to the application as a Spring property, so e.g.
+ * {@code --transcode.max-concurrent=4} changes the server under test.
+ */
+final class LoadTestOptions {
+
+    enum ThreadMode {
+        PLATFORM, VIRTUAL
+    }
+
+    enum Endpoint {
+        SEARCH, METADATA, RECORDING, DOWNLOAD
+    }
+
+    List<String> opcos = List.of("CMP", "NYSEG", "RGE");
+    int users = 200;
+    int days = 2;
+    int recordingsPerDay = 250;
+    int wavSeconds = 60;
+    long seed = 42;
+
+    List<Integer> concurrency = List.of(4, 16, 64);
+    int warmupSeconds = 10;
+    int stepSeconds = 30;
+    Map<Endpoint, Integer> mix = defaultMix();
+    int zipSize = 5;
+    List<ThreadMode> threadModes = List.of(ThreadMode.PLATFORM, ThreadMode.VIRTUAL);
+
+    /** Blob store: "fs" writes the tree to disk, "memory" seeds the in-memory store. */
+    String blobStore = "fs";
+    long blobLatencyMs = 0;
+    long blobLatencyJitterMs = 0;
+    String ffmpeg;
+
+    /** A step whose p99 exceeds this multiple of the first step's p99 has collapsed. */
+    double collapseFactor = 5.0;
+    /** A step whose error rate exceeds this fraction has collapsed. */
+    double collapseErrorRate = 0.01;
+
+    Path workDir = Path.of("target", "loadtest", "work");
+    Path reportDir = Path.of("target", "loadtest");
+
+    final Map<String, String> springProperties = new LinkedHashMap<>();
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            options.set(name, value);
+        }
+        if (options.mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "opcos" -> opcos = Arrays.stream(value.split(","))
+                    .map(opco -> opco.trim().toUpperCase(Locale.ROOT))
+                    .toList();
+            case "users" -> users = Integer.parseInt(value);
+            case "days" -> days = Integer.parseInt(value);
+            case "recordings-per-day" -> recordingsPerDay = Integer.parseInt(value);
+            case "wav-seconds" -> wavSeconds = Integer.parseInt(value);
+            case "seed" -> seed = Long.parseLong(value);
+            case "concurrency" -> concurrency = Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .map(Integer::valueOf)
+                    .toList();
+            case "warmup-seconds" -> warmupSeconds = Integer.parseInt(value);
+            case "step-seconds" -> stepSeconds = Integer.parseInt(value);
+            case "mix" -> mix = parseMix(value);
+            case "zip-size" -> zipSize = Integer.parseInt(value);
+            case "threads" -> threadModes = switch (value.toLowerCase(Locale.ROOT)) {
+                case "platform" -> List.of(ThreadMode.PLATFORM);
+                case "virtual" -> List.of(ThreadMode.VIRTUAL);
+                case "both" -> List.of(ThreadMode.PLATFORM, ThreadMode.VIRTUAL);
+                default -> throw new IllegalArgumentException("--threads must be platform, virtual or both");
+            };
+            case "blob-store" -> {
+                if (!value.equals("fs") && !value.equals("memory")) {
+                    throw new IllegalArgumentException("--blob-store must be fs or memory");
+                }
+                blobStore = value;
+            }
+            case "blob-latency-ms" -> blobLatencyMs = Long.parseLong(value);
+            case "blob-latency-jitter-ms" -> blobLatencyJitterMs = Long.parseLong(value);
+            case "ffmpeg" -> ffmpeg = value;
+            case "collapse-factor" -> collapseFactor = Double.parseDouble(value);
+            case "collapse-error-rate" -> collapseErrorRate = Double.parseDouble(value);
+            case "work-dir" -> workDir = Path.of(value);
+            case "report-dir" -> reportDir = Path.of(value);
+            default -> springProperties.put(name, value);
+        }
+    }
+
+    /**
+     * @param value Weights as {@code endpoint:weight,...}, e.g. {@code search:40,recording:20}
+     */
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            mix.put(endpoint, 0);
+        }
+        for (String part : value.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in --mix: " + part);
+            }
+            mix.put(Endpoint.valueOf(entry[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(entry[1].trim()));
+        }
+        return mix;
+    }
+
+    private static Map<Endpoint, Integer> defaultMix() {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        mix.put(Endpoint.SEARCH, 40);
+        mix.put(Endpoint.METADATA, 30);
+        mix.put(Endpoint.RECORDING, 25);
+        mix.put(Endpoint.DOWNLOAD, 5);
+        return mix;
+    }
+
+    /**
+     * @return Options as they would be passed on the command line, for the report
+     */
+    List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("data: opcos=%s users=%d days=%d recordings-per-day=%d wav-seconds=%d seed=%d",
+                String.join(",", opcos), users, days, recordingsPerDay, wavSeconds, seed));
+        lines.add(String.format("load: concurrency=%s warmup-seconds=%d step-seconds=%d mix=%s zip-size=%d threads=%s",
+                concurrency, warmupSeconds, stepSeconds, mix, zipSize, threadModes));
+        lines.add(String.format("server: blob-store=%s blob-latency-ms=%d+%d ffmpeg=%s properties=%s",
+                blobStore, blobLatencyMs, blobLatencyJitterMs, ffmpeg, springProperties));
+        return lines;
+    }
+}
@@ -0,0 +1,177 @@
+package com.avangrid.gui.avangrid_backend.loadtest;
+
+import com.avangrid.gui.avangrid_backend.loadtest.LoadTestOptions.Endpoint;
+import com.avangrid.gui.avangrid_backend.loadtest.SyntheticDataset.Recording;
+import com.avangrid.gui.avangrid_backend.loadtest.SyntheticDataset.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the requests a simulated user sends, drawn at random from the synthetic dataset:
+ * searches over part of a day, metadata of a listed call, playback of one recording and ZIP
+ * downloads of several.
+ *
+ * <p>Searches are mostly by date only, some by user name or extension, and one in ten is
+ * federated across all OPCOs. Most ask for the first page.
+ */
+final class RequestScript {
+
+    private static final DateTimeFormatter SEARCH_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(2);
+    private static final int PAGE_SIZE = 20;
+
+    private final LoadTestOptions options;
+    private final SyntheticDataset dataset;
+    private final URI baseUri;
+    private final String authorization;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, List<Recording>> recordingsByOpco;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    RequestScript(LoadTestOptions options, SyntheticDataset dataset, URI baseUri, String token) {
+        this.options = options;
+        this.dataset = dataset;
+        this.baseUri = baseUri;
+        this.authorization = "Bearer " + token;
+        this.recordingsByOpco = dataset.recordings().stream()
+                .collect(Collectors.groupingBy(Recording::opco));
+
+        List<Endpoint> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Endpoint, Integer> entry : options.mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.endpoints = weighted.toArray(Endpoint[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    Endpoint next(SplittableRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Draw outside the mix: " + draw);
+    }
+
+    HttpRequest build(Endpoint endpoint, SplittableRandom random) {
+        return switch (endpoint) {
+            case SEARCH -> post("/api/v1/search", search(random));
+            case METADATA -> metadata(recording(random));
+            case RECORDING -> post("/api/v1/recording", recordingRequest(recording(random)));
+            case DOWNLOAD -> post("/api/v1/download", download(random));
+        };
+    }
+
+    private Map<String, Object> search(SplittableRandom random) {
+        String opco = options.opcos.get(random.nextInt(options.opcos.size()));
+        LocalDateTime from = SyntheticDataset.FIRST_DAY.plusDays(random.nextInt(options.days))
+                .atTime(12 + random.nextInt(8), 0);
+        LocalDateTime to = from.plusHours(1 + random.nextInt(4));
+
+        Map<String, Object> filters = new LinkedHashMap<>();
+        filters.put("extensionNum", List.of());
+        filters.put("channelNum", List.of());
+        filters.put("aniAliDigits", List.of());
+        filters.put("name", List.of());
+        filters.put("objectIDs", List.of());
+        filters.put("direction", null);
+        filters.put("agentID", List.of());
+        int kind = random.nextInt(10);
+        if (kind < 3) {
+            List<User> users = dataset.users(opco);
+            String fullName = users.get(random.nextInt(users.size())).fullName();
+            filters.put("name", List.of(fullName.substring(fullName.indexOf(' ') + 1)));
+        } else if (kind < 4) {
+            filters.put("extensionNum", List.of("4" + random.nextInt(10) + random.nextInt(10)));
+        }
+
+        Map<String, Object> pagination = new LinkedHashMap<>();
+        pagination.put("pageNumber", random.nextInt(5) == 0 ? 2 + random.nextInt(2) : 1);
+        pagination.put("pageSize", PAGE_SIZE);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("from_date", from.format(SEARCH_DATE));
+        body.put("to_date", to.format(SEARCH_DATE));
+        body.put("opco", random.nextInt(10) == 0 ? "ALL" : opco);
+        body.put("filters", filters);
+        body.put("pagination", pagination);
+        return body;
+    }
+
+    private HttpRequest metadata(Recording recording) {
+        String query = "?id=" + recording.objectId() + "&opco=" + URLEncoder.encode(recording.opco(), StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(baseUri.resolve("/api/v1/metadata" + query))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+
+    /**
+     * Distinct recordings of one OPCO, as selected from a search result. A ZIP cannot hold
+     * the same recording twice.
+     */
+    private List<Map<String, Object>> download(SplittableRandom random) {
+        List<Recording> candidates = recordingsByOpco.get(recording(random).opco());
+        Set<Recording> selected = new LinkedHashSet<>();
+        while (selected.size() < Math.min(options.zipSize, candidates.size())) {
+            selected.add(candidates.get(random.nextInt(candidates.size())));
+        }
+        return selected.stream().map(RequestScript::recordingRequest).toList();
+    }
+
+    private static Map<String, Object> recordingRequest(Recording recording) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("opco", recording.opco());
+        body.put("date", recording.xmlStartTime());
+        body.put("username", recording.user().fullName());
+        body.put("aniAliDigits", recording.aniAliDigits());
+        body.put("duration", recording.duration());
+        body.put("extensionNum", recording.extensionNum());
+        body.put("channelNum", recording.channelNum());
+        body.put("objectId", recording.objectId().toString());
+        return body;
+    }
+
+    private Recording recording(SplittableRandom random) {
+        List<Recording> recordings = dataset.recordings();
+        return recordings.get(random.nextInt(recordings.size()));
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize request body", e);
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.avangrid.gui.avangrid_backend.loadtest;
+
+import com.avangrid.gui.avangrid_backend.service.VpiRecordingService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic captures for the load test: user and capture rows in an embedded
+ * database per OPCO, and the matching recordings in blob storage laid out as in production.
+ *
+ * <p>NYSEG and RGE recordings are a WAV plus a {@code <wav>.xml} file holding one
+ * {@code Media} record. CMP recordings are listed in hourly {@code ExportSummary} files under
+ * the day's {@code Metadata/} folder. Every WAV has the same content, a tone of
+ * {@code wav-seconds}, so the tree stays small on disk (files are hard-linked where the file
+ * system allows) while each recording is still a separate blob.
+ */
+final class SyntheticDataset {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 4);
+
+    private static final int SAMPLE_RATE = 8000;
+    private static final int CHANNELS = 96;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Maria", "Wei", "Fatima", "Liam", "Priya", "Noah", "Olivia", "Mateo", "Aisha",
+            "Lucas", "Sofia", "Ethan", "Yuki", "Daniel", "Chloe", "Omar", "Grace", "Ivan", "Nora"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Garcia", "Chen", "Khan", "Murphy", "Natarajan", "Johnson", "Rossi", "Silva", "Okafor",
+            "Brown", "Novak", "Wilson", "Tanaka", "Miller", "Dubois", "Haddad", "Clark", "Petrov", "Larsen"
+    };
+
+    /**
+     * Receives the generated blobs.
+     */
+    interface BlobSink {
+        void put(String blobName, byte[] content) throws IOException;
+    }
+
+    record User(UUID userId, String fullName) {
+    }
+
+    /**
+     * One generated call, with what a client needs to search for and play it back.
+     */
+    record Recording(String opco, UUID objectId, User user, OffsetDateTime startTime, OffsetDateTime dateAdded,
+                     int duration, int channelNum, String extensionNum, String aniAliDigits, String agentId,
+                     boolean direction, String wavFileName) {
+
+        String xmlStartTime() {
+            return VpiRecordingService.toXmlStartTime(startTime);
+        }
+    }
+
+    private final LoadTestOptions options;
+    private final Map<String, List<User>> users = new TreeMap<>();
+    private final List<Recording> recordings = new ArrayList<>();
+    private final byte[] wav;
+
+    private SyntheticDataset(LoadTestOptions options) {
+        this.options = options;
+        this.wav = wav(options.wavSeconds);
+    }
+
+    /**
+     * Generates users and recordings for every configured OPCO and day.
+     */
+    static SyntheticDataset generate(LoadTestOptions options) {
+        SyntheticDataset dataset = new SyntheticDataset(options);
+        Random random = new Random(options.seed);
+        for (String opco : options.opcos) {
+            List<User> opcoUsers = dataset.generateUsers(random);
+            dataset.users.put(opco, opcoUsers);
+            for (int day = 0; day < options.days; day++) {
+                dataset.generateDay(random, opco, FIRST_DAY.plusDays(day), opcoUsers);
+            }
+        }
+        return dataset;
+    }
+
+    /**
+     * @return In-memory H2 database of an OPCO, shared by the harness and the application
+     */
+    static String jdbcUrl(String opco) {
+        return "jdbc:h2:mem:vpi_" + opco.toLowerCase(Locale.ROOT) + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    }
+
+    List<Recording> recordings() {
+        return recordings;
+    }
+
+    List<User> users(String opco) {
+        return users.get(opco);
+    }
+
+    long wavBytes() {
+        return wav.length;
+    }
+
+    private List<User> generateUsers(Random random) {
+        List<User> generated = new ArrayList<>(options.users);
+        for (int i = 0; i < options.users; i++) {
+            String name = FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            if (i >= FIRST_NAMES.length * LAST_NAMES.length) {
+                name += " " + (i / (FIRST_NAMES.length * LAST_NAMES.length) + 1);
+            }
+            generated.add(new User(new UUID(random.nextLong(), random.nextLong()), name));
+        }
+        return generated;
+    }
+
+    /**
+     * Spreads a day's calls over 12:00-24:00 UTC. File names must be unique within the day,
+     * and the file timestamp uses a 12-hour clock, so a draw that repeats a name is redrawn.
+     */
+    private void generateDay(Random random, String opco, LocalDate day, List<User> opcoUsers) {
+        Set<String> fileNames = new HashSet<>();
+        OffsetDateTime noon = day.atTime(12, 0).atOffset(ZoneOffset.UTC);
+        int generated = 0;
+        while (generated < options.recordingsPerDay) {
+            OffsetDateTime start = noon.plusSeconds(random.nextInt(12 * 3600));
+            User user = opcoUsers.get(random.nextInt(opcoUsers.size()));
+            int channel = 1 + random.nextInt(CHANNELS);
+            String fileName = wavFileName(channel, start, user.fullName());
+            if (!fileNames.add(fileName)) {
+                continue;
+            }
+            int duration = 30 + random.nextInt(900);
+            recordings.add(new Recording(opco,
+                    new UUID(random.nextLong(), random.nextLong()),
+                    user,
+                    start,
+                    start.plusSeconds(duration + 30L),
+                    duration,
+                    channel,
+                    Integer.toString(4000 + random.nextInt(1000)),
+                    Long.toString(5_850_000_000L + random.nextInt(10_000_000)),
+                    "A" + (1000 + random.nextInt(9000)),
+                    random.nextBoolean(),
+                    fileName));
+            generated++;
+        }
+    }
+
+    /**
+     * @return Recording file name: 5-digit channel, 12-hour file timestamp, customer name
+     */
+    private static String wavFileName(int channel, OffsetDateTime start, String userName) {
+        return String.format("%05d%04d-%02d-%02d_%02d-%02d-%02d%s.wav",
+                channel,
+                start.getYear(), start.getMonthValue(), start.getDayOfMonth(),
+                (start.getHour() + 11) % 12 + 1, start.getMinute(), start.getSecond(),
+                userName);
+    }
+
+    // ========== Database ==========
+
+    /**
+     * Creates the schemas and inserts every OPCO's users and captures.
+     */
+    void writeDatabases() throws SQLException {
+        for (String opco : options.opcos) {
+            try (Connection connection = DriverManager.getConnection(jdbcUrl(opco), "sa", "")) {
+                createSchema(connection);
+                insertUsers(connection, users.get(opco));
+                insertCaptures(connection, recordings.stream().filter(r -> r.opco().equals(opco)).toList());
+            }
+        }
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS vpicapturevoice CASCADE");
+            statement.execute("DROP SCHEMA IF EXISTS vpicore CASCADE");
+            statement.execute("CREATE SCHEMA vpicapturevoice");
+            statement.execute("CREATE SCHEMA vpicore");
+            statement.execute("""
+                    CREATE TABLE vpicore.vpUsers (
+                        userID UUID PRIMARY KEY,
+                        fullName VARCHAR(255) NOT NULL
+                    )""");
+            statement.execute("""
+                    CREATE TABLE vpicapturevoice.vpvoiceobjects (
+                        objectid UUID PRIMARY KEY,
+                        dateadded TIMESTAMP WITH TIME ZONE,
+                        starttime TIMESTAMP WITH TIME ZONE,
+                        gmtstarttime TIMESTAMP WITH TIME ZONE,
+                        classofservicedate TIMESTAMP WITH TIME ZONE,
+                        resourceid UUID NOT NULL,
+                        workstationid UUID,
+                        userid UUID,
+                        gmtoffset SMALLINT NOT NULL,
+                        duration INTEGER,
+                        triggeredbyresourcetypeid UUID,
+                        triggeredbyobjectid UUID,
+                        flagid SMALLINT,
+                        tags VARCHAR(255),
+                        sensitivitylevel SMALLINT,
+                        clientid SMALLINT,
+                        channelnum SMALLINT,
+                        channelname VARCHAR(255),
+                        extensionnum VARCHAR(64),
+                        agentid VARCHAR(64),
+                        pbxdnis VARCHAR(64),
+                        anialidigits VARCHAR(64),
+                        direction BOOLEAN,
+                        mediafileid UUID,
+                        mediamanagerid UUID,
+                        mediaretention VARCHAR(64),
+                        callid VARCHAR(64),
+                        previouscallid VARCHAR(64),
+                        globalcallid VARCHAR(64),
+                        classofservice INTEGER,
+                        xplatformref VARCHAR(255),
+                        transcriptresult SMALLINT NOT NULL,
+                        warehouseobjectkey BIGINT,
+                        transcriptstatus SMALLINT NOT NULL,
+                        audiochannels SMALLINT,
+                        hastalkover BOOLEAN
+                    )""");
+            statement.execute("CREATE INDEX vpvoiceobjects_dateadded ON vpicapturevoice.vpvoiceobjects (dateadded, objectid)");
+            statement.execute("CREATE INDEX vpvoiceobjects_userid ON vpicapturevoice.vpvoiceobjects (userid)");
+        }
+    }
+
+    private static void insertUsers(Connection connection, List<User> opcoUsers) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO vpicore.vpUsers (userID, fullName) VALUES (?, ?)")) {
+            for (User user : opcoUsers) {
+                insert.setObject(1, user.userId());
+                insert.setString(2, user.fullName());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static void insertCaptures(Connection connection, List<Recording> opcoRecordings) throws SQLException {
+        String sql = """
+                INSERT INTO vpicapturevoice.vpvoiceobjects (
+                    objectid, dateadded, starttime, gmtstarttime, resourceid, workstationid, userid, gmtoffset,
+                    duration, tags, channelnum, channelname, extensionnum, agentid, anialidigits, direction,
+                    mediafileid, callid, transcriptresult, transcriptstatus, audiochannels, hastalkover)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            int batched = 0;
+            for (Recording recording : opcoRecordings) {
+                int column = 1;
+                insert.setObject(column++, recording.objectId());
+                insert.setObject(column++, recording.dateAdded());
+                insert.setObject(column++, recording.startTime());
+                insert.setObject(column++, recording.startTime());
+                insert.setObject(column++, new UUID(7, recording.channelNum()));
+                insert.setObject(column++, new UUID(11, recording.channelNum() % 40));
+                insert.setObject(column++, recording.user().userId());
+                insert.setShort(column++, (short) -300);
+                insert.setInt(column++, recording.duration());
+                insert.setNull(column++, Types.VARCHAR);
+                insert.setShort(column++, (short) recording.channelNum());
+                insert.setString(column++, "Trunk " + recording.channelNum());
+                insert.setString(column++, recording.extensionNum());
+                insert.setString(column++, recording.agentId());
+                insert.setString(column++, recording.aniAliDigits());
+                insert.setBoolean(column++, recording.direction());
+                insert.setObject(column++, UUID.nameUUIDFromBytes(recording.wavFileName().getBytes(StandardCharsets.UTF_8)));
+                insert.setString(column++, Long.toHexString(recording.objectId().getLeastSignificantBits()));
+                insert.setShort(column++, (short) 0);
+                insert.setShort(column++, (short) 0);
+                insert.setShort(column++, (short) 1);
+                insert.setBoolean(column, false);
+                insert.addBatch();
+                if (++batched % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    // ========== Blobs ==========
+
+    /**
+     * Writes every recording's WAV and metadata blobs.
+     */
+    void writeBlobs(BlobSink sink) throws IOException {
+        Map<String, List<Recording>> cmpExports = new TreeMap<>();
+        for (Recording recording : recordings) {
+            String prefix = dayPrefix(recording);
+            sink.put(prefix + recording.wavFileName(), wav);
+            if (recording.opco().equals("CMP")) {
+                String export = prefix + String.format("Metadata/ExportSummary_%02d.xml", recording.startTime().getHour());
+                cmpExports.computeIfAbsent(export, name -> new ArrayList<>()).add(recording);
+            } else {
+                StringBuilder xml = new StringBuilder(1024).append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+                appendMedia(xml, recording, "");
+                sink.put(prefix + recording.wavFileName() + ".xml", xml.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        for (Map.Entry<String, List<Recording>> export : cmpExports.entrySet()) {
+            sink.put(export.getKey(), exportSummary(export.getValue()));
+        }
+    }
+
+    private static String dayPrefix(Recording recording) {
+        OffsetDateTime start = recording.startTime();
+        return String.format("%s/%d/%d/%d/", recording.opco(), start.getYear(), start.getMonthValue(), start.getDayOfMonth());
+    }
+
+    private static byte[] exportSummary(List<Recording> exported) {
+        StringBuilder xml = new StringBuilder(exported.size() * 640)
+                .append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+                .append("<ExportSummary xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n")
+                .append("  <ExportInfo>\n")
+                .append("    <ObjectCount>").append(exported.size()).append("</ObjectCount>\n")
+                .append("  </ExportInfo>\n")
+                .append("  <Objects>\n");
+        for (Recording recording : exported) {
+            appendMedia(xml, recording, "    ");
+        }
+        xml.append("  </Objects>\n</ExportSummary>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendMedia(StringBuilder xml, Recording recording, String indent) {
+        xml.append(indent).append("<Media FileName=\"").append(recording.wavFileName())
+                .append("\" Type=\"Audio\" Result=\"SUCCESS\">\n");
+        field(xml, indent, "objectID", recording.objectId().toString());
+        field(xml, indent, "startTime", recording.xmlStartTime());
+        field(xml, indent, "duration", Integer.toString(recording.duration()));
+        field(xml, indent, "channelNum", Integer.toString(recording.channelNum()));
+        field(xml, indent, "channelName", "Trunk " + recording.channelNum());
+        field(xml, indent, "extensionNum", recording.extensionNum());
+        field(xml, indent, "aniAliDigits", recording.aniAliDigits());
+        field(xml, indent, "agentID", recording.agentId());
+        field(xml, indent, "direction", Boolean.toString(recording.direction()));
+        field(xml, indent, "userName", recording.user().fullName());
+        xml.append(indent).append("</Media>\n");
+    }
+
+    private static void field(StringBuilder xml, String indent, String name, String value) {
+        xml.append(indent).append("  <").append(name).append('>').append(value)
+                .append("</").append(name).append(">\n");
+    }
+
+    /**
+     * @return 8 kHz 16-bit mono PCM WAV of a 440 Hz tone
+     */
+    private static byte[] wav(int seconds) {
+        int samples = SAMPLE_RATE * seconds;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples * 2)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1).putShort((short) 1)
+                .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples * 2);
+        for (int i = 0; i < samples; i++) {
+            buffer.putShort((short) (8000 * Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE)));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Sink writing under a directory, the layout {@code FileSystemBlobStore} reads. Repeated
+     * contents, i.e. the shared WAV, are hard-linked to the first copy when possible.
+     */
+    static BlobSink directory(Path root) {
+        Map<byte[], Path> written = new IdentityHashMap<>();
+        return (blobName, content) -> {
+            Path file = root.resolve(blobName);
+            Files.createDirectories(file.getParent());
+            Files.deleteIfExists(file);
+            Path first = written.get(content);
+            if (first != null) {
+                try {
+                    Files.createLink(file, first);
+                    return;
+                } catch (UnsupportedOperationException | FileAlreadyExistsException e) {
+                    // fall through to a copy
+                } catch (IOException e) {
+                    written.remove(content);
+                }
+            }
+            Files.write(file, content);
+            written.putIfAbsent(content, file);
+        };
+    }
+}
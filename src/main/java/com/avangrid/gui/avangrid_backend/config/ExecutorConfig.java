@@ -0,0 +1,132 @@
+package com.avangrid.gui.avangrid_backend.config;
+
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Dedicated executors for work the service runs off the request thread.
+ *
+ * <p>Every executor is registered with Micrometer under its bean name ({@code name} tag of
+ * the {@code executor.*} meters), so pool size, active and queued tasks, and task timings
+ * are reported per pool.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} the fixed pools start virtual threads
+ * instead of platform threads. Their sizes still bound how much work of each kind runs at
+ * once, but a worker blocked on JDBC or blob I/O no longer holds an OS thread.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private final boolean virtualThreads;
+
+    public ExecutorConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Executor for database work that runs alongside a search query, such as
+     * concurrent count queries. Sized independently of the common ForkJoinPool.
+     *
+     * @param threads Number of worker threads
+     * @param meterRegistry Registry for pool metrics
+     * @return Executor service shut down with the application context
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService searchExecutor(@Value("${search.executor.threads:6}") int threads,
+                                          MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(threads, workerThreads("search-")),
+                "searchExecutor");
+    }
+
+    /**
+     * Executor for bulk download work: resolving recordings and fetching their blobs ahead
+     * of the ZIP writer. Shared by all downloads; each download also limits its own
+     * in-flight items.
+     *
+     * @param threads Number of worker threads
+     * @param meterRegistry Registry for pool metrics
+     * @return Executor service shut down with the application context
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService downloadExecutor(@Value("${download.executor.threads:8}") int threads,
+                                            MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(threads, workerThreads("download-")),
+                "downloadExecutor");
+    }
+
+    /**
+     * Executor for asynchronous bulk download jobs. Each job holds a thread for its whole
+     * run, so this bounds how many archives are written at once; further jobs queue.
+     *
+     * @param threads Number of worker threads
+     * @param meterRegistry Registry for pool metrics
+     * @return Executor service shut down with the application context
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService downloadJobExecutor(@Value("${download.jobs.threads:2}") int threads,
+                                               MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(threads, workerThreads("download-job-")),
+                "downloadJobExecutor");
+    }
+
+    /**
+     * Executor for FFmpeg pipe pumps: feeding stdin and draining stdout and stderr.
+     *
+     * <p>Each pump blocks on a pipe for the whole conversion, so they get one virtual
+     * thread each instead of sharing the common ForkJoinPool, where a few stuck pumps would
+     * stall every other async task. The number of running pumps and how long the oldest has
+     * been running are reported by the {@code vpi.process.io.active} long task timer.
+     *
+     * @param meterRegistry Registry for pool metrics
+     * @return Executor service shut down with the application context
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService processIoExecutor(MeterRegistry meterRegistry) {
+        LongTaskTimer active = LongTaskTimer.builder("vpi.process.io.active")
+                .description("Running FFmpeg pipe pumps")
+                .register(meterRegistry);
+        ThreadFactory virtualThreads = Thread.ofVirtual().name("process-io-", 0).factory();
+        ThreadFactory metered = task -> virtualThreads.newThread(() -> active.record(task));
+
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newThreadPerTaskExecutor(metered), "processIoExecutor");
+    }
+
+    /**
+     * Executor for short blocking blob calls issued side by side, such as existence checks
+     * of derived blob names.
+     *
+     * <p>One virtual thread per call: callers may already be running on one of the fixed
+     * pools, so waiting on a task queued behind their own pool could deadlock.
+     *
+     * @param meterRegistry Registry for pool metrics
+     * @return Executor service shut down with the application context
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService blobIoExecutor(MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blob-io-", 0).factory()),
+                "blobIoExecutor");
+    }
+
+    /**
+     * Thread factory for a fixed pool: virtual threads in virtual-thread mode, daemon
+     * platform threads otherwise.
+     */
+    private ThreadFactory workerThreads(String prefix) {
+        return virtualThreads
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+    }
+}
@@ -1,5 +1,6 @@
 package com.avangrid.gui.avangrid_backend.config;
 
+import com.avangrid.gui.avangrid_backend.infra.generic.SliceJpaRepository;
 import jakarta.persistence.EntityManagerFactory;
 
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -27,7 +28,8 @@ import javax.sql.DataSource;
 @EnableJpaRepositories(
         basePackages = "com.avangrid.gui.avangrid_backend.infra.nyseg.repository",
         entityManagerFactoryRef = "nysegEntityManagerFactory",
-        transactionManagerRef = "nysegTransactionManager"
+        transactionManagerRef = "nysegTransactionManager",
+        repositoryBaseClass = SliceJpaRepository.class
 )
 public class NYSEGDataSourceConfig {
 
@@ -1,5 +1,6 @@
 package com.avangrid.gui.avangrid_backend.config;
 
+import com.avangrid.gui.avangrid_backend.infra.generic.SliceJpaRepository;
 import jakarta.persistence.EntityManagerFactory;
 
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -27,7 +28,8 @@ import javax.sql.DataSource;
 @EnableJpaRepositories(
         basePackages = "com.avangrid.gui.avangrid_backend.infra.rge.repository",
         entityManagerFactoryRef = "rgeEntityManagerFactory",
-        transactionManagerRef = "rgeTransactionManager"
+        transactionManagerRef = "rgeTransactionManager",
+        repositoryBaseClass = SliceJpaRepository.class
 )
 public class RGEDataSourceConfig {
 
@@ -1,5 +1,6 @@
 package com.avangrid.gui.avangrid_backend.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -50,8 +51,11 @@ public class SecurityConfig {
 
     private static final String[] AUTHENTICATED_ENDPOINTS = {
             "/api/v1/download",
+            "/api/v1/download/jobs",
+            "/api/v1/download/jobs/**",
             "/api/v1/recording",
             "/api/v1/search",
+            "/api/v1/search/export",
             "/api/v1/metadata"
     };
 
@@ -97,6 +101,8 @@ public class SecurityConfig {
                         .contentSecurityPolicy(csp -> csp.policyDirectives(CONTENT_SECURITY_POLICY))
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses finish on an async dispatch; the request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
                         .requestMatchers(AUTHENTICATED_ENDPOINTS).authenticated()
                         .anyRequest().denyAll()
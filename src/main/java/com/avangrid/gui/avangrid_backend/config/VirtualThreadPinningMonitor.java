@@ -0,0 +1,82 @@
+package com.avangrid.gui.avangrid_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier in virtual-thread mode.
+ *
+ * <p>A virtual thread that blocks inside a {@code synchronized} block or a native frame
+ * cannot unmount, so it holds a carrier thread for the whole wait; enough of them stall
+ * every other virtual thread. This listens for JFR {@code jdk.VirtualThreadPinned} events
+ * longer than {@code threads.pinning.threshold-ms}, logs each with the top of its stack,
+ * and records its duration in the {@code vpi.threads.pinned} timer.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "threads.pinning.monitor-enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Timer pinned;
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${threads.pinning.threshold-ms:20}") long thresholdMs) {
+
+        this.pinned = Timer.builder("vpi.threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+
+        logger.info("Virtual thread pinning monitor started: threshold {} ms", thresholdMs);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        logger.warn("Virtual thread pinned for {} ms:\n{}",
+                event.getDuration().toMillis(), describeStack(event.getStackTrace()));
+    }
+
+    private static String describeStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> String.format("\tat %s.%s(line %d)",
+                        frame.getMethod().getType().getName(), frame.getMethod().getName(), frame.getLineNumber()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+}
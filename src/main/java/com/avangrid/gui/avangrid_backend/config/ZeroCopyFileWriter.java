@@ -0,0 +1,69 @@
+package com.avangrid.gui.avangrid_backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a byte range of a file to a response without copying it through the heap.
+ *
+ * <p>When Tomcat advertises sendfile support for the request, the range is handed to the
+ * connector, which sends it with {@code sendfile(2)} after the handler returns. Otherwise it
+ * is written with {@link FileChannel#transferTo}.
+ */
+final class ZeroCopyFileWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ZeroCopyFileWriter() {
+    }
+
+    /**
+     * @param file File to send
+     * @param start Offset of the first byte
+     * @param count Number of bytes
+     * @param outputMessage Response to write to
+     */
+    static void write(File file, long start, long count, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = currentRequest();
+
+        if (request != null && outputMessage instanceof ServletServerHttpResponse
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputMessage.getBody());
+            long position = start;
+            long end = Math.min(start + count, channel.size());
+            while (position < end) {
+                long written = channel.transferTo(position, end - position, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+}
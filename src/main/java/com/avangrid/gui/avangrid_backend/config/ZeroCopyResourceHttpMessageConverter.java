@@ -0,0 +1,38 @@
+package com.avangrid.gui.avangrid_backend.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Resource converter that writes file-backed resources without copying them through the heap.
+ *
+ * <p>Files go through {@link ZeroCopyFileWriter} (Tomcat sendfile, or
+ * {@code FileChannel.transferTo}). Other resources are written as usual.
+ * Replaces the default {@link ResourceHttpMessageConverter}.
+ */
+@Component
+public class ZeroCopyResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    public ZeroCopyResourceHttpMessageConverter() {
+        super(true);
+    }
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+
+        if (!resource.isFile()) {
+            super.writeContent(resource, outputMessage);
+            return;
+        }
+
+        File file = resource.getFile();
+        ZeroCopyFileWriter.write(file, 0, file.length(), outputMessage);
+    }
+}
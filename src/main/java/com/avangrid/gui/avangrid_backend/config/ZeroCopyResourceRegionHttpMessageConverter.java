@@ -0,0 +1,42 @@
+package com.avangrid.gui.avangrid_backend.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Range converter that writes single regions of file-backed resources without copying them
+ * through the heap.
+ *
+ * <p>Used for {@code 206 Partial Content} responses, so a seek into a cached recording sends
+ * only the requested bytes with sendfile. Multi-range and non-file responses are written as
+ * usual. Replaces the default {@link ResourceRegionHttpMessageConverter}.
+ */
+@Component
+public class ZeroCopyResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+    @Override
+    protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage) throws IOException {
+        Resource resource = region.getResource();
+        if (!resource.isFile()) {
+            super.writeResourceRegion(region, outputMessage);
+            return;
+        }
+
+        long resourceLength = resource.contentLength();
+        long start = region.getPosition();
+        long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+        long rangeLength = end - start + 1;
+
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + '-' + end + '/' + resourceLength);
+        headers.setContentLength(rangeLength);
+
+        ZeroCopyFileWriter.write(resource.getFile(), start, rangeLength, outputMessage);
+    }
+}
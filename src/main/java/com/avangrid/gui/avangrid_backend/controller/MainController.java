@@ -2,7 +2,9 @@ package com.avangrid.gui.avangrid_backend.controller;
 
 import com.avangrid.gui.avangrid_backend.model.dto.request.RecordingRequest;
 import com.avangrid.gui.avangrid_backend.model.dto.request.VpiSearchRequest;
+import com.avangrid.gui.avangrid_backend.model.dto.response.DownloadJobResponse;
 import com.avangrid.gui.avangrid_backend.model.dto.response.VpiSearchResponse;
+import com.avangrid.gui.avangrid_backend.service.DownloadJobService;
 import com.avangrid.gui.avangrid_backend.service.VpiRecordingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,12 +12,18 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -28,6 +36,7 @@ import java.util.UUID;
 public class MainController {
 
     private final VpiRecordingService service;
+    private final DownloadJobService downloadJobService;
 
     // -------------------- SEARCH --------------------
 
@@ -39,6 +48,15 @@ public class MainController {
         return ResponseEntity.ok(service.getTableData(request));
     }
 
+    @Operation(summary = "Export all matching VPI recordings (NDJSON or CSV)")
+    @PostMapping(value = "/search/export", produces = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> export(
+            @Valid @RequestBody VpiSearchRequest request,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        return service.exportSearch(request, format);
+    }
+
     // -------------------- METADATA --------------------
 
     @Operation(summary = "Get recording metadata")
@@ -54,17 +72,18 @@ public class MainController {
 
     @Operation(summary = "Download single VPI recording")
     @PostMapping(value = "/recording", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public ResponseEntity<ByteArrayResource> getRecording(
-            @Valid @RequestBody RecordingRequest request) {
+    public ResponseEntity<Resource> getRecording(
+            @Valid @RequestBody RecordingRequest request,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
 
-        return service.getRecordingVpi(request);
+        return service.getRecordingVpi(request, range);
     }
 
     // -------------------- BULK DOWNLOAD --------------------
 
     @Operation(summary = "Download multiple VPI recordings (ZIP)")
     @PostMapping(value = "/download", produces = "application/zip")
-    public ResponseEntity<byte[]> download(
+    public ResponseEntity<StreamingResponseBody> download(
             @Valid @RequestBody List<RecordingRequest> requests) {
         if (requests == null || requests.isEmpty()) {
             return ResponseEntity.badRequest().build();
@@ -72,4 +91,39 @@ public class MainController {
 
         return service.downloadVpi(requests);
     }
+
+    // -------------------- BULK DOWNLOAD JOBS --------------------
+
+    @Operation(summary = "Start an asynchronous bulk download (ZIP)")
+    @PostMapping(value = "/download/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DownloadJobResponse> submitDownloadJob(
+            @Valid @RequestBody List<RecordingRequest> requests,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        DownloadJobResponse job = downloadJobService.submit(requests, jwt.getSubject());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/download/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @Operation(summary = "Get bulk download job progress")
+    @GetMapping(value = "/download/jobs/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DownloadJobResponse> getDownloadJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        return ResponseEntity.ok(downloadJobService.getStatus(jobId, jwt.getSubject()));
+    }
+
+    @Operation(summary = "Download the archive of a completed bulk download job")
+    @GetMapping(value = "/download/jobs/{jobId}/archive", produces = "application/zip")
+    public ResponseEntity<Resource> getDownloadJobArchive(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recordings-" + jobId + ".zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(new FileSystemResource(downloadJobService.getArchive(jobId, jwt.getSubject())));
+    }
 }
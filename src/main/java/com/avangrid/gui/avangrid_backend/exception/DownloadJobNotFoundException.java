@@ -0,0 +1,7 @@
+package com.avangrid.gui.avangrid_backend.exception;
+
+public class DownloadJobNotFoundException extends RuntimeException {
+    public DownloadJobNotFoundException(String message) {
+        super(message);
+    }
+}
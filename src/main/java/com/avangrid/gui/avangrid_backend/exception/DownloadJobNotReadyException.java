@@ -0,0 +1,7 @@
+package com.avangrid.gui.avangrid_backend.exception;
+
+public class DownloadJobNotReadyException extends RuntimeException {
+    public DownloadJobNotReadyException(String message) {
+        super(message);
+    }
+}
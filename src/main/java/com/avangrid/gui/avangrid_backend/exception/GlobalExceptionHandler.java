@@ -1,6 +1,7 @@
 package com.avangrid.gui.avangrid_backend.exception;
 
 import com.avangrid.gui.avangrid_backend.model.dto.response.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -28,6 +29,32 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(),  HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(DownloadJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(DownloadJobNotFoundException ex) {
+        return buildErrorResponse(ex.getMessage(),  HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(DownloadJobNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotReady(DownloadJobNotReadyException ex) {
+        return buildErrorResponse(ex.getMessage(),  HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(TranscodeCapacityException.class)
+    public ResponseEntity<ErrorResponse> handleTranscodeCapacity(TranscodeCapacityException ex) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(DownloadJobCapacityException.class)
+    public ResponseEntity<ErrorResponse> handleDownloadJobCapacity(DownloadJobCapacityException ex) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(RecordingProcessingException.class)
     public ResponseEntity<ErrorResponse> handleRecordingAccessFailure(RecordingProcessingException ex) {
         log.error("Recording processing failed", ex);
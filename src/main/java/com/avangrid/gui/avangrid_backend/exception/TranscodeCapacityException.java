@@ -0,0 +1,15 @@
+package com.avangrid.gui.avangrid_backend.exception;
+
+public class TranscodeCapacityException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TranscodeCapacityException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,145 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import com.avangrid.gui.avangrid_backend.exception.AzureBlobRepositoryException;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStore;
+import com.azure.core.exception.AzureException;
+import com.azure.core.util.BinaryData;
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.BlobServiceAsyncClient;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.options.BlobDownloadToFileOptions;
+import com.azure.storage.common.ParallelTransferOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link AzureBlobRepository}.
+ *
+ * <p>Built on {@link BlobServiceAsyncClient}: requests run on the SDK's event-loop threads
+ * and no caller thread waits for a round trip, so many blob operations can be in flight at
+ * once without a thread each. Results are {@link CompletableFuture}s, or a {@link Flux} of
+ * buffers for streaming downloads. Failures complete them with
+ * {@link AzureBlobRepositoryException}, as the synchronous repository throws.
+ */
+@Repository
+@Profile("!" + BlobStore.PROFILE_FILESYSTEM + " & !" + BlobStore.PROFILE_MEMORY)
+@Slf4j
+public class AzureBlobAsyncRepository {
+
+    private final BlobContainerAsyncClient containerClient;
+    private final ParallelTransferOptions transferOptions;
+
+    public AzureBlobAsyncRepository(
+            @Value("${azure.storage.account-name}") String storageAccountName,
+            @Value("${azure.storage.container-name}") String containerName,
+            @Value("${azure.client-id}") String clientId,
+            @Value("${azure.client-secret}") String clientSecret,
+            @Value("${azure.tenant-id}") String tenantId,
+            @Value("${azure.download.block-size-bytes:4194304}") long blockSize,
+            @Value("${azure.download.max-concurrency:4}") int maxConcurrency) {
+
+        this.transferOptions = new ParallelTransferOptions()
+                .setBlockSizeLong(blockSize)
+                .setMaxConcurrency(maxConcurrency);
+
+        BlobServiceAsyncClient serviceClient = AzureBlobRepository
+                .clientBuilder(storageAccountName, clientId, clientSecret, tenantId)
+                .buildAsyncClient();
+        this.containerClient = serviceClient.getBlobContainerAsyncClient(containerName);
+
+        log.info("Azure Blob Storage async client initialized for container: {}", containerName);
+    }
+
+    /**
+     * Lists the blob names directly under a prefix.
+     *
+     * @param prefix Blob name prefix
+     * @return Future of the blob names
+     */
+    public CompletableFuture<List<String>> listBlobs(String prefix) {
+        return containerClient.listBlobsByHierarchy(prefix)
+                .map(BlobItem::getName)
+                .collectList()
+                .doOnNext(names -> log.debug("Successfully listed {} blobs with prefix: {}", names.size(), prefix))
+                .onErrorMap(e -> translate(e, "Failed to list blobs with prefix: " + prefix))
+                .toFuture();
+    }
+
+    /**
+     * Downloads a blob into memory.
+     *
+     * @param blobName Blob to download
+     * @return Future of the blob content
+     */
+    public CompletableFuture<byte[]> getBlobContent(String blobName) {
+        return blobClient(blobName).downloadContent()
+                .map(BinaryData::toBytes)
+                .doOnNext(content -> log.debug("Successfully downloaded blob: {} ({} bytes)", blobName, content.length))
+                .onErrorMap(e -> translate(e, "Failed to download blob: " + blobName))
+                .toFuture();
+    }
+
+    /**
+     * Streams a blob's content. Nothing is requested until the flux is subscribed.
+     *
+     * @param blobName Blob to stream
+     * @return Buffers of blob content in order
+     */
+    public Flux<ByteBuffer> getBlobStream(String blobName) {
+        return blobClient(blobName).downloadStream()
+                .onErrorMap(e -> translate(e, "Failed to stream blob: " + blobName));
+    }
+
+    /**
+     * Downloads a blob into a local file, replacing its content. The blob is fetched as
+     * {@code azure.download.block-size-bytes} ranges, up to
+     * {@code azure.download.max-concurrency} at a time, each written at its offset.
+     *
+     * @param blobName Blob to download
+     * @param file Target file
+     * @return Future of the number of bytes written
+     */
+    public CompletableFuture<Long> downloadToFile(String blobName, Path file) {
+        BlobDownloadToFileOptions options = new BlobDownloadToFileOptions(file.toString())
+                .setParallelTransferOptions(transferOptions)
+                .setOpenOptions(Set.of(StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE));
+
+        return blobClient(blobName).downloadToFileWithResponse(options)
+                .map(response -> response.getValue().getBlobSize())
+                .doOnNext(size -> log.debug("Successfully downloaded blob: {} to {} ({} bytes)", blobName, file, size))
+                .onErrorMap(e -> translate(e, "Failed to download blob: " + blobName))
+                .toFuture();
+    }
+
+    private BlobAsyncClient blobClient(String blobName) {
+        if (blobName == null || blobName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Blob name cannot be null or empty");
+        }
+        return containerClient.getBlobAsyncClient(blobName);
+    }
+
+    private Throwable translate(Throwable error, String message) {
+        if (error instanceof BlobStorageException) {
+            log.error(message, error);
+            return new AzureBlobRepositoryException(message, error);
+        }
+        if (error instanceof AzureException) {
+            log.error(message, error);
+            return new AzureBlobRepositoryException("Azure service error: " + message, error);
+        }
+        return error;
+    }
+}
@@ -1,32 +1,91 @@
 package com.avangrid.gui.avangrid_backend.infra.azure;
 
 import com.azure.core.exception.AzureException;
+import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.core.util.Context;
 import com.azure.identity.ClientSecretCredential;
 import com.azure.identity.ClientSecretCredentialBuilder;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobDownloadContentResponse;
+import com.azure.storage.blob.models.BlobDownloadHeaders;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.specialized.BlobInputStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import com.avangrid.gui.avangrid_backend.exception.AzureBlobRepositoryException;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobContent;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobListing;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStore;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Repository for Azure Blob Storage operations.
  * Handles connection and data retrieval from Azure Blob Storage.
+ *
+ * <p>Full downloads of blobs of at least {@code azure.download.parallel-threshold-bytes}
+ * (long call recordings) are fetched as {@code azure.download.block-size-bytes} ranges, up to
+ * {@code azure.download.max-concurrency} at a time, instead of over a single connection.
+ *
+ * <p>Metrics: counter {@code vpi.blob.download.bytes} and distribution summary
+ * {@code vpi.blob.download.throughput} (bytes per second of each download), both tagged
+ * {@code mode=single|ranged}, and timer {@code vpi.blob.download.range} per fetched range.
+ *
+ * <p>With {@code azure.hedge.enabled}, latency-sensitive small reads are hedged (see
+ * {@link BlobRequestHedger}): the first block of a download, which is the whole of a blob no
+ * larger than {@code azure.download.block-size-bytes}, conditional metadata downloads and
+ * stream opens (which fetch the first chunk).
+ *
+ * <p>Streams and ranges survive connection failures: a failed read resumes from the last
+ * byte read with a range GET conditional on the blob's ETag, up to
+ * {@code azure.resume.max-attempts} times with exponential backoff from
+ * {@code azure.resume.initial-backoff-ms} to {@code azure.resume.max-backoff-ms}.
+ *
+ * <p>The default {@link BlobStore}; inactive under the offline store profiles.
  */
 @Repository
+@Profile("!" + BlobStore.PROFILE_FILESYSTEM + " & !" + BlobStore.PROFILE_MEMORY)
 @Slf4j
-public class AzureBlobRepository {
+public class AzureBlobRepository implements BlobStore {
 
     private static final String BLOB_ENDPOINT_TEMPLATE = "https://%s.blob.core.windows.net";
+    private static final String PATH_DELIMITER = "/";
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_PRECONDITION_FAILED = 412;
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+    private static final String MODE_SINGLE = "single";
+    private static final String MODE_RANGED = "ranged";
+    private static final String OP_CONDITIONAL = "conditional";
+    private static final String OP_OPEN = "open";
+    private static final String OP_FIRST_RANGE = "first-range";
 
     private final String storageAccountName;
     private final String clientId;
@@ -37,13 +96,42 @@ public class AzureBlobRepository {
     private final BlobServiceClient blobServiceClient;
     private final BlobContainerClient containerClient;
 
+    private final ExecutorService rangeExecutor;
+    private final long parallelThreshold;
+    private final int blockSize;
+    private final int maxConcurrency;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer rangeTimer;
+
+    private final BlobRequestHedger hedger;
+
+    private final int resumeMaxAttempts;
+    private final long resumeInitialBackoffMs;
+    private final long resumeMaxBackoffMs;
+
+    private final AzureBlobAsyncRepository asyncRepository;
+
     // Constructor with all dependencies
     public AzureBlobRepository(
             @Value("${azure.storage.account-name}") String storageAccountName,
             @Value("${azure.storage.container-name}") String containerName,
             @Value("${azure.client-id}") String clientId,
             @Value("${azure.client-secret}") String clientSecret,
-            @Value("${azure.tenant-id}") String tenantId) {
+            @Value("${azure.tenant-id}") String tenantId,
+            @Qualifier("blobIoExecutor") ExecutorService rangeExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${azure.download.parallel-threshold-bytes:33554432}") long parallelThreshold,
+            @Value("${azure.download.block-size-bytes:4194304}") int blockSize,
+            @Value("${azure.download.max-concurrency:4}") int maxConcurrency,
+            @Value("${azure.hedge.enabled:false}") boolean hedgeEnabled,
+            @Value("${azure.hedge.percentile:0.95}") double hedgePercentile,
+            @Value("${azure.hedge.min-delay-ms:50}") long hedgeMinDelayMs,
+            @Value("${azure.hedge.budget-percent:5}") double hedgeBudgetPercent,
+            @Value("${azure.resume.max-attempts:5}") int resumeMaxAttempts,
+            @Value("${azure.resume.initial-backoff-ms:200}") long resumeInitialBackoffMs,
+            @Value("${azure.resume.max-backoff-ms:5000}") long resumeMaxBackoffMs,
+            AzureBlobAsyncRepository asyncRepository) {
 
         this.storageAccountName = storageAccountName;
         this.containerName = containerName;
@@ -51,6 +139,25 @@ public class AzureBlobRepository {
         this.clientSecret = clientSecret;
         this.tenantId = tenantId;
 
+        this.rangeExecutor = rangeExecutor;
+        this.parallelThreshold = parallelThreshold;
+        this.blockSize = blockSize;
+        this.maxConcurrency = maxConcurrency;
+
+        this.meterRegistry = meterRegistry;
+        this.rangeTimer = Timer.builder("vpi.blob.download.range")
+                .description("Time to fetch one range of a large blob")
+                .register(meterRegistry);
+
+        this.hedger = new BlobRequestHedger(hedgeEnabled, hedgePercentile, hedgeMinDelayMs,
+                hedgeBudgetPercent, rangeExecutor, meterRegistry);
+
+        this.resumeMaxAttempts = resumeMaxAttempts;
+        this.resumeInitialBackoffMs = resumeInitialBackoffMs;
+        this.resumeMaxBackoffMs = resumeMaxBackoffMs;
+
+        this.asyncRepository = asyncRepository;
+
         // Initialize clients in constructor
         this.blobServiceClient = createBlobServiceClient();
         this.containerClient = blobServiceClient.getBlobContainerClient(this.containerName);
@@ -59,6 +166,17 @@ public class AzureBlobRepository {
     }
 
     private BlobServiceClient createBlobServiceClient() {
+        return clientBuilder(storageAccountName, clientId, clientSecret, tenantId).buildClient();
+    }
+
+    /**
+     * Builder for clients of the storage account, authenticated with the service principal.
+     * Shared with {@link AzureBlobAsyncRepository} so both connect the same way.
+     */
+    static BlobServiceClientBuilder clientBuilder(String storageAccountName,
+                                                  String clientId,
+                                                  String clientSecret,
+                                                  String tenantId) {
         ClientSecretCredential credential = new ClientSecretCredentialBuilder()
                 .clientId(clientId)
                 .clientSecret(clientSecret)
@@ -69,10 +187,10 @@ public class AzureBlobRepository {
 
         return new BlobServiceClientBuilder()
                 .endpoint(endpoint)
-                .credential(credential)
-                .buildClient();
+                .credential(credential);
     }
 
+    @Override
     public List<String> listBlobs(String prefix) {
         List<String> blobNames = new ArrayList<>();
 
@@ -91,12 +209,83 @@ public class AzureBlobRepository {
         }
     }
 
+    /**
+     * Lists blobs under a prefix page by page, optionally resuming from a continuation token.
+     *
+     * <p>Returns the names together with the token that fetched the last page and that page's
+     * offset in the result. Listing again from that token re-reads only the last page and
+     * whatever was added after it, which lets callers refresh a large listing incrementally.
+     *
+     * @param prefix Blob name prefix
+     * @param continuationToken Token to resume from, or null to list from the start
+     * @return Listing with resume position
+     */
+    @Override
+    public BlobListing listBlobs(String prefix, String continuationToken) {
+        ListBlobsOptions options = new ListBlobsOptions().setPrefix(prefix);
+        List<String> blobNames = new ArrayList<>();
+        String pageToken = continuationToken;
+        String tailToken = continuationToken;
+        int tailOffset = 0;
+
+        try {
+            PagedIterable<BlobItem> items = containerClient.listBlobsByHierarchy(PATH_DELIMITER, options, null);
+            Iterable<PagedResponse<BlobItem>> pages = continuationToken == null
+                    ? items.iterableByPage()
+                    : items.iterableByPage(continuationToken);
+
+            for (PagedResponse<BlobItem> page : pages) {
+                tailToken = pageToken;
+                tailOffset = blobNames.size();
+                for (BlobItem blobItem : page.getValue()) {
+                    blobNames.add(blobItem.getName());
+                }
+                pageToken = page.getContinuationToken();
+            }
+            log.debug("Successfully listed {} blobs with prefix: {} (resumed: {})",
+                    blobNames.size(), prefix, continuationToken != null);
+            return new BlobListing(blobNames, tailToken, tailOffset);
+        } catch (BlobStorageException e) {
+            log.error("Error listing blobs with prefix: {}", prefix, e);
+            throw new AzureBlobRepositoryException("Failed to list blobs with prefix: " + prefix, e);
+        } catch (AzureException e) {
+            log.error("Error listing blobs with prefix: {}", prefix, e);
+            throw new AzureBlobRepositoryException("Azure service error while listing blobs", e);
+        }
+    }
+
+    /**
+     * Downloads a blob into memory.
+     *
+     * <p>The first request fetches the first block and learns the blob's size and ETag from
+     * the response, so a blob that fits in one block costs a single request. The rest of a
+     * larger blob is fetched conditional on that ETag: as one more range below the parallel
+     * threshold, or as parallel ranges at or above it.
+     *
+     * @param blobName Blob to download
+     * @return Blob content
+     */
+    @Override
     public byte[] getBlobContent(String blobName) {
         validateBlobName(blobName);
 
         try {
             BlobClient blobClient = containerClient.getBlobClient(blobName);
-            byte[] content = blobClient.downloadContent().toBytes();
+            long start = System.nanoTime();
+            FirstBlock first = hedger.call(OP_FIRST_RANGE, () -> readFirstBlock(blobClient));
+            byte[] content;
+            if (first.size() >= parallelThreshold && first.size() > first.content().length) {
+                byte[] firstBlock = first.content().length == blockSize ? first.content() : null;
+                try (InputStream stream = openRanged(blobClient, first.size(), first.eTag(), firstBlock)) {
+                    content = stream.readAllBytes();
+                } catch (IOException e) {
+                    log.error("Error downloading blob: {}", blobName, e);
+                    throw new AzureBlobRepositoryException("Failed to download blob: " + blobName, e);
+                }
+            } else {
+                content = readRemainder(blobClient, first);
+                recordDownload(MODE_SINGLE, content.length, System.nanoTime() - start);
+            }
             log.debug("Successfully downloaded blob: {} ({} bytes)", blobName, content.length);
             return content;
         } catch (BlobStorageException e) {
@@ -108,6 +297,68 @@ public class AzureBlobRepository {
         }
     }
 
+    /**
+     * Downloads a blob together with its ETag, unless it still matches a known ETag.
+     *
+     * <p>Sends {@code If-None-Match} when {@code knownETag} is given, so an unchanged blob
+     * costs one request with no body.
+     *
+     * @param blobName Blob to download
+     * @param knownETag ETag of a copy the caller already has, or null
+     * @return Content and ETag, or empty if the blob still matches {@code knownETag}
+     */
+    @Override
+    public Optional<BlobContent> getBlobContentIfChanged(String blobName, String knownETag) {
+        validateBlobName(blobName);
+
+        BlobRequestConditions conditions = new BlobRequestConditions();
+        if (knownETag != null) {
+            conditions.setIfNoneMatch(knownETag);
+        }
+
+        try {
+            BlobClient blobClient = containerClient.getBlobClient(blobName);
+            BlobDownloadContentResponse response = hedger.call(OP_CONDITIONAL,
+                    () -> blobClient.downloadContentWithResponse(null, conditions, null, null));
+            byte[] content = response.getValue().toBytes();
+            log.debug("Successfully downloaded blob: {} ({} bytes)", blobName, content.length);
+            return Optional.of(new BlobContent(content, response.getDeserializedHeaders().getETag()));
+        } catch (BlobStorageException e) {
+            if (knownETag != null && e.getStatusCode() == HTTP_NOT_MODIFIED) {
+                log.debug("Blob not modified: {}", blobName);
+                return Optional.empty();
+            }
+            log.error("Error downloading blob: {}", blobName, e);
+            throw new AzureBlobRepositoryException("Failed to download blob: " + blobName, e);
+        } catch (AzureException e) {
+            log.error("Error downloading blob: {}", blobName, e);
+            throw new AzureBlobRepositoryException("Azure service error while downloading blob", e);
+        }
+    }
+
+    /**
+     * Checks whether a blob exists, with a single properties request and no download.
+     *
+     * @param blobName Blob to check
+     * @return true if the blob exists
+     */
+    @Override
+    public boolean exists(String blobName) {
+        validateBlobName(blobName);
+
+        try {
+            boolean exists = containerClient.getBlobClient(blobName).exists();
+            log.debug("Blob existence check: {} = {}", blobName, exists);
+            return exists;
+        } catch (BlobStorageException e) {
+            log.error("Error checking blob: {}", blobName, e);
+            throw new AzureBlobRepositoryException("Failed to check blob: " + blobName, e);
+        } catch (AzureException e) {
+            log.error("Error checking blob: {}", blobName, e);
+            throw new AzureBlobRepositoryException("Azure service error while checking blob", e);
+        }
+    }
+
     public boolean isContainerAvailable() {
         try {
             boolean exists = containerClient.exists();
@@ -119,12 +370,20 @@ public class AzureBlobRepository {
         }
     }
 
-    public InputStream getBlobStream(String blobName) {
+    /**
+     * Opens a blob for streaming reads. The stream reads the blob version it was opened at,
+     * whose ETag it reports, and resumes after connection failures.
+     *
+     * @param blobName Blob to open
+     * @return Stream over the blob content
+     */
+    @Override
+    public ResumableBlobInputStream getBlobStream(String blobName) {
         validateBlobName(blobName);
 
         try {
             BlobClient blobClient = containerClient.getBlobClient(blobName);
-            InputStream stream = blobClient.openInputStream();
+            ResumableBlobInputStream stream = openResumable(blobClient);
             log.debug("Successfully opened stream for blob: {}", blobName);
             return stream;
         } catch (BlobStorageException e) {
@@ -136,6 +395,214 @@ public class AzureBlobRepository {
         }
     }
 
+    /**
+     * Opens a blob for one full sequential read, such as piping a recording to FFmpeg.
+     * Blobs at or above the parallel threshold are fetched as parallel ranges and returned
+     * in order; smaller ones are streamed over a single connection.
+     *
+     * @param blobName Blob to open
+     * @return Stream over the blob content
+     */
+    @Override
+    public InputStream getParallelBlobStream(String blobName) {
+        validateBlobName(blobName);
+
+        try {
+            BlobClient blobClient = containerClient.getBlobClient(blobName);
+            BlobProperties properties = blobClient.getProperties();
+            if (properties.getBlobSize() >= parallelThreshold) {
+                return openRanged(blobClient, properties.getBlobSize(), properties.getETag(), null);
+            }
+            InputStream stream = openResumable(blobClient);
+            log.debug("Successfully opened stream for blob: {}", blobName);
+            return stream;
+        } catch (BlobStorageException e) {
+            log.error("Error opening stream for blob: {}", blobName, e);
+            throw new AzureBlobRepositoryException("Failed to open stream for blob: " + blobName, e);
+        } catch (AzureException e) {
+            log.error("Error opening stream for blob: {}", blobName, e);
+            throw new AzureBlobRepositoryException("Azure service error while opening blob stream", e);
+        }
+    }
+
+    /**
+     * Downloads a range of a blob, retrying transient failures with backoff.
+     *
+     * @param blobName Blob to read
+     * @param offset First byte of the range
+     * @param count Bytes in the range
+     * @return Exactly {@code count} bytes
+     */
+    @Override
+    public byte[] getBlobRange(String blobName, long offset, int count) {
+        validateBlobName(blobName);
+        return readRange(containerClient.getBlobClient(blobName), offset, count, null);
+    }
+
+    /**
+     * Downloads a blob into a local file on the async client, so no caller thread waits
+     * while the bytes arrive. See {@link AzureBlobAsyncRepository#downloadToFile}.
+     */
+    @Override
+    public CompletableFuture<Long> downloadToFile(String blobName, Path file) {
+        return asyncRepository.downloadToFile(blobName, file);
+    }
+
+    private ResumableBlobInputStream openResumable(BlobClient blobClient) {
+        BlobInputStream first = hedger.call(OP_OPEN, blobClient::openInputStream, BlobInputStream::close);
+        return new ResumableBlobInputStream(
+                blobClient.getBlobName(),
+                first,
+                (offset, eTag) -> blobClient.openInputStream(new BlobInputStreamOptions()
+                        .setRange(new BlobRange(offset))
+                        .setRequestConditions(new BlobRequestConditions().setIfMatch(eTag))),
+                resumeMaxAttempts,
+                resumeInitialBackoffMs,
+                resumeMaxBackoffMs);
+    }
+
+    /**
+     * Downloads the first block of a blob, taking its size and ETag from the response.
+     * An empty blob has no first byte to range over and comes back as 416.
+     */
+    private FirstBlock readFirstBlock(BlobClient blobClient) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(blockSize);
+        try {
+            BlobDownloadHeaders headers = blobClient.downloadStreamWithResponse(out, new BlobRange(0, (long) blockSize),
+                    null, null, false, null, Context.NONE).getDeserializedHeaders();
+            byte[] content = out.toByteArray();
+            return new FirstBlock(content, totalSize(headers.getContentRange(), content.length), headers.getETag());
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HTTP_RANGE_NOT_SATISFIABLE) {
+                return new FirstBlock(new byte[0], 0, null);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches whatever follows the first block as one range of the same blob version.
+     */
+    private byte[] readRemainder(BlobClient blobClient, FirstBlock first) {
+        byte[] head = first.content();
+        if (first.size() <= head.length) {
+            return head;
+        }
+        byte[] rest = readRange(blobClient, head.length, Math.toIntExact(first.size() - head.length),
+                new BlobRequestConditions().setIfMatch(first.eTag()));
+        byte[] content = Arrays.copyOf(head, head.length + rest.length);
+        System.arraycopy(rest, 0, content, head.length, rest.length);
+        return content;
+    }
+
+    /**
+     * Total blob size from a {@code Content-Range} header such as {@code bytes 0-99/1234}.
+     */
+    private static long totalSize(String contentRange, long fallback) {
+        if (contentRange == null || contentRange.lastIndexOf('/') < 0) {
+            return fallback;
+        }
+        String total = contentRange.substring(contentRange.lastIndexOf('/') + 1).trim();
+        return "*".equals(total) ? fallback : Long.parseLong(total);
+    }
+
+    /**
+     * Opens a ranged parallel read of one blob version. Every range is conditional on its
+     * ETag, so a blob replaced mid-read fails the read instead of mixing versions.
+     *
+     * @param size Blob size
+     * @param eTag ETag of the version to read
+     * @param firstBlock The first block if it was already downloaded, or null to fetch it
+     */
+    private InputStream openRanged(BlobClient blobClient, long size, String eTag, byte[] firstBlock) {
+        String blobName = blobClient.getBlobName();
+        BlobRequestConditions conditions = new BlobRequestConditions().setIfMatch(eTag);
+        long start = System.nanoTime();
+
+        log.debug("Downloading blob {} ({} bytes) in {} byte ranges, {} at a time",
+                blobName, size, blockSize, maxConcurrency);
+
+        return new RangedBlobInputStream(
+                (offset, count) -> {
+                    if (offset == 0 && firstBlock != null) {
+                        return firstBlock;
+                    }
+                    return rangeTimer.record(() -> offset == 0
+                            ? hedger.call(OP_FIRST_RANGE, () -> readRange(blobClient, offset, count, conditions))
+                            : readRange(blobClient, offset, count, conditions));
+                },
+                size,
+                blockSize,
+                maxConcurrency,
+                rangeExecutor,
+                bytes -> recordDownload(MODE_RANGED, bytes, System.nanoTime() - start));
+    }
+
+    /**
+     * Fetches one range, retrying transient failures with backoff. A changed or deleted blob
+     * fails at once.
+     */
+    private byte[] readRange(BlobClient blobClient, long offset, int count, BlobRequestConditions conditions) {
+        String blobName = blobClient.getBlobName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(count);
+                blobClient.downloadStreamWithResponse(out, new BlobRange(offset, (long) count),
+                        null, conditions, false, null, Context.NONE);
+                if (out.size() != count) {
+                    throw new UncheckedIOException(new IOException(String.format(
+                            "Range returned %d of %d bytes", out.size(), count)));
+                }
+                return out.toByteArray();
+
+            } catch (RuntimeException e) {
+                boolean permanent = e instanceof BlobStorageException storage
+                        && (storage.getStatusCode() == HTTP_PRECONDITION_FAILED
+                        || storage.getStatusCode() == HTTP_NOT_FOUND);
+                if (permanent || attempt > resumeMaxAttempts) {
+                    throw new AzureBlobRepositoryException(String.format(
+                            "Failed to download range %d+%d of blob: %s", offset, count, blobName), e);
+                }
+                long backoff = Math.min(resumeMaxBackoffMs, resumeInitialBackoffMs << Math.min(attempt - 1, 20));
+                log.warn("Range {}+{} of blob {} failed ({}); retrying in {} ms (attempt {}/{})",
+                        offset, count, blobName, e.getMessage(), backoff, attempt, resumeMaxAttempts);
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * First block of a blob with the blob's total size and ETag.
+     */
+    private record FirstBlock(byte[] content, long size, String eTag) {
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AzureBlobRepositoryException("Interrupted retrying blob range", e);
+        }
+    }
+
+    private void recordDownload(String mode, long bytes, long elapsedNanos) {
+        Counter.builder("vpi.blob.download.bytes")
+                .description("Bytes downloaded by full blob reads")
+                .baseUnit("bytes")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment(bytes);
+        if (elapsedNanos > 0) {
+            DistributionSummary.builder("vpi.blob.download.throughput")
+                    .description("Throughput of each full blob read")
+                    .baseUnit("bytes/s")
+                    .tag("mode", mode)
+                    .register(meterRegistry)
+                    .record(bytes * 1e9 / elapsedNanos);
+        }
+    }
+
     private void validateBlobName(String blobName) {
         if (blobName == null || blobName.trim().isEmpty()) {
             throw new IllegalArgumentException("Blob name cannot be null or empty");
@@ -0,0 +1,471 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobListing;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of blob listings for day prefixes ({@code OPCO/yyyy/M/d/...}).
+ *
+ * <p>Completed days rarely change, so their listings are kept indefinitely: they are appended
+ * to a compact on-disk log (one gzip record per day, names stored relative to the prefix)
+ * and read back on demand, with a bounded number of decoded days held in memory. The file
+ * is re-indexed on startup so listings survive restarts, which requires
+ * {@code blob.listing-cache.file} on a persistent volume; the default under
+ * {@code java.io.tmpdir} is lost when the pod restarts and is warned about at startup.
+ * Recordings uploaded after a day was cached are picked up by {@link #relistAfterMiss}, at
+ * most once per {@code completed-relist-minutes} per day.
+ *
+ * <p>Open days (today, and days still inside the settle window after midnight) are held in
+ * memory for a short TTL. On expiry they are refreshed incrementally by resuming the listing
+ * from the last page; every {@code full-relist-every} refreshes a full listing picks up
+ * names that sort before the last page. A completed day whose listing is empty is treated as
+ * open, since an empty day usually means its recordings have not been migrated yet.
+ *
+ * <p>Prefixes that are not day prefixes bypass the cache.
+ */
+@Component
+@Slf4j
+public class BlobListingCache {
+
+    private static final Pattern DAY_PREFIX = Pattern.compile("^[^/]+/(\\d{4})/(\\d{1,2})/(\\d{1,2})/");
+    private static final int FILE_MAGIC = 0x56504C43; // "VPLC"
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int LOCK_STRIPES = 64;
+
+    private final BlobStore blobRepository;
+    private final boolean enabled;
+    private final Duration openTtl;
+    private final Duration settle;
+    private final Duration completedRelist;
+    private final int fullRelistEvery;
+    private final ZoneId zone;
+    private final Clock clock;
+
+    private final Map<String, Long> completedOffsets = new ConcurrentHashMap<>();
+    private final Map<String, OpenDay> openDays = new ConcurrentHashMap<>();
+    private final Map<String, Instant> completedRelistedAt = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Map<String, List<String>> decoded;
+
+    private FileChannel file;
+
+    public BlobListingCache(
+            BlobStore blobRepository,
+            @Value("${blob.listing-cache.enabled:true}") boolean enabled,
+            @Value("${blob.listing-cache.file:${java.io.tmpdir}/vpi-blob-listings.bin}") String filePath,
+            @Value("${blob.listing-cache.open-ttl-seconds:60}") long openTtlSeconds,
+            @Value("${blob.listing-cache.settle-minutes:120}") long settleMinutes,
+            @Value("${blob.listing-cache.completed-relist-minutes:30}") long completedRelistMinutes,
+            @Value("${blob.listing-cache.full-relist-every:10}") int fullRelistEvery,
+            @Value("${blob.listing-cache.max-days-in-memory:256}") int maxDaysInMemory,
+            @Value("${blob.listing-cache.zone:UTC}") String zone) {
+
+        this.blobRepository = blobRepository;
+        this.enabled = enabled;
+        this.openTtl = Duration.ofSeconds(openTtlSeconds);
+        this.settle = Duration.ofMinutes(settleMinutes);
+        this.completedRelist = Duration.ofMinutes(completedRelistMinutes);
+        this.fullRelistEvery = Math.max(1, fullRelistEvery);
+        this.zone = ZoneId.of(zone);
+        this.clock = Clock.system(this.zone);
+        this.decoded = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > maxDaysInMemory;
+            }
+        });
+
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        if (enabled) {
+            Path path = Path.of(filePath);
+            warnIfTemporary(path);
+            openFile(path);
+        }
+    }
+
+    /**
+     * Lists blob names under a prefix, from the cache where possible.
+     *
+     * @param prefix Blob name prefix
+     * @return Blob names in listing order
+     */
+    public List<String> listBlobs(String prefix) {
+        Optional<LocalDate> day = enabled ? parseDay(prefix) : Optional.empty();
+        if (day.isEmpty()) {
+            return blobRepository.listBlobs(prefix);
+        }
+
+        List<String> completed = readCompleted(prefix);
+        if (completed != null) {
+            return completed;
+        }
+
+        // A lock rather than synchronized: the listing call blocks on the network, and a
+        // monitor held across it would pin a virtual thread to its carrier
+        ReentrantLock lock = lockFor(prefix);
+        lock.lock();
+        try {
+            completed = readCompleted(prefix);
+            if (completed != null) {
+                return completed;
+            }
+            return isComplete(day.get()) ? listCompletedDay(prefix) : listOpenDay(prefix);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Re-lists a completed day after a lookup found nothing in its cached listing, in case
+     * the recording was uploaded after the day was cached. Each completed day is re-listed
+     * at most once per {@code completed-relist-minutes}; open days are already refreshed on
+     * their TTL and are not re-listed here.
+     *
+     * @param prefix Blob name prefix
+     * @return The new listing if it differs from the cached one, otherwise empty
+     */
+    public Optional<List<String>> relistAfterMiss(String prefix) {
+        Optional<LocalDate> day = enabled ? parseDay(prefix) : Optional.empty();
+        if (day.isEmpty() || !isComplete(day.get())) {
+            return Optional.empty();
+        }
+
+        ReentrantLock lock = lockFor(prefix);
+        lock.lock();
+        try {
+            List<String> cached = readCompleted(prefix);
+            if (cached == null) {
+                // Not cached, or cached as empty and re-listed on the open-day schedule
+                return Optional.empty();
+            }
+
+            Instant now = clock.instant();
+            Instant relistedAt = completedRelistedAt.get(prefix);
+            if (relistedAt != null && now.isBefore(relistedAt.plus(completedRelist))) {
+                return Optional.empty();
+            }
+            completedRelistedAt.put(prefix, now);
+
+            List<String> names = blobRepository.listBlobs(prefix, null).names();
+            if (names.isEmpty() || names.equals(cached)) {
+                return Optional.empty();
+            }
+
+            log.info("Completed day {} changed since it was cached ({} -> {} blobs)", prefix, cached.size(), names.size());
+            decoded.put(prefix, names);
+            append(prefix, names);
+            return Optional.of(names);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops a prefix from memory. A completed day already written to disk is kept there;
+     * it is re-listed only after a lookup miss or after the cache file is removed.
+     *
+     * @param prefix Blob name prefix
+     */
+    public void invalidate(String prefix) {
+        openDays.remove(prefix);
+        decoded.remove(prefix);
+        completedRelistedAt.remove(prefix);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                log.debug("Error closing blob listing cache file", e);
+            }
+        }
+    }
+
+    // ========== Day Classification ==========
+
+    private Optional<LocalDate> parseDay(String prefix) {
+        Matcher matcher = DAY_PREFIX.matcher(prefix);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.of(
+                    Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)),
+                    Integer.parseInt(matcher.group(3))));
+        } catch (DateTimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private boolean isComplete(LocalDate day) {
+        Instant closesAt = day.plusDays(1).atStartOfDay(zone).toInstant().plus(settle);
+        return clock.instant().isAfter(closesAt);
+    }
+
+    // ========== Open Days ==========
+
+    private List<String> listOpenDay(String prefix) {
+        Instant now = clock.instant();
+        OpenDay cached = openDays.get(prefix);
+
+        if (cached != null && now.isBefore(cached.fetchedAt().plus(openTtl))) {
+            return cached.listing().names();
+        }
+
+        BlobListing listing;
+        int refreshes;
+        if (cached == null || (cached.refreshes() + 1) % fullRelistEvery == 0) {
+            listing = blobRepository.listBlobs(prefix, null);
+            refreshes = cached == null ? 0 : cached.refreshes() + 1;
+        } else {
+            listing = resume(prefix, cached.listing());
+            refreshes = cached.refreshes() + 1;
+        }
+
+        openDays.put(prefix, new OpenDay(listing, now, refreshes));
+        return listing.names();
+    }
+
+    private BlobListing resume(String prefix, BlobListing cached) {
+        try {
+            return cached.resumeWith(blobRepository.listBlobs(prefix, cached.tailToken()));
+        } catch (RuntimeException e) {
+            log.debug("Incremental listing failed for {}; listing in full", prefix, e);
+            return blobRepository.listBlobs(prefix, null);
+        }
+    }
+
+    private record OpenDay(BlobListing listing, Instant fetchedAt, int refreshes) {
+    }
+
+    // ========== Completed Days ==========
+
+    private List<String> readCompleted(String prefix) {
+        List<String> names = decoded.get(prefix);
+        if (names != null) {
+            return names;
+        }
+
+        Long offset = completedOffsets.get(prefix);
+        if (offset == null) {
+            return null;
+        }
+
+        try {
+            names = readRecord(offset).names();
+            decoded.put(prefix, names);
+            return names;
+        } catch (IOException e) {
+            log.warn("Unreadable blob listing cache record for {}; re-listing", prefix, e);
+            completedOffsets.remove(prefix);
+            return null;
+        }
+    }
+
+    private List<String> listCompletedDay(String prefix) {
+        List<String> names = blobRepository.listBlobs(prefix, null).names();
+        openDays.remove(prefix);
+
+        if (names.isEmpty()) {
+            // Most likely not migrated yet; keep checking on the open-day schedule
+            openDays.put(prefix, new OpenDay(new BlobListing(names, null, 0), clock.instant(), 0));
+            return names;
+        }
+
+        decoded.put(prefix, names);
+        append(prefix, names);
+        return names;
+    }
+
+    /**
+     * Striped so the number of locks stays fixed however many days are listed. Days that
+     * share a stripe only wait for each other's listing calls.
+     */
+    private ReentrantLock lockFor(String prefix) {
+        return locks[Math.floorMod(prefix.hashCode(), LOCK_STRIPES)];
+    }
+
+    // ========== Cache File ==========
+
+    /*
+     * Layout: int magic, int version, then records of
+     *   int payloadLength, long crc32(payload), payload = gzip(UTF prefix, int count, UTF suffix...)
+     * A re-listed day is appended again; the last record of a prefix wins when indexing.
+     * A torn or corrupt tail record (e.g. crash mid-append) is truncated on startup.
+     */
+
+    private static void warnIfTemporary(Path path) {
+        Path tmp = Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize();
+        if (path.toAbsolutePath().normalize().startsWith(tmp)) {
+            log.warn("Blob listing cache {} is under java.io.tmpdir and will not survive a pod restart; "
+                    + "set blob.listing-cache.file to a path on a persistent volume", path);
+        }
+    }
+
+    private void openFile(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            if (channel.size() < FILE_HEADER_BYTES || !hasValidHeader(channel)) {
+                channel.truncate(0);
+                channel.write(ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(FILE_MAGIC).putInt(FILE_VERSION).flip(), 0);
+            }
+
+            long validEnd = loadIndex(channel);
+            if (validEnd < channel.size()) {
+                log.warn("Truncating blob listing cache {} at {} (was {} bytes)", path, validEnd, channel.size());
+                channel.truncate(validEnd);
+            }
+
+            this.file = channel;
+            log.info("Blob listing cache {} loaded with {} completed days", path, completedOffsets.size());
+        } catch (IOException e) {
+            log.warn("Blob listing cache file {} unavailable; caching in memory only", path, e);
+        }
+    }
+
+    private boolean hasValidHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        return header.getInt() == FILE_MAGIC && header.getInt() == FILE_VERSION;
+    }
+
+    private long loadIndex(FileChannel channel) throws IOException {
+        long position = FILE_HEADER_BYTES;
+        long size = channel.size();
+
+        while (position + RECORD_HEADER_BYTES <= size) {
+            try {
+                DayRecord dayRecord = readRecord(channel, position);
+                completedOffsets.put(dayRecord.prefix(), position);
+                position += RECORD_HEADER_BYTES + dayRecord.payloadLength();
+            } catch (IOException e) {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private DayRecord readRecord(long offset) throws IOException {
+        if (file == null) {
+            throw new IOException("Cache file is not open");
+        }
+        return readRecord(file, offset);
+    }
+
+    private DayRecord readRecord(FileChannel channel, long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        readFully(channel, header, offset);
+        int length = header.getInt();
+        long crc = header.getLong();
+
+        if (length <= 0 || offset + RECORD_HEADER_BYTES + length > channel.size()) {
+            throw new EOFException("Truncated record at " + offset);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(channel, payload, offset + RECORD_HEADER_BYTES);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.array());
+        if (checksum.getValue() != crc) {
+            throw new IOException("Checksum mismatch at " + offset);
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new GZIPInputStream(new ByteArrayInputStream(payload.array())))) {
+            String prefix = in.readUTF();
+            int count = in.readInt();
+            List<String> names = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                names.add(prefix + in.readUTF());
+            }
+            return new DayRecord(prefix, List.copyOf(names), length);
+        }
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+    }
+
+    private void append(String prefix, List<String> names) {
+        if (file == null) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+                out.writeUTF(prefix);
+                out.writeInt(names.size());
+                for (String name : names) {
+                    out.writeUTF(name.substring(prefix.length()));
+                }
+            }
+            byte[] payload = bytes.toByteArray();
+
+            CRC32 checksum = new CRC32();
+            checksum.update(payload);
+
+            ByteBuffer dayRecord = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length)
+                    .putInt(payload.length)
+                    .putLong(checksum.getValue())
+                    .put(payload)
+                    .flip();
+
+            long offset = file.size();
+            while (dayRecord.hasRemaining()) {
+                file.write(dayRecord, offset + dayRecord.position());
+            }
+            file.force(false);
+            completedOffsets.put(prefix, offset);
+        } catch (IOException e) {
+            log.warn("Failed to persist blob listing for {}", prefix, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private record DayRecord(String prefix, List<String> names, int payloadLength) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import com.avangrid.gui.avangrid_backend.exception.AzureBlobRepositoryException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Hedged blob requests: if a request has not answered within the recent latency
+ * percentile of its operation, the same request is sent again and the first success wins.
+ *
+ * <p>Each operation has a budget: every request earns {@code budgetPercent / 100} of a
+ * hedge, up to a small burst, and a hedge spends one. Hedges therefore add at most that
+ * share of storage transactions, even while the service is slow across the board. At most
+ * one hedge is sent per request.
+ *
+ * <p>Metrics, tagged {@code operation}: timer {@code vpi.blob.hedge.latency} of single
+ * attempts (the source of the delay percentile), and counter {@code vpi.blob.hedge.requests}
+ * tagged {@code result=primary-won|hedge-won|budget-exhausted} for requests that outlived the
+ * delay.
+ */
+final class BlobRequestHedger {
+
+    private static final double MAX_BURST = 10;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double budgetPerRequest;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * @param enabled Whether to hedge at all; when false requests run on the caller thread
+     * @param percentile Latency percentile after which a hedge is sent, e.g. 0.95
+     * @param minDelayMs Lower bound on the hedge delay
+     * @param budgetPercent Hedges allowed per hundred requests of an operation
+     * @param executor Executor the attempts run on
+     * @param meterRegistry Registry for hedge metrics
+     */
+    BlobRequestHedger(boolean enabled,
+                      double percentile,
+                      long minDelayMs,
+                      double budgetPercent,
+                      Executor executor,
+                      MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.budgetPerRequest = budgetPercent / 100;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a request, hedging it if it is slow.
+     *
+     * @param operation Operation name; delays and budgets are kept per operation
+     * @param request The request; must be safe to send twice
+     * @return Result of the first attempt to succeed
+     */
+    <T> T call(String operation, Supplier<T> request) {
+        return call(operation, request, result -> { });
+    }
+
+    /**
+     * Runs a request, hedging it if it is slow.
+     *
+     * @param operation Operation name; delays and budgets are kept per operation
+     * @param request The request; must be safe to send twice
+     * @param discard Releases the result of an attempt that lost, such as an open stream
+     * @return Result of the first attempt to succeed
+     */
+    <T> T call(String operation, Supplier<T> request, Consumer<T> discard) {
+        if (!enabled) {
+            return request.get();
+        }
+
+        Operation op = operations.computeIfAbsent(operation, Operation::new);
+        op.earn();
+
+        CompletableFuture<T> primary = op.attempt(request);
+        try {
+            return primary.get(op.delayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slow: hedge below if the budget allows
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.thenAccept(discard);
+            throw new AzureBlobRepositoryException("Interrupted waiting for blob request", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+
+        if (!op.trySpend()) {
+            op.budgetExhausted.increment();
+            return await(primary, discard);
+        }
+
+        CompletableFuture<T> hedge = op.attempt(request);
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        race(primary, winner, failures, op.primaryWon, discard);
+        race(hedge, winner, failures, op.hedgeWon, discard);
+        return await(winner, discard);
+    }
+
+    /**
+     * Completes {@code winner} with the attempt's result if it is the first success, or with
+     * its failure if both attempts failed. A result that arrives second is discarded.
+     */
+    private <T> void race(CompletableFuture<T> attempt,
+                          CompletableFuture<T> winner,
+                          AtomicInteger failures,
+                          Counter wins,
+                          Consumer<T> discard) {
+        attempt.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) {
+                    wins.increment();
+                } else {
+                    discard.accept(result);
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+    }
+
+    private <T> T await(CompletableFuture<T> future, Consumer<T> discard) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.thenAccept(discard);
+            throw new AzureBlobRepositoryException("Interrupted waiting for blob request", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private RuntimeException rethrow(Throwable cause) {
+        return cause instanceof RuntimeException runtime
+                ? runtime
+                : new AzureBlobRepositoryException("Blob request failed", cause);
+    }
+
+    /**
+     * Latency history, budget and counters of one operation.
+     */
+    private final class Operation {
+
+        private final Timer latency;
+        private final Counter primaryWon;
+        private final Counter hedgeWon;
+        private final Counter budgetExhausted;
+        private double tokens = MAX_BURST;
+
+        Operation(String name) {
+            this.latency = Timer.builder("vpi.blob.hedge.latency")
+                    .description("Latency of single blob request attempts")
+                    .tag("operation", name)
+                    .publishPercentiles(percentile)
+                    .register(meterRegistry);
+            this.primaryWon = requests(name, "primary-won");
+            this.hedgeWon = requests(name, "hedge-won");
+            this.budgetExhausted = requests(name, "budget-exhausted");
+        }
+
+        private Counter requests(String name, String result) {
+            return Counter.builder("vpi.blob.hedge.requests")
+                    .description("Blob requests that outlived the hedge delay")
+                    .tag("operation", name)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        <T> CompletableFuture<T> attempt(Supplier<T> request) {
+            return CompletableFuture.supplyAsync(() -> latency.record(request), executor);
+        }
+
+        long delayNanos() {
+            ValueAtPercentile[] values = latency.takeSnapshot().percentileValues();
+            double observed = values.length > 0 ? values[0].value(TimeUnit.NANOSECONDS) : 0;
+            return Math.max(minDelayNanos, (long) observed);
+        }
+
+        synchronized void earn() {
+            tokens = Math.min(MAX_BURST, tokens + budgetPerRequest);
+        }
+
+        synchronized boolean trySpend() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
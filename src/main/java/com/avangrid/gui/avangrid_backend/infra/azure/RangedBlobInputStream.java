@@ -0,0 +1,149 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.LongConsumer;
+
+/**
+ * Sequential stream over a blob fetched as fixed-size ranges in parallel.
+ *
+ * <p>Up to {@code concurrency} ranges ahead of the reader are in flight at once; each
+ * consumed range starts the next. Ranges are returned strictly in order, so the stream can
+ * be copied to a file or piped to a process like any other. Memory use is bounded by
+ * {@code concurrency × blockSize}.
+ *
+ * <p>A failed range surfaces as an {@link IOException} when the reader reaches it. Closing
+ * the stream cancels the ranges not yet started and interrupts those being fetched.
+ */
+final class RangedBlobInputStream extends InputStream {
+
+    /**
+     * Fetches one range of the blob.
+     */
+    @FunctionalInterface
+    interface RangeReader {
+        byte[] read(long offset, int count);
+    }
+
+    private final RangeReader reader;
+    private final long size;
+    private final int blockSize;
+    private final int concurrency;
+    private final Executor executor;
+    private final LongConsumer onComplete;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+    private long nextOffset;
+    private byte[] current;
+    private int position;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * @param reader Fetches a range
+     * @param size Blob size in bytes
+     * @param blockSize Bytes per range
+     * @param concurrency Ranges in flight at once
+     * @param executor Executor the ranges are fetched on
+     * @param onComplete Receives the bytes read once the whole blob has been read
+     */
+    RangedBlobInputStream(RangeReader reader,
+                          long size,
+                          int blockSize,
+                          int concurrency,
+                          Executor executor,
+                          LongConsumer onComplete) {
+        this.reader = reader;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.concurrency = Math.max(1, concurrency);
+        this.executor = executor;
+        this.onComplete = onComplete;
+        fill();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if ((current == null || position == current.length) && !advance()) {
+            return -1;
+        }
+
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.forEach(range -> range.cancel(true));
+        pending.clear();
+        current = null;
+    }
+
+    /**
+     * Moves to the next range, waiting for it if needed.
+     *
+     * @return false at end of blob
+     */
+    private boolean advance() throws IOException {
+        Future<byte[]> next = pending.poll();
+        if (next == null) {
+            if (!finished) {
+                finished = true;
+                onComplete.accept(size);
+            }
+            return false;
+        }
+
+        try {
+            current = next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for blob range");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to download blob range", e.getCause());
+        }
+        if (current.length == 0) {
+            throw new IOException("Blob range returned no data");
+        }
+        position = 0;
+        fill();
+        return true;
+    }
+
+    private void fill() {
+        while (pending.size() < concurrency && nextOffset < size) {
+            long offset = nextOffset;
+            int count = (int) Math.min(blockSize, size - offset);
+            // A FutureTask, unlike a CompletableFuture, interrupts its thread when cancelled
+            FutureTask<byte[]> range = new FutureTask<>(() -> reader.read(offset, count));
+            executor.execute(range);
+            pending.add(range);
+            nextOffset += count;
+        }
+    }
+}
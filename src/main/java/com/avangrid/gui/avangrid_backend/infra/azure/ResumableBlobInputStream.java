@@ -0,0 +1,157 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStream;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.specialized.BlobInputStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * Blob stream that survives connection failures part way through.
+ *
+ * <p>Tracks how many bytes were read and the ETag of the blob version being read. When a
+ * read fails, or the stream ends before the blob size, it waits with exponential backoff and
+ * reopens from the next unread byte with a range GET conditional on that ETag. If the blob
+ * was replaced in the meantime the read fails instead of mixing versions.
+ */
+@Slf4j
+public final class ResumableBlobInputStream extends BlobStream {
+
+    private static final int HTTP_PRECONDITION_FAILED = 412;
+
+    /**
+     * Opens the blob from an offset, conditional on an ETag.
+     */
+    @FunctionalInterface
+    interface Opener {
+        BlobInputStream open(long offset, String eTag);
+    }
+
+    private final String blobName;
+    private final Opener opener;
+    private final String eTag;
+    private final long size;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private InputStream current;
+    private long offset;
+    private boolean closed;
+
+    /**
+     * @param blobName Blob being read, for logging
+     * @param first Stream opened at offset zero
+     * @param opener Reopens the blob after a failure
+     * @param maxAttempts Reopen attempts per failure before giving up
+     * @param initialBackoffMs Wait before the first reopen; doubles on each further attempt
+     * @param maxBackoffMs Upper bound on the wait
+     */
+    ResumableBlobInputStream(String blobName,
+                             BlobInputStream first,
+                             Opener opener,
+                             int maxAttempts,
+                             long initialBackoffMs,
+                             long maxBackoffMs) {
+        BlobProperties properties = first.getProperties();
+        this.blobName = blobName;
+        this.opener = opener;
+        this.eTag = properties.getETag();
+        this.size = properties.getBlobSize();
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.current = first;
+    }
+
+    @Override
+    public String getETag() {
+        return eTag;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+
+        int attempt = 0;
+        while (true) {
+            try {
+                int count = current.read(buffer, off, length);
+                if (count == -1 && offset < size) {
+                    throw new IOException(String.format("Stream ended at %d of %d bytes", offset, size));
+                }
+                if (count > 0) {
+                    offset += count;
+                }
+                return count;
+
+            } catch (IOException e) {
+                attempt++;
+                if (attempt > maxAttempts) {
+                    throw e;
+                }
+                reopen(attempt, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        current.close();
+    }
+
+    private void reopen(int attempt, IOException failure) throws IOException {
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        log.warn("Read of blob {} failed at byte {} of {} ({}); resuming in {} ms (attempt {}/{})",
+                blobName, offset, size, failure.getMessage(), backoff, attempt, maxAttempts);
+
+        closeQuietly(current);
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted resuming blob read");
+        }
+
+        // On failure the empty stream ends early on the next read, which counts as a failed attempt
+        try {
+            current = opener.open(offset, eTag);
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HTTP_PRECONDITION_FAILED) {
+                throw new IOException("Blob changed while being read: " + blobName, e);
+            }
+            log.debug("Reopening blob {} failed", blobName, e);
+            current = InputStream.nullInputStream();
+        } catch (RuntimeException e) {
+            log.debug("Reopening blob {} failed", blobName, e);
+            current = InputStream.nullInputStream();
+        }
+    }
+
+    private void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Failed to close blob stream {}", blobName, e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.avangrid.gui.avangrid_backend.infra.blob;
+
+/**
+ * Downloaded blob bytes with the ETag they were read at.
+ *
+ * @param content Blob content
+ * @param eTag Blob ETag
+ */
+public record BlobContent(byte[] content, String eTag) {
+}
@@ -0,0 +1,32 @@
+package com.avangrid.gui.avangrid_backend.infra.blob;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a paged blob listing.
+ *
+ * @param names Blob names in listing (lexicographic) order
+ * @param tailToken Continuation token that fetched the last page, or null if it was the first page
+ * @param tailOffset Index in {@code names} where the last page starts
+ */
+public record BlobListing(List<String> names, String tailToken, int tailOffset) {
+
+    public BlobListing {
+        names = List.copyOf(names);
+    }
+
+    /**
+     * Appends a listing resumed from this listing's {@link #tailToken()}. The resumed listing
+     * re-reads the last page, so it replaces everything from {@link #tailOffset()} onwards.
+     *
+     * @param resumed Listing returned when resuming from {@code tailToken}
+     * @return Combined listing
+     */
+    public BlobListing resumeWith(BlobListing resumed) {
+        List<String> merged = new ArrayList<>(tailOffset + resumed.names().size());
+        merged.addAll(names.subList(0, tailOffset));
+        merged.addAll(resumed.names());
+        return new BlobListing(merged, resumed.tailToken(), tailOffset + resumed.tailOffset());
+    }
+}
@@ -0,0 +1,107 @@
+package com.avangrid.gui.avangrid_backend.infra.blob;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage of recording and metadata blobs.
+ *
+ * <p>Blob names are {@code /}-separated paths; recordings live under day prefixes
+ * ({@code OPCO/yyyy/M/d/...}). Listings are hierarchical: names directly under the prefix,
+ * plus one {@code name/} entry per deeper level.
+ *
+ * <p>The implementation is chosen by Spring profile:
+ * <ul>
+ *   <li>default: Azure Blob Storage</li>
+ *   <li>{@value #PROFILE_FILESYSTEM}: files under {@code blobstore.fs.root}</li>
+ *   <li>{@value #PROFILE_MEMORY}: in-memory, with injected latency and faults</li>
+ * </ul>
+ * The last two need no storage account, so the recording paths can be load-tested and
+ * benchmarked offline.
+ */
+public interface BlobStore {
+
+    String PROFILE_FILESYSTEM = "blobstore-fs";
+    String PROFILE_MEMORY = "blobstore-memory";
+
+    /**
+     * Lists the blob names directly under a prefix.
+     *
+     * @param prefix Blob name prefix
+     * @return Blob names
+     */
+    List<String> listBlobs(String prefix);
+
+    /**
+     * Lists blobs under a prefix page by page, optionally resuming from a continuation token.
+     *
+     * @param prefix Blob name prefix
+     * @param continuationToken Token to resume from, or null to list from the start
+     * @return Listing with resume position
+     */
+    BlobListing listBlobs(String prefix, String continuationToken);
+
+    /**
+     * Downloads a blob into memory.
+     *
+     * @param blobName Blob to download
+     * @return Blob content
+     */
+    byte[] getBlobContent(String blobName);
+
+    /**
+     * Downloads a blob together with its ETag, unless it still matches a known ETag.
+     *
+     * @param blobName Blob to download
+     * @param knownETag ETag of a copy the caller already has, or null
+     * @return Content and ETag, or empty if the blob still matches {@code knownETag}
+     */
+    Optional<BlobContent> getBlobContentIfChanged(String blobName, String knownETag);
+
+    /**
+     * Opens a blob for streaming reads of the version current when it was opened.
+     *
+     * @param blobName Blob to open
+     * @return Stream over the blob content
+     */
+    BlobStream getBlobStream(String blobName);
+
+    /**
+     * Opens a blob for one full sequential read, such as piping a recording to FFmpeg.
+     * Implementations may fetch large blobs as parallel ranges.
+     *
+     * @param blobName Blob to open
+     * @return Stream over the blob content
+     */
+    InputStream getParallelBlobStream(String blobName);
+
+    /**
+     * Checks whether a blob exists without downloading it.
+     *
+     * @param blobName Blob to check
+     * @return true if the blob exists
+     */
+    boolean exists(String blobName);
+
+    /**
+     * Downloads a range of a blob. The range must lie within the blob.
+     *
+     * @param blobName Blob to read
+     * @param offset First byte of the range
+     * @param count Bytes in the range
+     * @return Exactly {@code count} bytes
+     */
+    byte[] getBlobRange(String blobName, long offset, int count);
+
+    /**
+     * Downloads a blob into a local file, replacing its content.
+     *
+     * @param blobName Blob to download
+     * @param file Target file
+     * @return Future of the number of bytes written
+     */
+    CompletableFuture<Long> downloadToFile(String blobName, Path file);
+}
@@ -0,0 +1,56 @@
+package com.avangrid.gui.avangrid_backend.infra.blob;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Stream over one version of a blob.
+ */
+public abstract class BlobStream extends InputStream {
+
+    /**
+     * @return ETag of the blob version this stream reads
+     */
+    public abstract String getETag();
+
+    /**
+     * Wraps a plain stream that is known to read the given blob version.
+     *
+     * @param in Stream over the blob content
+     * @param eTag ETag of the version {@code in} reads
+     * @return Stream reporting {@code eTag}
+     */
+    static BlobStream of(InputStream in, String eTag) {
+        return new BlobStream() {
+            @Override
+            public String getETag() {
+                return eTag;
+            }
+
+            @Override
+            public int read() throws IOException {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return in.read(buffer, offset, length);
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                return in.skip(n);
+            }
+
+            @Override
+            public int available() throws IOException {
+                return in.available();
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        };
+    }
+}
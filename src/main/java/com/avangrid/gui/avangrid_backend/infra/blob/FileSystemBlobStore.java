@@ -0,0 +1,185 @@
+package com.avangrid.gui.avangrid_backend.infra.blob;
+
+import com.avangrid.gui.avangrid_backend.exception.BlobAccessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BlobStore} over a local directory, active under the
+ * {@value BlobStore#PROFILE_FILESYSTEM} profile.
+ *
+ * <p>Blob names map to paths under {@code blobstore.fs.root}, so a copy of the container
+ * keeps its {@code OPCO/yyyy/M/d/} layout, e.g. {@code RGE/2024/1/15/00012...wav}. ETags
+ * are derived from the file's modification time and size. A listing is a single page.
+ */
+@Repository
+@Profile(BlobStore.PROFILE_FILESYSTEM)
+@Slf4j
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final String PATH_DELIMITER = "/";
+
+    private final Path root;
+
+    public FileSystemBlobStore(@Value("${blobstore.fs.root:${java.io.tmpdir}/vpi-blobs}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        log.info("File system blob store initialized at: {}", this.root);
+    }
+
+    @Override
+    public List<String> listBlobs(String prefix) {
+        int split = prefix.lastIndexOf(PATH_DELIMITER) + 1;
+        String directoryName = prefix.substring(0, split);
+        String namePrefix = prefix.substring(split);
+        Path directory = directoryName.isEmpty() ? root : resolve(directoryName);
+
+        List<String> blobNames = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return blobNames;
+        }
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory,
+                entry -> entry.getFileName().toString().startsWith(namePrefix))) {
+            for (Path entry : entries) {
+                String name = directoryName + entry.getFileName();
+                blobNames.add(Files.isDirectory(entry) ? name + PATH_DELIMITER : name);
+            }
+        } catch (IOException e) {
+            log.error("Error listing blobs with prefix: {}", prefix, e);
+            throw new BlobAccessException("Failed to list blobs with prefix: " + prefix, e);
+        }
+
+        blobNames.sort(null);
+        log.debug("Successfully listed {} blobs with prefix: {}", blobNames.size(), prefix);
+        return blobNames;
+    }
+
+    /**
+     * Lists the prefix in full. The listing is one page, so there is no continuation token
+     * and resuming re-reads everything.
+     */
+    @Override
+    public BlobListing listBlobs(String prefix, String continuationToken) {
+        return new BlobListing(listBlobs(prefix), null, 0);
+    }
+
+    @Override
+    public byte[] getBlobContent(String blobName) {
+        try {
+            return Files.readAllBytes(resolve(blobName));
+        } catch (IOException e) {
+            throw failure("download", blobName, e);
+        }
+    }
+
+    @Override
+    public Optional<BlobContent> getBlobContentIfChanged(String blobName, String knownETag) {
+        Path file = resolve(blobName);
+        try {
+            String eTag = eTag(file);
+            if (eTag.equals(knownETag)) {
+                log.debug("Blob not modified: {}", blobName);
+                return Optional.empty();
+            }
+            return Optional.of(new BlobContent(Files.readAllBytes(file), eTag));
+        } catch (IOException e) {
+            throw failure("download", blobName, e);
+        }
+    }
+
+    @Override
+    public BlobStream getBlobStream(String blobName) {
+        Path file = resolve(blobName);
+        try {
+            String eTag = eTag(file);
+            return BlobStream.of(Files.newInputStream(file), eTag);
+        } catch (IOException e) {
+            throw failure("open stream for", blobName, e);
+        }
+    }
+
+    @Override
+    public InputStream getParallelBlobStream(String blobName) {
+        return getBlobStream(blobName);
+    }
+
+    @Override
+    public boolean exists(String blobName) {
+        return Files.isRegularFile(resolve(blobName));
+    }
+
+    @Override
+    public byte[] getBlobRange(String blobName, long offset, int count) {
+        ByteBuffer buffer = ByteBuffer.allocate(count);
+        try (FileChannel channel = FileChannel.open(resolve(blobName))) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) == -1) {
+                    throw new BlobAccessException(String.format(
+                            "Range %d+%d is past the end of blob: %s", offset, count, blobName));
+                }
+            }
+            return buffer.array();
+        } catch (IOException e) {
+            throw failure("download range of", blobName, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Long> downloadToFile(String blobName, Path file) {
+        try {
+            Files.copy(resolve(blobName), file, StandardCopyOption.REPLACE_EXISTING);
+            return CompletableFuture.completedFuture(Files.size(file));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(failure("download", blobName, e));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Maps a blob name to its file, refusing names that escape the root.
+     */
+    private Path resolve(String blobName) {
+        if (blobName == null || blobName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Blob name cannot be null or empty");
+        }
+        Path file = root.resolve(blobName).normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("Blob name is outside the store: " + blobName);
+        }
+        return file;
+    }
+
+    private String eTag(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return String.format("\"%x-%x\"",
+                attributes.lastModifiedTime().to(TimeUnit.MICROSECONDS), attributes.size());
+    }
+
+    private BlobAccessException failure(String action, String blobName, IOException e) {
+        if (e instanceof NoSuchFileException) {
+            log.debug("Blob not found: {}", blobName);
+            return new BlobAccessException("Blob not found: " + blobName, e);
+        }
+        log.error("Failed to {} blob: {}", action, blobName, e);
+        return new BlobAccessException("Failed to " + action + " blob: " + blobName, e);
+    }
+}
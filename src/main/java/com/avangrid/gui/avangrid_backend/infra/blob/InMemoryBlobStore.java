@@ -0,0 +1,279 @@
+package com.avangrid.gui.avangrid_backend.infra.blob;
+
+import com.avangrid.gui.avangrid_backend.exception.BlobAccessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link BlobStore} held in memory, active under the {@value BlobStore#PROFILE_MEMORY}
+ * profile. Blobs are added with {@link #put}.
+ *
+ * <p>To approximate remote storage, every request first waits
+ * {@code blobstore.memory.latency-ms} plus a uniform random jitter of up to
+ * {@code blobstore.memory.latency-jitter-ms}, then fails with probability
+ * {@code blobstore.memory.fault-rate}. With probability
+ * {@code blobstore.memory.stream-fault-rate} an opened stream fails part way through, at a
+ * random offset. Both rates default to zero.
+ *
+ * <p>Metrics: counter {@code vpi.blobstore.memory.faults} tagged
+ * {@code operation} for injected failures.
+ */
+@Repository
+@Profile(BlobStore.PROFILE_MEMORY)
+@Slf4j
+public class InMemoryBlobStore implements BlobStore {
+
+    private static final String PATH_DELIMITER = "/";
+    private static final String OP_LIST = "list";
+    private static final String OP_GET = "get";
+    private static final String OP_STREAM = "stream";
+    private static final String OP_EXISTS = "exists";
+    private static final String OP_RANGE = "range";
+
+    private record Entry(byte[] content, String eTag) {
+    }
+
+    private final NavigableMap<String, Entry> blobs = new ConcurrentSkipListMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double faultRate;
+    private final double streamFaultRate;
+    private final MeterRegistry meterRegistry;
+
+    public InMemoryBlobStore(
+            MeterRegistry meterRegistry,
+            @Value("${blobstore.memory.latency-ms:0}") long latencyMs,
+            @Value("${blobstore.memory.latency-jitter-ms:0}") long latencyJitterMs,
+            @Value("${blobstore.memory.fault-rate:0}") double faultRate,
+            @Value("${blobstore.memory.stream-fault-rate:0}") double streamFaultRate) {
+
+        this.meterRegistry = meterRegistry;
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = latencyJitterMs;
+        this.faultRate = faultRate;
+        this.streamFaultRate = streamFaultRate;
+
+        log.info("In-memory blob store initialized: latency {}+{} ms, fault rate {}, stream fault rate {}",
+                latencyMs, latencyJitterMs, faultRate, streamFaultRate);
+    }
+
+    /**
+     * Adds or replaces a blob. Replacing gives it a new ETag.
+     *
+     * @param blobName Blob name
+     * @param content Blob content; not copied
+     */
+    public void put(String blobName, byte[] content) {
+        validateBlobName(blobName);
+        blobs.put(blobName, new Entry(content, String.format("\"0x%X\"", versions.incrementAndGet())));
+    }
+
+    /**
+     * Removes a blob.
+     *
+     * @param blobName Blob name
+     * @return true if the blob existed
+     */
+    public boolean delete(String blobName) {
+        return blobs.remove(blobName) != null;
+    }
+
+    @Override
+    public List<String> listBlobs(String prefix) {
+        simulate(OP_LIST);
+
+        List<String> blobNames = new ArrayList<>();
+        String lastDirectory = null;
+        for (String name : blobs.tailMap(prefix, true).keySet()) {
+            if (!name.startsWith(prefix)) {
+                break;
+            }
+            int delimiter = name.indexOf(PATH_DELIMITER, prefix.length());
+            if (delimiter == -1) {
+                blobNames.add(name);
+                continue;
+            }
+            String directory = name.substring(0, delimiter + 1);
+            if (!directory.equals(lastDirectory)) {
+                blobNames.add(directory);
+                lastDirectory = directory;
+            }
+        }
+        return blobNames;
+    }
+
+    /**
+     * Lists the prefix in full. The listing is one page, so there is no continuation token
+     * and resuming re-reads everything.
+     */
+    @Override
+    public BlobListing listBlobs(String prefix, String continuationToken) {
+        return new BlobListing(listBlobs(prefix), null, 0);
+    }
+
+    @Override
+    public byte[] getBlobContent(String blobName) {
+        simulate(OP_GET);
+        return entry(blobName).content().clone();
+    }
+
+    @Override
+    public Optional<BlobContent> getBlobContentIfChanged(String blobName, String knownETag) {
+        simulate(OP_GET);
+        Entry entry = entry(blobName);
+        if (entry.eTag().equals(knownETag)) {
+            return Optional.empty();
+        }
+        return Optional.of(new BlobContent(entry.content().clone(), entry.eTag()));
+    }
+
+    @Override
+    public BlobStream getBlobStream(String blobName) {
+        simulate(OP_STREAM);
+        Entry entry = entry(blobName);
+        InputStream in = new ByteArrayInputStream(entry.content());
+        if (entry.content().length > 0 && ThreadLocalRandom.current().nextDouble() < streamFaultRate) {
+            in = new FailingInputStream(in, ThreadLocalRandom.current().nextLong(entry.content().length));
+        }
+        return BlobStream.of(in, entry.eTag());
+    }
+
+    @Override
+    public InputStream getParallelBlobStream(String blobName) {
+        return getBlobStream(blobName);
+    }
+
+    @Override
+    public boolean exists(String blobName) {
+        validateBlobName(blobName);
+        simulate(OP_EXISTS);
+        return blobs.containsKey(blobName);
+    }
+
+    @Override
+    public byte[] getBlobRange(String blobName, long offset, int count) {
+        simulate(OP_RANGE);
+        byte[] content = entry(blobName).content();
+        if (offset < 0 || offset + count > content.length) {
+            throw new BlobAccessException(String.format(
+                    "Range %d+%d is past the end of blob: %s", offset, count, blobName));
+        }
+        return Arrays.copyOfRange(content, (int) offset, (int) offset + count);
+    }
+
+    @Override
+    public CompletableFuture<Long> downloadToFile(String blobName, Path file) {
+        try {
+            byte[] content = getBlobContent(blobName);
+            Files.write(file, content);
+            return CompletableFuture.completedFuture((long) content.length);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(
+                    new BlobAccessException("Failed to download blob: " + blobName, e));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Entry entry(String blobName) {
+        validateBlobName(blobName);
+        Entry entry = blobs.get(blobName);
+        if (entry == null) {
+            throw new BlobAccessException("Blob not found: " + blobName);
+        }
+        return entry;
+    }
+
+    /**
+     * Waits the configured latency, then fails at the configured rate.
+     */
+    private void simulate(String operation) {
+        long delay = latencyMs + (latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BlobAccessException("Interrupted during simulated blob latency", e);
+            }
+        }
+        if (faultRate > 0 && ThreadLocalRandom.current().nextDouble() < faultRate) {
+            countFault(operation);
+            throw new BlobAccessException("Injected blob store fault: " + operation);
+        }
+    }
+
+    private void countFault(String operation) {
+        Counter.builder("vpi.blobstore.memory.faults")
+                .description("Failures injected by the in-memory blob store")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void validateBlobName(String blobName) {
+        if (blobName == null || blobName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Blob name cannot be null or empty");
+        }
+    }
+
+    /**
+     * Stream that fails once {@code failAt} bytes have been read.
+     */
+    private final class FailingInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        FailingInputStream(InputStream in, long failAt) {
+            super(in);
+            this.remaining = failAt;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0 && length > 0) {
+                countFault(OP_STREAM);
+                throw new IOException("Injected blob stream fault");
+            }
+            int count = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (count > 0) {
+                remaining -= count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            int length = (int) Math.min(n, 8192);
+            return Math.max(0, read(new byte[length], 0, length));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.avangrid.gui.avangrid_backend.infra.generic;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository base class adding count-free slice queries and cursor streaming for specifications.
+ *
+ * <p>{@code findAll(Specification, Pageable)} always issues a second {@code count(*)} over the
+ * same predicate. {@link #findSlice} reads one extra row instead, which is enough to know
+ * whether a next page exists.
+ *
+ * <p>The {@code timeoutMs} variants set a JDBC statement timeout, so the database cancels a
+ * query its caller has stopped waiting for instead of holding the connection and the calling
+ * thread until it completes. JDBC timeouts have a granularity of whole seconds.
+ *
+ * @param <T> Entity type
+ * @param <ID> Identifier type
+ */
+public class SliceJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> {
+
+    private final EntityManager entityManager;
+
+    public SliceJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Find a slice of entities matching the specification without counting the total
+     */
+    public Slice<T> findSlice(Specification<T> spec, Pageable pageable) {
+        return findSlice(getQuery(spec, pageable.getSort()), pageable);
+    }
+
+    /**
+     * Find a slice of entities matching the specification, cancelled by the database after
+     * {@code timeoutMs}
+     */
+    public Slice<T> findSlice(Specification<T> spec, Pageable pageable, long timeoutMs) {
+        TypedQuery<T> query = getQuery(spec, pageable.getSort());
+        applyTimeout(query, timeoutMs);
+        return findSlice(query, pageable);
+    }
+
+    /**
+     * Count entities matching the specification, cancelled by the database after {@code timeoutMs}
+     */
+    public long count(Specification<T> spec, long timeoutMs) {
+        TypedQuery<Long> query = getCountQuery(spec, getDomainClass());
+        applyTimeout(query, timeoutMs);
+
+        // One row per group when the specification groups, as in SimpleJpaRepository
+        return query.getResultList().stream()
+                .mapToLong(count -> count == null ? 0L : count)
+                .sum();
+    }
+
+    private Slice<T> findSlice(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        List<T> content = query.getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+
+        return new SliceImpl<>(
+                hasNext ? content.subList(0, pageable.getPageSize()) : content,
+                pageable,
+                hasNext);
+    }
+
+    /**
+     * Hibernate rounds the hint to whole seconds and treats zero as no timeout, so anything
+     * shorter than a second is raised to one.
+     */
+    private static void applyTimeout(TypedQuery<?> query, long timeoutMs) {
+        query.setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, (int) Math.min(Math.max(timeoutMs, 1000L), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Stream entities matching the specification through a forward-only JDBC cursor.
+     *
+     * <p>Rows are fetched {@code fetchSize} at a time and detached as they are read, so heap
+     * use does not grow with the result size. Must be called, and the stream consumed and
+     * closed, inside a transaction; PostgreSQL only uses a cursor when autocommit is off.
+     */
+    public Stream<T> streamAll(Specification<T> spec, Sort sort, int fetchSize) {
+        TypedQuery<T> query = getQuery(spec, sort);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        return query.getResultStream().peek(entityManager::detach);
+    }
+}
@@ -4,10 +4,14 @@ import com.avangrid.gui.avangrid_backend.model.entitiybase.VpiCaptureBase;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.data.domain.*;
 
 /**
@@ -23,8 +27,49 @@ public interface VpiCaptureRepository<T extends VpiCaptureBase>
      */
     Page<T> findAll(Specification<T> spec, Pageable pageable);
 
+    /**
+     * Find a slice of captures with specification, without a count query
+     * (implemented by {@link SliceJpaRepository})
+     */
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable);
+
+    /**
+     * Find a slice of captures with specification, cancelled by the database after
+     * {@code timeoutMs} (implemented by {@link SliceJpaRepository})
+     */
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable, long timeoutMs);
+
+    /**
+     * Count captures with specification, cancelled by the database after {@code timeoutMs}
+     * (implemented by {@link SliceJpaRepository})
+     */
+    long count(Specification<T> spec, long timeoutMs);
+
+    /**
+     * Stream captures with specification through a JDBC cursor; requires an open transaction
+     * (implemented by {@link SliceJpaRepository})
+     */
+    Stream<T> streamAll(Specification<T> spec, Sort sort, int fetchSize);
+
     /**
      * Find captures by object ID
      */
     List<T> findByObjectId(UUID objectId);
+
+    /**
+     * Planner plan for captures added in a date range (EXPLAIN only, nothing is executed).
+     * The first line carries the planner's row estimate as {@code rows=N}.
+     */
+    @Query(
+            value = """
+            explain select 1
+            from vpicapturevoice.vpvoiceobjects v
+            where v.dateadded between :from and :to
+        """,
+            nativeQuery = true
+    )
+    List<String> explainDateRange(
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to
+    );
 }
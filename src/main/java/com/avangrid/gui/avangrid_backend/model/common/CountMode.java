@@ -0,0 +1,25 @@
+package com.avangrid.gui.avangrid_backend.model.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Strategy used to produce {@code totalRecords} for a search page.
+ */
+public enum CountMode {
+
+    /** Exact count, run after the content query (default). */
+    @JsonProperty("exact")
+    EXACT,
+
+    /** Exact count, run in parallel with the content query on a second connection. */
+    @JsonProperty("concurrent")
+    CONCURRENT,
+
+    /** PostgreSQL planner row estimate for the date range; no rows are counted. */
+    @JsonProperty("estimated")
+    ESTIMATED,
+
+    /** No count; the page only reports whether a next page exists. */
+    @JsonProperty("none")
+    NONE
+}
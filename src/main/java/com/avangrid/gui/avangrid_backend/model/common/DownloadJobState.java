@@ -0,0 +1,25 @@
+package com.avangrid.gui.avangrid_backend.model.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Lifecycle of an asynchronous bulk download job.
+ */
+public enum DownloadJobState {
+
+    /** Accepted and waiting for a worker. */
+    @JsonProperty("queued")
+    QUEUED,
+
+    /** Archive is being written. */
+    @JsonProperty("running")
+    RUNNING,
+
+    /** Archive is complete and can be downloaded. */
+    @JsonProperty("completed")
+    COMPLETED,
+
+    /** Job stopped with an error; no archive is available. */
+    @JsonProperty("failed")
+    FAILED
+}
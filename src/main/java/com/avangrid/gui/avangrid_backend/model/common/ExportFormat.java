@@ -0,0 +1,21 @@
+package com.avangrid.gui.avangrid_backend.model.common;
+
+import lombok.Getter;
+
+/**
+ * Output formats of the streaming search export.
+ */
+@Getter
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", ".ndjson"),
+    CSV("text/csv", ".csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+}
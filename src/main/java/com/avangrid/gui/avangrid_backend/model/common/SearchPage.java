@@ -0,0 +1,26 @@
+package com.avangrid.gui.avangrid_backend.model.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of search results together with the paging state the response needs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPage {
+
+    private List<VpiMetadata> content;
+    private int pageNumber;
+    private int pageSize;
+    private long totalRecords;
+    private int totalPages;
+    private boolean hasNext;
+    private String nextCursor;
+    private CountMode countMode;
+    private List<String> unavailableOpcos;
+}
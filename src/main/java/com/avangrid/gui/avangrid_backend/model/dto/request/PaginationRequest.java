@@ -10,4 +10,5 @@ public class PaginationRequest {
     @JsonProperty(required = true)
     private int pageNumber;
     private int pageSize;
+    private String cursor;
 }
@@ -2,10 +2,13 @@ package com.avangrid.gui.avangrid_backend.model.dto.request;
 
 
 
+import com.avangrid.gui.avangrid_backend.model.common.CountMode;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
+import java.util.List;
+
 @JsonIgnoreProperties(ignoreUnknown = false)
 @Data
 public class VpiSearchRequest {
@@ -15,9 +18,11 @@ public class VpiSearchRequest {
     private String toDate;
     @JsonProperty(required = true)
     private String opco;
+    private List<String> opcos;
     @JsonProperty(required = true)
     private VpiFiltersRequest filters;
     @JsonProperty(required = true)
     private PaginationRequest pagination;
+    private CountMode countMode;
 }
 
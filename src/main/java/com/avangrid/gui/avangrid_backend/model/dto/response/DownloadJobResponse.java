@@ -0,0 +1,19 @@
+package com.avangrid.gui.avangrid_backend.model.dto.response;
+
+import com.avangrid.gui.avangrid_backend.model.common.DownloadJobState;
+import com.avangrid.gui.avangrid_backend.model.common.ZipStatusSummary;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class DownloadJobResponse {
+    private UUID jobId;
+    private DownloadJobState state;
+    private ZipStatusSummary progress;   // items processed so far; complete once finished
+    private long bytesWritten;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+}
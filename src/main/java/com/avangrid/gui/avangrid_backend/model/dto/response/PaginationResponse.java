@@ -1,5 +1,6 @@
 package com.avangrid.gui.avangrid_backend.model.dto.response;
 
+import com.avangrid.gui.avangrid_backend.model.common.CountMode;
 import lombok.Data;
 
 @Data
@@ -8,4 +9,7 @@ public class PaginationResponse {
     private int pageSize;
     private long totalRecords;
     private int totalPages;
+    private boolean hasNext;
+    private String nextCursor;
+    private CountMode countMode;
 }
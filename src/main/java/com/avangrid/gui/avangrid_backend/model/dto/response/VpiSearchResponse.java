@@ -10,5 +10,6 @@ public class VpiSearchResponse {
     private PaginationResponse pagination;
     private String status;
     private String message;
+    private List<String> unavailableOpcos;
 }
 
@@ -0,0 +1,88 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * MP3 responses of the recording endpoint, and the {@code Range} check that picks between them.
+ *
+ * <p>A complete MP3 (a cached file or an in-memory buffer) is left to Spring's resource range
+ * support, which answers a {@code Range} header with {@code 206} or {@code 416}. A live
+ * conversion has no length and can be read only once, so it must never reach that support:
+ * building the {@code 416} for a range it cannot serve reads the whole stream, after the full
+ * transcode, just to report the length. It is sent as a plain {@link InputStreamResource},
+ * which Spring does not range, so any {@code Range} header gets the full body as {@code 200},
+ * with {@code Accept-Ranges: none}.
+ */
+final class AudioResponses {
+
+    private static final MediaType AUDIO_MPEG = MediaType.parseMediaType("audio/mpeg");
+    private static final String MP3_EXTENSION = ".mp3";
+
+    private AudioResponses() {
+    }
+
+    /**
+     * Checks whether a {@code Range} header asks for less than the whole body.
+     *
+     * @param range The {@code Range} header (nullable)
+     * @return false for no range, an unparseable range, or {@code bytes=0-}
+     */
+    static boolean isPartialRange(String range) {
+        if (!StringUtils.hasText(range)) {
+            return false;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            if (ranges.size() != 1) {
+                return !ranges.isEmpty();
+            }
+            HttpRange only = ranges.getFirst();
+            return only.getRangeStart(Long.MAX_VALUE) != 0 || only.getRangeEnd(Long.MAX_VALUE) != Long.MAX_VALUE - 1;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Builds the response for a complete MP3. Length, {@code Content-Range} and the answer
+     * to a {@code Range} header are set by the resource converters.
+     *
+     * @param mp3 The MP3 in memory or a cached file
+     * @param originalFilename The original filename
+     * @return ResponseEntity with audio headers
+     */
+    static ResponseEntity<Resource> complete(Resource mp3, String originalFilename) {
+        HttpHeaders headers = audioHeaders(originalFilename);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        return ResponseEntity.ok().headers(headers).body(mp3);
+    }
+
+    /**
+     * Builds the response for a live conversion, sent chunked and never ranged.
+     *
+     * @param mp3Stream FFmpeg's MP3 output
+     * @param originalFilename The original filename
+     * @return ResponseEntity with audio headers and the full body
+     */
+    static ResponseEntity<Resource> streamed(InputStream mp3Stream, String originalFilename) {
+        HttpHeaders headers = audioHeaders(originalFilename);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "none");
+        return ResponseEntity.ok().headers(headers).body(new InputStreamResource(mp3Stream));
+    }
+
+    private static HttpHeaders audioHeaders(String originalFilename) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(AUDIO_MPEG);
+        headers.setContentDispositionFormData("inline", originalFilename + MP3_EXTENSION);
+        return headers;
+    }
+}
@@ -142,6 +142,35 @@ public final class CaptureSpecifications {
     }
 
 
+    /* ===========================================================
+       KEYSET SEEK (dateAdded DESC, objectId DESC)
+    =========================================================== */
+
+    public static <T> Specification<T> seekAfter(
+            String dateField,
+            String idField,
+            OffsetDateTime lastDate,
+            UUID lastId
+    ) {
+        return (root, query, cb) -> {
+            if (lastDate == null || lastId == null) {
+                return cb.conjunction();
+            }
+
+            Path<OffsetDateTime> datePath = root.get(dateField);
+            Path<UUID> idPath = root.get(idField);
+
+            return cb.or(
+                    cb.lessThan(datePath, lastDate),
+                    cb.and(
+                            cb.equal(datePath, lastDate),
+                            cb.lessThan(idPath, lastId)
+                    )
+            );
+        };
+    }
+
+
     /* ===========================================================
        BUILDER (NO JOINS)
     =========================================================== */
@@ -0,0 +1,110 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Point lookup of a recording's blobs by their derived names.
+ *
+ * <p>NYSEG and RGE recordings are stored as a WAV and its {@code .wav.xml} metadata under the
+ * day prefix, both named from the call's channel, start time and customer. Instead of listing
+ * the day, the two names are checked with parallel existence requests. When either is
+ * missing, or the checks fail or exceed {@code recording.direct-lookup.timeout-ms}, the
+ * caller falls back to listing.
+ *
+ * <p>Off by default: the names assume a five-digit, zero-padded channel prefix, which has
+ * not been confirmed against every recorder. Enable it once the prefix is verified.
+ *
+ * <p>Metrics: counter {@code vpi.recording.lookup} tagged {@code result=direct|fallback}.
+ */
+@Component
+public class DirectBlobLookup {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectBlobLookup.class);
+
+    private static final String XML_SUFFIX = ".xml";
+
+    private final BlobStore blobRepository;
+    private final ExecutorService blobIoExecutor;
+    private final boolean enabled;
+    private final long timeoutMs;
+
+    private final Counter direct;
+    private final Counter fallback;
+
+    public DirectBlobLookup(
+            BlobStore blobRepository,
+            @Qualifier("blobIoExecutor") ExecutorService blobIoExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${recording.direct-lookup.enabled:false}") boolean enabled,
+            @Value("${recording.direct-lookup.timeout-ms:2000}") long timeoutMs) {
+
+        this.blobRepository = blobRepository;
+        this.blobIoExecutor = blobIoExecutor;
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+
+        this.direct = lookups(meterRegistry, "direct");
+        this.fallback = lookups(meterRegistry, "fallback");
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result) {
+        return Counter.builder("vpi.recording.lookup")
+                .description("NYSEG/RGE recording blob lookups by how the metadata blob was found")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Finds the metadata blob of a recording whose WAV name is known.
+     *
+     * @param wavBlobName Derived WAV blob name, including the day prefix
+     * @return The metadata blob name if it and the WAV both exist; empty to fall back to listing
+     */
+    public Optional<String> findXml(String wavBlobName) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        String xmlBlobName = wavBlobName + XML_SUFFIX;
+        CompletableFuture<Boolean> xml = CompletableFuture.supplyAsync(
+                () -> blobRepository.exists(xmlBlobName), blobIoExecutor);
+        CompletableFuture<Boolean> wav = CompletableFuture.supplyAsync(
+                () -> blobRepository.exists(wavBlobName), blobIoExecutor);
+
+        try {
+            if (xml.thenCombine(wav, Boolean::logicalAnd).get(timeoutMs, TimeUnit.MILLISECONDS)) {
+                direct.increment();
+                logger.debug("Resolved {} directly", xmlBlobName);
+                return Optional.of(xmlBlobName);
+            }
+            logger.debug("Derived blob names not found for {}", wavBlobName);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.debug("Interrupted checking {}", wavBlobName);
+        } catch (TimeoutException e) {
+            xml.cancel(true);
+            wav.cancel(true);
+            logger.warn("Blob existence checks for {} timed out after {} ms", wavBlobName, timeoutMs);
+        } catch (ExecutionException e) {
+            logger.warn("Blob existence checks for {} failed: {}", wavBlobName, e.getCause().getMessage());
+        }
+
+        fallback.increment();
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,308 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.exception.DownloadJobCapacityException;
+import com.avangrid.gui.avangrid_backend.exception.DownloadJobNotFoundException;
+import com.avangrid.gui.avangrid_backend.exception.DownloadJobNotReadyException;
+import com.avangrid.gui.avangrid_backend.model.common.DownloadJobState;
+import com.avangrid.gui.avangrid_backend.model.common.RecordingStatus;
+import com.avangrid.gui.avangrid_backend.model.common.ZipStatusSummary;
+import com.avangrid.gui.avangrid_backend.model.dto.request.RecordingRequest;
+import com.avangrid.gui.avangrid_backend.model.dto.response.DownloadJobResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Runs bulk downloads as background jobs that write their ZIP to local disk.
+ *
+ * <p>A job is submitted with the same request list as {@code /download}, runs on the
+ * {@code downloadJobExecutor}, and can be polled for progress while it writes. Progress is
+ * the {@link ZipStatusSummary} of the items processed so far plus the bytes written. The
+ * finished archive is published with an atomic rename and kept for
+ * {@code download.jobs.retention-minutes} after the job ends.
+ *
+ * <p>At most {@code download.jobs.max-pending} jobs may be queued or running at once; further
+ * submits are rejected with {@link DownloadJobCapacityException}, which becomes {@code 429}
+ * with {@code Retry-After}, so the job list and the executor queue stay bounded.
+ *
+ * <p>A job belongs to the subject of the token that submitted it. Other callers get
+ * {@link DownloadJobNotFoundException} for it, as for an unknown job, so job ids cannot be
+ * probed.
+ *
+ * <p>Jobs live in memory on the pod that accepted them and do not survive a restart;
+ * archives left by a previous run are removed on startup.
+ */
+@Service
+public class DownloadJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownloadJobService.class);
+
+    private static final String ARCHIVE_SUFFIX = ".zip";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String STATUS_SUCCESS = "SUCCESS";
+
+    private final VpiRecordingService recordingService;
+    private final ExecutorService jobExecutor;
+    private final Path directory;
+    private final Duration retention;
+    private final int maxPending;
+    private final long retryAfterSeconds;
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * @param recordingService Service that writes the ZIP archives
+     * @param jobExecutor Executor the jobs run on
+     * @param directory Directory for job archives
+     * @param retentionMinutes How long a finished job and its archive are kept
+     * @param maxPending Jobs that may be queued or running at once
+     * @param retryAfterSeconds {@code Retry-After} sent when a submit is rejected
+     */
+    public DownloadJobService(
+            VpiRecordingService recordingService,
+            @Qualifier("downloadJobExecutor") ExecutorService jobExecutor,
+            @Value("${download.jobs.dir:${java.io.tmpdir}/vpi-download-jobs}") String directory,
+            @Value("${download.jobs.retention-minutes:60}") long retentionMinutes,
+            @Value("${download.jobs.max-pending:20}") int maxPending,
+            @Value("${download.jobs.retry-after-seconds:30}") long retryAfterSeconds) throws IOException {
+        this.recordingService = recordingService;
+        this.jobExecutor = jobExecutor;
+        this.directory = Path.of(directory);
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.maxPending = Math.max(1, maxPending);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+
+        Files.createDirectories(this.directory);
+        removeLeftovers();
+    }
+
+    /**
+     * Validates and queues a bulk download.
+     *
+     * @param requests Recording requests to download
+     * @param owner Subject of the caller's token
+     * @return Initial job status
+     * @throws com.avangrid.gui.avangrid_backend.exception.InvalidRequestException if a request is invalid
+     * @throws DownloadJobCapacityException if {@code download.jobs.max-pending} jobs are queued or running
+     */
+    public DownloadJobResponse submit(List<RecordingRequest> requests, String owner) {
+        recordingService.validateDownloadRequests(requests);
+
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new DownloadJobCapacityException(
+                    String.format("Too many download jobs are pending (limit %d)", maxPending), retryAfterSeconds);
+        }
+
+        Job job = new Job(UUID.randomUUID(), owner, List.copyOf(requests));
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            pending.decrementAndGet();
+            throw e;
+        }
+
+        logger.info("Queued download job {} with {} recordings", job.id, requests.size());
+        return job.toResponse();
+    }
+
+    /**
+     * Returns the status and progress of a job.
+     *
+     * @param jobId Job id
+     * @param owner Subject of the caller's token
+     * @return Job status
+     * @throws DownloadJobNotFoundException if the job is unknown, expired or not the caller's
+     */
+    public DownloadJobResponse getStatus(UUID jobId, String owner) {
+        return find(jobId, owner).toResponse();
+    }
+
+    /**
+     * Returns the archive of a completed job.
+     *
+     * @param jobId Job id
+     * @param owner Subject of the caller's token
+     * @return Path of the ZIP file
+     * @throws DownloadJobNotFoundException if the job is unknown, expired or not the caller's
+     * @throws DownloadJobNotReadyException if the job has not completed successfully
+     */
+    public Path getArchive(UUID jobId, String owner) {
+        Job job = find(jobId, owner);
+        if (job.state != DownloadJobState.COMPLETED) {
+            throw new DownloadJobNotReadyException(
+                    String.format("Download job %s is %s", jobId, job.state.name().toLowerCase(Locale.ROOT)));
+        }
+        return archivePath(jobId);
+    }
+
+    /**
+     * Removes finished jobs older than the retention period, with their archives.
+     */
+    @Scheduled(fixedDelayString = "${download.jobs.cleanup-ms:60000}")
+    public void expireJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            LocalDateTime finishedAt = job.finishedAt;
+            if (finishedAt == null || finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(archivePath(job.id));
+            logger.debug("Expired download job {}", job.id);
+            return true;
+        });
+    }
+
+    private void run(Job job) {
+        job.state = DownloadJobState.RUNNING;
+        Path temp = directory.resolve(job.id + ARCHIVE_SUFFIX + TEMP_SUFFIX);
+
+        try {
+            try (OutputStream out = new CountingOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE), job.bytesWritten)) {
+                recordingService.writeRecordingsZip(job.requests, out, job::addStatus);
+            }
+            Files.move(temp, archivePath(job.id), StandardCopyOption.ATOMIC_MOVE);
+            job.finish(DownloadJobState.COMPLETED, null);
+            logger.info("Download job {} completed: {} bytes", job.id, job.bytesWritten.get());
+
+        } catch (Exception e) {
+            logger.error("Download job {} failed", job.id, e);
+            deleteQuietly(temp);
+            job.finish(DownloadJobState.FAILED, e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    private Job find(UUID jobId, String owner) {
+        Job job = jobs.get(jobId);
+        if (job == null || !Objects.equals(job.owner, owner)) {
+            throw new DownloadJobNotFoundException("Download job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private Path archivePath(UUID jobId) {
+        return directory.resolve(jobId + ARCHIVE_SUFFIX);
+    }
+
+    private void removeLeftovers() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.endsWith(ARCHIVE_SUFFIX) || name.endsWith(TEMP_SUFFIX);
+            }).forEach(this::deleteQuietly);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete download job file {}", file, e);
+        }
+    }
+
+    /**
+     * Mutable state of one job, written by its worker and read by pollers.
+     */
+    private static final class Job {
+
+        private final UUID id;
+        private final String owner;
+        private final List<RecordingRequest> requests;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<RecordingStatus> statuses = new ArrayList<>();
+        private final AtomicLong bytesWritten = new AtomicLong();
+        private volatile DownloadJobState state = DownloadJobState.QUEUED;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        Job(UUID id, String owner, List<RecordingRequest> requests) {
+            this.id = id;
+            this.owner = owner;
+            this.requests = requests;
+        }
+
+        synchronized void addStatus(RecordingStatus status) {
+            statuses.add(status);
+        }
+
+        void finish(DownloadJobState finalState, String failure) {
+            error = failure;
+            state = finalState;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized DownloadJobResponse toResponse() {
+            int success = (int) statuses.stream()
+                    .filter(status -> STATUS_SUCCESS.equals(status.getStatus()))
+                    .count();
+
+            DownloadJobResponse response = new DownloadJobResponse();
+            response.setJobId(id);
+            response.setState(state);
+            response.setProgress(new ZipStatusSummary(
+                    requests.size(), success, statuses.size() - success, List.copyOf(statuses)));
+            response.setBytesWritten(bytesWritten.get());
+            response.setError(error);
+            response.setSubmittedAt(submittedAt);
+            response.setFinishedAt(finishedAt);
+            return response;
+        }
+    }
+
+    /**
+     * Output stream that adds the bytes passing through to a counter.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private final AtomicLong count;
+
+        CountingOutputStream(OutputStream out, AtomicLong count) {
+            super(out);
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count.addAndGet(len);
+        }
+    }
+}
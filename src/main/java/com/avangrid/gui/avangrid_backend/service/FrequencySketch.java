@@ -0,0 +1,82 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+/**
+ * Count-min sketch of recent access frequencies, used for TinyLFU cache admission.
+ *
+ * <p>Four rows of 4-bit-style counters (saturating at 15). After {@code 10 x width}
+ * increments every counter is halved, so old popularity fades and the sketch tracks
+ * recent demand. Not thread-safe; callers synchronize.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int SAMPLE_FACTOR = 10;
+    private static final long[] SEEDS = {
+            0x97CB3127L, 0xC2B2AE3D27D4EB4FL, 0x9E3779B97F4A7C15L, 0x85EBCA77C2B2AE63L
+    };
+
+    private final byte[][] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param expectedItems Roughly the number of distinct keys the cache can hold
+     */
+    FrequencySketch(int expectedItems) {
+        int width = Integer.highestOneBit(Math.max(16, expectedItems * 2 - 1)) << 1;
+        this.table = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = SAMPLE_FACTOR * width;
+    }
+
+    /**
+     * Records one access of a key.
+     */
+    void increment(String key) {
+        long hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            if (table[row][index] < MAX_COUNT) {
+                table[row][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            age();
+        }
+    }
+
+    /**
+     * Estimated recent access count of a key.
+     */
+    int frequency(String key) {
+        long hash = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, table[row][indexOf(hash, row)]);
+        }
+        return min;
+    }
+
+    private void age() {
+        for (byte[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (row[i] >>> 1);
+            }
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(long hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static long spread(int hash) {
+        long h = hash * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
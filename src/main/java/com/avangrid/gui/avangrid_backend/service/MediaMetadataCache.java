@@ -0,0 +1,207 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobContent;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStore;
+import com.avangrid.gui.avangrid_backend.model.common.MediaMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Cache of parsed XML metadata files, keyed by blob name and validated by ETag.
+ *
+ * <p>An entry is trusted for {@code xml.cache.revalidate-seconds} after it was last checked.
+ * After that the next lookup sends a conditional GET ({@code If-None-Match}); a 304 keeps
+ * the parsed entry, anything else replaces it. Eviction is LRU, bounded by the total number
+ * of parsed media records rather than the number of files, since a CMP day file can hold
+ * thousands of records.
+ *
+ * <p>Recording lookups stream XML files they have no entry for and stop at the first
+ * matching record, so they only {@link #put} the files they read to the end.
+ *
+ * <p>Metrics: {@code vpi.xml.cache.requests} tagged {@code result=hit|revalidated|miss},
+ * {@code vpi.xml.cache.evictions}, and gauges {@code vpi.xml.cache.entries} and
+ * {@code vpi.xml.cache.records}.
+ */
+@Component
+public class MediaMetadataCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaMetadataCache.class);
+
+    private final BlobStore blobRepository;
+    private final boolean enabled;
+    private final Duration revalidateAfter;
+    private final long maxRecords;
+    private final Clock clock = Clock.systemUTC();
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long records;
+
+    private final Counter hits;
+    private final Counter revalidated;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public MediaMetadataCache(
+            BlobStore blobRepository,
+            MeterRegistry meterRegistry,
+            @Value("${xml.cache.enabled:true}") boolean enabled,
+            @Value("${xml.cache.revalidate-seconds:600}") long revalidateSeconds,
+            @Value("${xml.cache.max-records:200000}") long maxRecords) {
+
+        this.blobRepository = blobRepository;
+        this.enabled = enabled;
+        this.revalidateAfter = Duration.ofSeconds(revalidateSeconds);
+        this.maxRecords = maxRecords;
+
+        this.hits = requests(meterRegistry, "hit");
+        this.revalidated = requests(meterRegistry, "revalidated");
+        this.misses = requests(meterRegistry, "miss");
+        this.evictions = Counter.builder("vpi.xml.cache.evictions")
+                .description("Parsed XML files evicted to stay within the record budget")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("vpi.xml.cache.entries", this, MediaMetadataCache::entryCount)
+                .description("Parsed XML files held in the cache")
+                .register(registry);
+        Gauge.builder("vpi.xml.cache.records", this, MediaMetadataCache::recordCount)
+                .description("Parsed media records held in the cache")
+                .register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("vpi.xml.cache.requests")
+                .description("Parsed XML metadata lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Returns the parsed metadata of an XML blob, downloading and parsing it only when the
+     * cached copy is missing or its ETag changed.
+     *
+     * @param blobName XML blob name
+     * @param parser Parses the downloaded XML bytes
+     * @return Parsed media metadata (unmodifiable)
+     */
+    public List<MediaMetadata> get(String blobName, Function<byte[], List<MediaMetadata>> parser) {
+        if (!enabled) {
+            return parser.apply(blobRepository.getBlobContentIfChanged(blobName, null)
+                    .orElseThrow()
+                    .content());
+        }
+
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(blobName);
+        }
+
+        Instant now = clock.instant();
+        if (cached != null && now.isBefore(cached.checkedAt().plus(revalidateAfter))) {
+            hits.increment();
+            return cached.media();
+        }
+
+        Optional<BlobContent> changed =
+                blobRepository.getBlobContentIfChanged(blobName, cached != null ? cached.eTag() : null);
+
+        if (changed.isEmpty()) {
+            revalidated.increment();
+            put(blobName, new Entry(cached.eTag(), cached.media(), now));
+            return cached.media();
+        }
+
+        misses.increment();
+        List<MediaMetadata> media = List.copyOf(parser.apply(changed.get().content()));
+        put(blobName, new Entry(changed.get().eTag(), media, now));
+        return media;
+    }
+
+    /**
+     * Returns the parsed metadata of an XML blob if the cache has an entry for it, after
+     * revalidating the entry the same way as {@link #get}. A blob with no entry is not
+     * downloaded.
+     *
+     * @param blobName XML blob name
+     * @param parser Parses the downloaded XML bytes if the entry turns out to be stale
+     * @return Parsed media metadata (unmodifiable), or empty if the blob is not cached
+     */
+    public Optional<List<MediaMetadata>> getIfCached(String blobName,
+                                                     Function<byte[], List<MediaMetadata>> parser) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            if (!entries.containsKey(blobName)) {
+                misses.increment();
+                return Optional.empty();
+            }
+        }
+        return Optional.of(get(blobName, parser));
+    }
+
+    /**
+     * Caches metadata parsed from a complete read of an XML blob.
+     *
+     * @param blobName XML blob name
+     * @param eTag ETag of the blob version that was read
+     * @param media Every media record in the blob
+     */
+    public void put(String blobName, String eTag, List<MediaMetadata> media) {
+        if (!enabled || eTag == null) {
+            return;
+        }
+        put(blobName, new Entry(eTag, List.copyOf(media), clock.instant()));
+    }
+
+    private synchronized void put(String blobName, Entry entry) {
+        Entry previous = entries.put(blobName, entry);
+        if (previous != null) {
+            records -= previous.weight();
+        }
+        records += entry.weight();
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (records > maxRecords && eldest.hasNext()) {
+            Map.Entry<String, Entry> candidate = eldest.next();
+            if (candidate.getKey().equals(blobName)) {
+                continue;
+            }
+            records -= candidate.getValue().weight();
+            eldest.remove();
+            evictions.increment();
+        }
+
+        logger.debug("Cached {} media records for {} ({} records total)", entry.weight(), blobName, records);
+    }
+
+    private synchronized double entryCount() {
+        return entries.size();
+    }
+
+    private synchronized double recordCount() {
+        return records;
+    }
+
+    private record Entry(String eTag, List<MediaMetadata> media, Instant checkedAt) {
+
+        /** Every entry weighs at least one so empty files still count against the budget. */
+        long weight() {
+            return Math.max(1, media.size());
+        }
+    }
+}
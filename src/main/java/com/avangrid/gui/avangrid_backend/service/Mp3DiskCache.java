@@ -0,0 +1,390 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Local disk cache of transcoded MP3 recordings.
+ *
+ * <p>Keyed by blob name plus transcode profile, so changing the ffmpeg settings never serves
+ * stale output. Files are written to a temp file and published with an atomic rename, so a
+ * reader never sees a partial MP3.
+ *
+ * <p>Eviction is LRU under a byte budget. Admission is TinyLFU: when the cache is full a new
+ * MP3 is only stored if it has been requested more often recently than every entry it would
+ * evict, so a one-off bulk pass cannot flush the recordings reviewers keep replaying.
+ *
+ * <p>An evicted file stays on disk for {@code recording.cache.eviction-grace-seconds}: a path
+ * returned by {@link #lookup} is opened only after the handler returns (sendfile or
+ * {@code transferTo}), so deleting it at once could fail or truncate a response that was a
+ * hit. Files past their grace are deleted on the next offer.
+ *
+ * <p>Metrics: {@code vpi.mp3.cache.requests} tagged {@code result=hit|miss},
+ * {@code vpi.mp3.cache.admissions} tagged {@code result=admitted|rejected}, and gauges
+ * {@code vpi.mp3.cache.bytes} and {@code vpi.mp3.cache.entries}.
+ */
+@Component
+public class Mp3DiskCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(Mp3DiskCache.class);
+
+    private static final String FILE_SUFFIX = ".mp3";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int AVERAGE_MP3_BYTES = 1024 * 1024;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration evictionGrace;
+    private final Clock clock = Clock.systemUTC();
+
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> pending = new HashSet<>();
+    private final Deque<Evicted> evicted = new ArrayDeque<>();
+    private final FrequencySketch sketch;
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter admitted;
+    private final Counter rejected;
+
+    public Mp3DiskCache(
+            MeterRegistry meterRegistry,
+            @Value("${recording.cache.enabled:true}") boolean enabled,
+            @Value("${recording.cache.dir:${java.io.tmpdir}/vpi-mp3-cache}") String directory,
+            @Value("${recording.cache.max-bytes:2147483648}") long maxBytes,
+            @Value("${recording.cache.eviction-grace-seconds:60}") long evictionGraceSeconds) {
+
+        this.directory = Path.of(directory);
+        this.maxBytes = maxBytes;
+        this.evictionGrace = Duration.ofSeconds(evictionGraceSeconds);
+        this.sketch = new FrequencySketch((int) Math.min(1 << 20, Math.max(1, maxBytes / AVERAGE_MP3_BYTES)));
+        this.enabled = enabled && initDirectory();
+
+        this.hits = counter(meterRegistry, "vpi.mp3.cache.requests", "hit");
+        this.misses = counter(meterRegistry, "vpi.mp3.cache.requests", "miss");
+        this.admitted = counter(meterRegistry, "vpi.mp3.cache.admissions", "admitted");
+        this.rejected = counter(meterRegistry, "vpi.mp3.cache.admissions", "rejected");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("vpi.mp3.cache.bytes", this, Mp3DiskCache::byteCount)
+                .description("Bytes of MP3 held on disk")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("vpi.mp3.cache.entries", this, Mp3DiskCache::entryCount)
+                .description("MP3 files held on disk")
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String result) {
+        return Counter.builder(name).tag("result", result).register(registry);
+    }
+
+    /**
+     * Looks up a cached MP3 and records the access for admission.
+     *
+     * @param blobName Source WAV blob name
+     * @param profile Transcode profile (the ffmpeg settings)
+     * @return Path of the cached MP3, or empty on a miss
+     */
+    public Optional<Path> lookup(String blobName, String profile) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        String key = keyOf(blobName, profile);
+        synchronized (this) {
+            sketch.increment(key);
+            if (entries.get(key) != null) {
+                hits.increment();
+                return Optional.of(pathOf(key));
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Offers a freshly transcoded MP3 to the cache. It is stored only if admitted.
+     *
+     * @param blobName Source WAV blob name
+     * @param profile Transcode profile (the ffmpeg settings)
+     * @param mp3Data MP3 bytes
+     */
+    public void offer(String blobName, String profile, byte[] mp3Data) {
+        if (!enabled) {
+            return;
+        }
+        String key = keyOf(blobName, profile);
+        store(key, mp3Data.length, () -> publish(key, mp3Data));
+    }
+
+    /**
+     * Offers a transcoded MP3 already written to a file from {@link #newTempFile()}. The
+     * cache takes ownership of the file: it is moved into place if admitted, else deleted.
+     *
+     * @param blobName Source WAV blob name
+     * @param profile Transcode profile (the ffmpeg settings)
+     * @param mp3File Complete MP3 file in the cache directory
+     * @return Path of the cached MP3 if it was admitted, else empty
+     */
+    public Optional<Path> offer(String blobName, String profile, Path mp3File) {
+        if (!enabled) {
+            deleteQuietly(mp3File);
+            return Optional.empty();
+        }
+
+        long size;
+        try {
+            size = Files.size(mp3File);
+        } catch (IOException e) {
+            logger.warn("Failed to read cached MP3 size {}", mp3File, e);
+            deleteQuietly(mp3File);
+            return Optional.empty();
+        }
+
+        String key = keyOf(blobName, profile);
+        AtomicBoolean published = new AtomicBoolean();
+        if (!store(key, size, () -> {
+            published.set(publish(key, mp3File));
+            return published.get();
+        })) {
+            deleteQuietly(mp3File);
+        }
+        return published.get() ? Optional.of(pathOf(key)) : Optional.empty();
+    }
+
+    /**
+     * Creates an empty temp file in the cache directory, for output that is written
+     * incrementally and then passed to {@link #offer(String, String, Path)}. Abandoned temp
+     * files are removed on the next startup.
+     *
+     * @return Temp file, or empty if caching is disabled or the file cannot be created
+     */
+    public Optional<Path> newTempFile() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.createTempFile(directory, "stream", TEMP_SUFFIX));
+        } catch (IOException e) {
+            logger.warn("Failed to create MP3 cache temp file in {}", directory, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Admits an entry, evicting as needed, and runs the publisher outside the lock.
+     *
+     * @return false if the entry was not admitted and the publisher was not run
+     */
+    private boolean store(String key, long size, BooleanSupplier publisher) {
+        if (size == 0 || size > maxBytes) {
+            return false;
+        }
+
+        List<String> victims;
+        synchronized (this) {
+            if (entries.containsKey(key) || pending.contains(key)) {
+                return false;
+            }
+            victims = selectVictims(key, size);
+            if (victims == null) {
+                rejected.increment();
+                return false;
+            }
+            Instant now = clock.instant();
+            victims.forEach(victim -> {
+                totalBytes -= entries.remove(victim);
+                evicted.addLast(new Evicted(victim, now.plus(evictionGrace)));
+            });
+            // The new file replaces any evicted one still in its grace period
+            evicted.removeIf(entry -> entry.key().equals(key));
+            deleteExpired(now);
+            // Reserve the space now so concurrent offers see it as used
+            pending.add(key);
+            totalBytes += size;
+        }
+
+        boolean published = publisher.getAsBoolean();
+
+        synchronized (this) {
+            pending.remove(key);
+            if (published) {
+                entries.put(key, size);
+            } else {
+                totalBytes -= size;
+            }
+        }
+        if (published) {
+            admitted.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Chooses LRU entries to evict so the candidate fits, or null if the candidate is not
+     * requested more often than one of them.
+     */
+    private List<String> selectVictims(String candidate, long size) {
+        List<String> victims = new ArrayList<>();
+        long freed = 0;
+        int candidateFrequency = sketch.frequency(candidate);
+
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes - freed + size > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> victim = eldest.next();
+            if (sketch.frequency(victim.getKey()) >= candidateFrequency) {
+                return null;
+            }
+            victims.add(victim.getKey());
+            freed += victim.getValue();
+        }
+        // Space held by in-flight publishes can leave too little room even after evicting
+        return totalBytes - freed + size > maxBytes ? null : victims;
+    }
+
+    /**
+     * Deletes evicted files past their grace period. Runs under the lock, so a key cannot be
+     * re-admitted between the check and the delete.
+     */
+    private void deleteExpired(Instant now) {
+        while (!evicted.isEmpty() && !evicted.peekFirst().deleteAfter().isAfter(now)) {
+            deleteQuietly(evicted.pollFirst().key());
+        }
+    }
+
+    private boolean publish(String key, byte[] mp3Data) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+            Files.write(temp, mp3Data);
+            Files.move(temp, pathOf(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to cache MP3 {}", key, e);
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+            return false;
+        }
+    }
+
+    private boolean publish(String key, Path mp3File) {
+        try {
+            Files.move(mp3File, pathOf(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to cache MP3 {}", key, e);
+            deleteQuietly(mp3File);
+            return false;
+        }
+    }
+
+    private boolean initDirectory() {
+        try {
+            Files.createDirectories(directory);
+            loadExisting();
+            logger.info("MP3 cache {} holds {} files ({} bytes)", directory, entries.size(), totalBytes);
+            return true;
+        } catch (IOException e) {
+            logger.warn("MP3 cache directory {} unavailable; caching disabled", directory, e);
+            return false;
+        }
+    }
+
+    /**
+     * Re-indexes files left by a previous run, oldest first so LRU order is roughly preserved,
+     * and removes abandoned temp files.
+     */
+    private void loadExisting() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.toList();
+        }
+
+        List<Map.Entry<Path, BasicFileAttributes>> cached = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                deleteQuietly(file);
+            } else if (name.endsWith(FILE_SUFFIX)) {
+                cached.add(Map.entry(file, Files.readAttributes(file, BasicFileAttributes.class)));
+            }
+        }
+        cached.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+
+        for (Map.Entry<Path, BasicFileAttributes> entry : cached) {
+            String name = entry.getKey().getFileName().toString();
+            long size = entry.getValue().size();
+            if (totalBytes + size > maxBytes) {
+                deleteQuietly(entry.getKey());
+                continue;
+            }
+            entries.put(name.substring(0, name.length() - FILE_SUFFIX.length()), size);
+            totalBytes += size;
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        deleteQuietly(pathOf(key));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("Failed to delete cached file {}", path, e);
+        }
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(key + FILE_SUFFIX);
+    }
+
+    private static String keyOf(String blobName, String profile) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(profile.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(blobName.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private synchronized double byteCount() {
+        return totalBytes;
+    }
+
+    private synchronized double entryCount() {
+        return entries.size();
+    }
+
+    private record Evicted(String key, Instant deleteAfter) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Parsing of recording file names.
+ *
+ * <p>A recording is named {@code <channel><timestamp><customer>.wav}: a five-digit channel,
+ * the start time as {@code yyyy-MM-dd_hh-mm-ss} (12-hour clock) and the customer name, as in
+ * {@code 000422024-01-15_03-45-30John Smith.wav}.
+ */
+final class RecordingFileNames {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingFileNames.class);
+
+    /** Length of the channel prefix, where the timestamp starts. */
+    static final int DATETIME_START = 5;
+
+    private static final int DATETIME_END = 24;
+    private static final int CUSTOMER_START = 24;
+    private static final String WAV_EXTENSION = ".wav";
+
+    private RecordingFileNames() {
+    }
+
+    /**
+     * Checks if a blob name's timestamp matches the expected value.
+     *
+     * @param blobName The blob name
+     * @param expected The expected timestamp string
+     * @return true if matches, false otherwise
+     */
+    static boolean matchesTimestamp(String blobName, String expected) {
+        return extractDateTime(blobName)
+                .map(actual -> actual.equals(expected))
+                .orElse(false);
+    }
+
+    /**
+     * Extracts date-time portion from a blob filename.
+     *
+     * @param blobName The blob name
+     * @return Optional containing extracted datetime string
+     */
+    private static Optional<String> extractDateTime(String blobName) {
+        try {
+            String fileName = extractFileName(blobName);
+
+            if (fileName.length() < DATETIME_END) {
+                return Optional.empty();
+            }
+
+            return Optional.of(
+                    fileName.substring(DATETIME_START, DATETIME_END)
+            );
+        } catch (Exception ex) {
+            logger.debug("Failed to extract datetime from blob: {}", blobName, ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Extracts customer name from a blob filename.
+     *
+     * @param blobName The blob name
+     * @return Optional containing extracted customer name
+     */
+    static Optional<String> extractCustomerName(String blobName) {
+        try {
+            String fileName = extractFileName(blobName);
+            int endIndex = fileName.indexOf(WAV_EXTENSION);
+
+            if (endIndex == -1 || fileName.length() < CUSTOMER_START) {
+                return Optional.empty();
+            }
+
+            return Optional.of(
+                    fileName.substring(CUSTOMER_START, endIndex)
+            );
+        } catch (Exception ex) {
+            logger.debug("Failed to extract customer name from blob: {}", blobName, ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Extracts the filename portion from a full blob path.
+     *
+     * @param blobName The full blob path
+     * @return The filename only
+     */
+    private static String extractFileName(String blobName) {
+        return blobName.substring(blobName.lastIndexOf('/') + 1);
+    }
+}
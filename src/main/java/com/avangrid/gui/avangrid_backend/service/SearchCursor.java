@@ -0,0 +1,108 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.exception.InvalidRequestException;
+import com.avangrid.gui.avangrid_backend.model.entitiybase.VpiCaptureView;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Opaque keyset pagination token for the search API.
+ *
+ * <p>Holds the sort key {@code (dateAdded, objectId)} of the last row returned on a page.
+ * The next page seeks strictly past that key instead of skipping an offset, so the
+ * database cost of a page does not grow with its depth.
+ *
+ * <p>Wire format: URL-safe Base64 of {@code <epochMicros>:<objectId>}. Microsecond
+ * precision matches PostgreSQL {@code timestamptz} so the seek never skips or repeats rows.
+ */
+@Getter
+public final class SearchCursor {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * In-memory order matching the search sort ({@code dateAdded DESC, objectId DESC}).
+     *
+     * <p>UUIDs are compared as unsigned bytes, as PostgreSQL does, rather than with
+     * {@link UUID#compareTo}, so rows merged in memory line up with a database seek.
+     */
+    public static final Comparator<VpiCaptureView> DESCENDING_ORDER =
+            Comparator.comparing(VpiCaptureView::getDateAdded,
+                            Comparator.nullsLast(Comparator.<OffsetDateTime>reverseOrder()))
+                    .thenComparing(VpiCaptureView::getObjectId,
+                            Comparator.nullsLast(SearchCursor::compareUnsignedDescending));
+
+    private final OffsetDateTime dateAdded;
+    private final UUID objectId;
+
+    public SearchCursor(OffsetDateTime dateAdded, UUID objectId) {
+        this.dateAdded = dateAdded;
+        this.objectId = objectId;
+    }
+
+    /**
+     * Builds a cursor positioned on the given row.
+     *
+     * @param rec The last row of a page
+     * @return Cursor for the following page, or null if the row has no sort key
+     */
+    public static SearchCursor of(VpiCaptureView rec) {
+        if (rec == null || rec.getDateAdded() == null || rec.getObjectId() == null) {
+            return null;
+        }
+        return new SearchCursor(rec.getDateAdded(), rec.getObjectId());
+    }
+
+    /**
+     * Compares two UUIDs in descending PostgreSQL {@code uuid} order.
+     */
+    private static int compareUnsignedDescending(UUID a, UUID b) {
+        int high = Long.compareUnsigned(b.getMostSignificantBits(), a.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(b.getLeastSignificantBits(), a.getLeastSignificantBits());
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return URL-safe token string
+     */
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, dateAdded.toInstant());
+        String raw = Long.toString(micros) + SEPARATOR + objectId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The opaque token
+     * @return Decoded cursor
+     * @throws InvalidRequestException if the token is malformed
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep <= 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+
+            long micros = Long.parseLong(raw.substring(0, sep));
+            UUID objectId = UUID.fromString(raw.substring(sep + 1));
+            OffsetDateTime dateAdded = Instant.EPOCH.plus(micros, ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+
+            return new SearchCursor(dateAdded, objectId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid pagination cursor", e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.exception.TranscodeCapacityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for ffmpeg processes.
+ *
+ * <p>At most {@code transcode.max-concurrent} conversions run at once (default: the
+ * container's available processors). Further requests wait in a queue of at most
+ * {@code transcode.max-queued}, each until its own deadline or, without one, for up to
+ * {@code transcode.queue-timeout-ms}. When the queue is full, or a request's wait runs out,
+ * it is rejected with
+ * {@link TranscodeCapacityException}, which becomes {@code 429} with {@code Retry-After}, so
+ * a burst of plays cannot starve the rest of the service of CPU.
+ *
+ * <p>Metrics: gauges {@code vpi.transcode.active} and {@code vpi.transcode.queue.depth},
+ * timers {@code vpi.transcode.wait} and {@code vpi.transcode.run}, and counter
+ * {@code vpi.transcode.rejected} tagged {@code reason=queue-full|timeout}.
+ */
+@Component
+public class TranscodeScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranscodeScheduler.class);
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutMs;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public TranscodeScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${transcode.max-concurrent:0}") int maxConcurrent,
+            @Value("${transcode.max-queued:-1}") int maxQueued,
+            @Value("${transcode.queue-timeout-ms:10000}") long queueTimeoutMs) {
+
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.maxQueued = maxQueued >= 0 ? maxQueued : 2 * this.maxConcurrent;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.permits = new Semaphore(this.maxConcurrent, true);
+
+        this.waitTimer = Timer.builder("vpi.transcode.wait")
+                .description("Time conversions waited for an ffmpeg slot")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("vpi.transcode.run")
+                .description("Time an ffmpeg slot was held")
+                .register(meterRegistry);
+        this.rejectedQueueFull = rejectedCounter(meterRegistry, "queue-full");
+        this.rejectedTimeout = rejectedCounter(meterRegistry, "timeout");
+        Gauge.builder("vpi.transcode.active", this, TranscodeScheduler::activeCount)
+                .description("Running ffmpeg conversions")
+                .register(meterRegistry);
+        Gauge.builder("vpi.transcode.queue.depth", queued, AtomicInteger::get)
+                .description("Conversions waiting for an ffmpeg slot")
+                .register(meterRegistry);
+
+        logger.info("Transcode scheduler: {} concurrent, {} queued, {} ms queue timeout",
+                this.maxConcurrent, this.maxQueued, queueTimeoutMs);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("vpi.transcode.rejected")
+                .description("Conversions rejected for lack of capacity")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Waits for an ffmpeg slot for up to {@code transcode.queue-timeout-ms}.
+     *
+     * @return Slot to close once the process has exited
+     * @throws TranscodeCapacityException if the queue is full or the wait times out
+     */
+    public Slot acquire() {
+        return acquire(defaultDeadline());
+    }
+
+    /**
+     * Waits for an ffmpeg slot until {@code deadline}, so a caller can stop queueing when
+     * its own request would have timed out anyway. A deadline that has already passed still
+     * takes a free slot but does not queue.
+     *
+     * @param deadline Latest time to wait until, in {@link System#nanoTime()} units
+     * @return Slot to close once the process has exited
+     * @throws TranscodeCapacityException if the queue is full or the wait times out
+     */
+    public Slot acquire(long deadline) {
+        long start = System.nanoTime();
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return new Slot();
+        }
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            throw new TranscodeCapacityException("Too many recordings are being converted", retryAfterSeconds());
+        }
+
+        try {
+            if (!permits.tryAcquire(Math.max(deadline - start, 0L), TimeUnit.NANOSECONDS)) {
+                rejectedTimeout.increment();
+                throw new TranscodeCapacityException("Timed out waiting to convert recording", retryAfterSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranscodeCapacityException("Interrupted waiting to convert recording", retryAfterSeconds());
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return new Slot();
+    }
+
+    /**
+     * Deadline for a wait that starts now and lasts {@code transcode.queue-timeout-ms}.
+     *
+     * @return Deadline in {@link System#nanoTime()} units
+     */
+    public long defaultDeadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+    }
+
+    /**
+     * Estimates when a slot will be free: the mean conversion time for each queued request
+     * per slot, at least one second.
+     */
+    private long retryAfterSeconds() {
+        double meanSeconds = runTimer.mean(TimeUnit.SECONDS);
+        double estimate = meanSeconds * (queued.get() + 1) / maxConcurrent;
+        return Math.max(1, (long) Math.ceil(estimate));
+    }
+
+    private double activeCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * A held ffmpeg slot. Closing it more than once has no further effect.
+     */
+    public final class Slot implements AutoCloseable {
+
+        private final long acquiredAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                runTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * MP3 output of a running ffmpeg process, read directly as a response body.
+ *
+ * <p>Bytes come straight from ffmpeg's stdout while the WAV is still being pumped into its
+ * stdin, so the client receives audio before the conversion finishes. Output can be copied
+ * to a cache file as it passes through; the file is handed to the cache sink only when the
+ * conversion completes successfully.
+ *
+ * <p>At end of stream the pump and the process exit code are checked, and a failed
+ * conversion surfaces as an {@link IOException}, which aborts the response. Closing the
+ * stream early, such as on a client disconnect, kills the process and discards the file.
+ */
+final class TranscodeStream extends InputStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranscodeStream.class);
+
+    private final Process process;
+    private final InputStream stdout;
+    private final CompletableFuture<Void> pump;
+    private final CompletableFuture<String> errors;
+    private final long timeoutSeconds;
+    private final Path cacheFile;
+    private final Consumer<Path> cacheSink;
+    private OutputStream cacheOut;
+
+    private long bytesRead;
+    private boolean completed;
+    private boolean closed;
+
+    /**
+     * @param process Running ffmpeg process
+     * @param pump Task writing the WAV to the process stdin
+     * @param errors Task collecting the process stderr
+     * @param timeoutSeconds Limit on the whole conversion
+     * @param watchdogExecutor Executor that kills the process when the limit passes
+     * @param cacheFile File to copy the output to (nullable)
+     * @param cacheSink Takes ownership of {@code cacheFile} once complete (nullable)
+     */
+    TranscodeStream(Process process,
+                    CompletableFuture<Void> pump,
+                    CompletableFuture<String> errors,
+                    long timeoutSeconds,
+                    Executor watchdogExecutor,
+                    Path cacheFile,
+                    Consumer<Path> cacheSink) {
+        this.process = process;
+        this.stdout = process.getInputStream();
+        this.pump = pump;
+        this.errors = errors;
+        this.timeoutSeconds = timeoutSeconds;
+        this.cacheFile = cacheFile;
+        this.cacheSink = cacheSink;
+        this.cacheOut = openCacheFile(cacheFile);
+
+        CompletableFuture.delayedExecutor(timeoutSeconds, TimeUnit.SECONDS, watchdogExecutor).execute(() -> {
+            if (process.isAlive()) {
+                logger.warn("Streaming conversion timed out after {} seconds", timeoutSeconds);
+                process.destroyForcibly();
+            }
+        });
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (completed) {
+            return -1;
+        }
+
+        int count = stdout.read(buffer, offset, length);
+        if (count == -1) {
+            complete();
+            return -1;
+        }
+
+        bytesRead += count;
+        copyToCache(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (!completed && process.isAlive()) {
+            process.destroyForcibly();
+            logger.debug("FFmpeg process destroyed after {} bytes streamed", bytesRead);
+        }
+        closeCacheFile();
+        if (!completed && cacheFile != null) {
+            Files.deleteIfExists(cacheFile);
+        }
+        stdout.close();
+    }
+
+    /**
+     * Verifies the conversion once ffmpeg's stdout is exhausted and publishes the cache file.
+     */
+    private void complete() throws IOException {
+        int exitCode;
+        String stderr;
+        try {
+            exitCode = process.waitFor();
+            pump.get(timeoutSeconds, TimeUnit.SECONDS);
+            stderr = errors.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Conversion interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Conversion input failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Conversion did not finish", e);
+        }
+
+        if (exitCode != 0) {
+            throw new IOException(String.format("FFmpeg failed (exit %d): %s", exitCode, stderr));
+        }
+        if (!stderr.isEmpty()) {
+            logger.warn("FFmpeg warnings: {}", stderr);
+        }
+
+        completed = true;
+        logger.info("Streaming conversion successful: {} bytes MP3", bytesRead);
+
+        if (cacheOut != null && closeCacheFile()) {
+            cacheSink.accept(cacheFile);
+        } else if (cacheFile != null) {
+            Files.deleteIfExists(cacheFile);
+        }
+    }
+
+    private OutputStream openCacheFile(Path file) {
+        if (file == null) {
+            return null;
+        }
+        try {
+            return new BufferedOutputStream(Files.newOutputStream(file));
+        } catch (IOException e) {
+            logger.warn("Failed to open MP3 cache file {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Copies output to the cache file. A write failure only stops caching, never the response.
+     */
+    private void copyToCache(byte[] buffer, int offset, int count) {
+        if (cacheOut == null) {
+            return;
+        }
+        try {
+            cacheOut.write(buffer, offset, count);
+        } catch (IOException e) {
+            logger.warn("Failed to write MP3 cache file {}; caching skipped", cacheFile, e);
+            closeCacheFile();
+        }
+    }
+
+    /**
+     * @return true if the cache file was open and is now fully written
+     */
+    private boolean closeCacheFile() {
+        if (cacheOut == null) {
+            return false;
+        }
+        try {
+            cacheOut.close();
+            return true;
+        } catch (IOException e) {
+            logger.debug("Failed to close MP3 cache file {}", cacheFile, e);
+            return false;
+        } finally {
+            cacheOut = null;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.model.entitiybase.VpiUsersBase;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory snapshot of one OPCO's {@code vpicore.vpusers} table.
+ *
+ * <p>Holds an id-to-name map and a trigram inverted index over the lower-cased full
+ * names. A substring lookup intersects the posting lists of the needle's trigrams and
+ * then verifies the few remaining candidates, giving the same result as
+ * {@code lower(fullname) like '%needle%'} without scanning every user. Needles shorter
+ * than a trigram fall back to a scan of the name array.
+ */
+public final class UserDirectory {
+
+    private static final int GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final UUID[] ids;
+    private final String[] lowerNames;
+    private final Map<UUID, String> namesById;
+    private final Map<String, int[]> postings;
+
+    private UserDirectory(UUID[] ids, String[] lowerNames, Map<UUID, String> namesById,
+                          Map<String, int[]> postings) {
+        this.ids = ids;
+        this.lowerNames = lowerNames;
+        this.namesById = namesById;
+        this.postings = postings;
+    }
+
+    /**
+     * Builds a directory from user entities. Users without an id or name are skipped.
+     *
+     * @param users User rows
+     * @return Directory snapshot
+     */
+    public static UserDirectory of(Collection<? extends VpiUsersBase> users) {
+        Map<UUID, String> namesById = new HashMap<>(users.size() * 2);
+        for (VpiUsersBase user : users) {
+            if (user.getUserId() != null && user.getFullName() != null) {
+                namesById.put(user.getUserId(), user.getFullName());
+            }
+        }
+
+        int size = namesById.size();
+        UUID[] ids = new UUID[size];
+        String[] lowerNames = new String[size];
+        Map<String, List<Integer>> building = new HashMap<>();
+
+        int index = 0;
+        for (Map.Entry<UUID, String> entry : namesById.entrySet()) {
+            String lower = entry.getValue().toLowerCase(Locale.ROOT);
+            ids[index] = entry.getKey();
+            lowerNames[index] = lower;
+
+            // Names are indexed in order, so each posting list stays sorted and distinct
+            for (String gram : grams(lower)) {
+                List<Integer> list = building.computeIfAbsent(gram, g -> new ArrayList<>());
+                if (list.isEmpty() || list.getLast() != index) {
+                    list.add(index);
+                }
+            }
+            index++;
+        }
+
+        Map<String, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((gram, list) ->
+                postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new UserDirectory(ids, lowerNames, Collections.unmodifiableMap(namesById), postings);
+    }
+
+    /**
+     * Finds users whose full name contains any of the given values, case-insensitively.
+     *
+     * @param names Substrings to match
+     * @return Matching user IDs
+     */
+    public Set<UUID> findIdsByNameContainsAny(Collection<String> names) {
+        Set<UUID> matched = new HashSet<>();
+        for (String name : names) {
+            if (name == null || name.isEmpty()) {
+                continue;
+            }
+            String needle = name.toLowerCase(Locale.ROOT);
+            if (needle.length() < GRAM) {
+                scan(needle, matched);
+            } else {
+                lookup(needle, matched);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Resolves full names for the given user IDs. IDs not in the directory are omitted.
+     *
+     * @param userIds User IDs
+     * @return Map of user ID to full name
+     */
+    public Map<UUID, String> findNames(Collection<UUID> userIds) {
+        Map<UUID, String> names = new HashMap<>(userIds.size() * 2);
+        for (UUID id : userIds) {
+            String name = namesById.get(id);
+            if (name != null) {
+                names.put(id, name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return Number of users in the snapshot
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    private void scan(String needle, Set<UUID> matched) {
+        for (int i = 0; i < lowerNames.length; i++) {
+            if (lowerNames[i].contains(needle)) {
+                matched.add(ids[i]);
+            }
+        }
+    }
+
+    private void lookup(String needle, Set<UUID> matched) {
+        List<int[]> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            int[] list = postings.getOrDefault(gram, NO_POSTINGS);
+            if (list.length == 0) {
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists.getFirst();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+
+        // Trigrams present in any order are not enough; confirm the actual substring
+        for (int candidate : candidates) {
+            if (lowerNames[candidate].contains(needle)) {
+                matched.add(ids[candidate]);
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,94 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.infra.cmp.repository.VpiCmpUserRepo;
+import com.avangrid.gui.avangrid_backend.infra.generic.VpiUserRepo;
+import com.avangrid.gui.avangrid_backend.infra.nyseg.repository.VpiNysegUserRepo;
+import com.avangrid.gui.avangrid_backend.infra.rge.repository.VpiRgeUserRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link UserDirectory} per enabled OPCO and reloads it periodically.
+ *
+ * <p>The first load runs on the scheduler thread right after startup. Until an OPCO has
+ * loaded, or when {@code users.directory.enabled=false}, {@link #find} returns empty and
+ * callers fall back to the database queries. A failed refresh keeps the previous snapshot.
+ */
+@Service
+public class UserDirectoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDirectoryService.class);
+
+    private static final String CMP = "CMP";
+    private static final String NYSEG = "NYSEG";
+    private static final String RGE = "RGE";
+
+    @Value("${users.directory.enabled:true}")
+    private boolean enabled;
+
+    private final Map<String, VpiUserRepo<?>> userRepos = new LinkedHashMap<>();
+    private final Map<String, UserDirectory> directories = new ConcurrentHashMap<>();
+
+    /**
+     * @param cmpUserRepo CMP user repository (optional)
+     * @param nysegUserRepo NYSEG user repository (optional)
+     * @param rgeUserRepo RGE user repository (optional)
+     */
+    public UserDirectoryService(
+            @Autowired(required = false) VpiCmpUserRepo cmpUserRepo,
+            @Autowired(required = false) VpiNysegUserRepo nysegUserRepo,
+            @Autowired(required = false) VpiRgeUserRepo rgeUserRepo) {
+        if (cmpUserRepo != null) {
+            userRepos.put(CMP, cmpUserRepo);
+        }
+        if (nysegUserRepo != null) {
+            userRepos.put(NYSEG, nysegUserRepo);
+        }
+        if (rgeUserRepo != null) {
+            userRepos.put(RGE, rgeUserRepo);
+        }
+    }
+
+    /**
+     * Returns the loaded directory of an OPCO.
+     *
+     * @param opco OPCO code (case-insensitive)
+     * @return Directory, or empty if disabled or not loaded yet
+     */
+    public Optional<UserDirectory> find(String opco) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(directories.get(opco.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Reloads every enabled OPCO's directory from its user table.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${users.directory.refresh-ms:300000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        userRepos.forEach(this::refresh);
+    }
+
+    private void refresh(String opco, VpiUserRepo<?> repo) {
+        try {
+            long start = System.nanoTime();
+            UserDirectory directory = UserDirectory.of(repo.findAll());
+            directories.put(opco, directory);
+            logger.debug("Loaded {} users for {} in {} ms",
+                    directory.size(), opco, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh user directory for {}; keeping previous snapshot", opco, e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.model.common.VpiMetadata;
+import com.avangrid.gui.avangrid_backend.model.entitiybase.VpiCaptureView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maps capture rows to the search response DTO and to the full metadata map.
+ */
+final class VpiMetadataMapper {
+
+    private VpiMetadataMapper() {
+    }
+
+    /**
+     * Builds a comprehensive metadata map from a recording entity.
+     *
+     * @param rec The recording entity
+     * @return Map containing all metadata fields
+     */
+    static Map<String, Object> buildMetadataMap(VpiCaptureView rec) {
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        addIdentifierFields(map, rec);
+        addTimingFields(map, rec);
+        addTriggerAndTagFields(map, rec);
+        addChannelAndAgentFields(map, rec);
+        addMediaFields(map, rec);
+        addCallIdFields(map, rec);
+        addServiceFields(map, rec);
+        addTranscriptionFields(map, rec);
+
+        return map;
+    }
+
+    /**
+     * Adds identifier fields to metadata map.
+     */
+    private static void addIdentifierFields(Map<String, Object> map, VpiCaptureView rec) {
+        map.put("objectId", rec.getObjectId());
+        map.put("dateAdded", rec.getDateAdded());
+        map.put("resourceId", rec.getResourceId());
+        map.put("workstationId", rec.getWorkstationId());
+        map.put("userId", rec.getUserId());
+    }
+
+    /**
+     * Adds timing fields to metadata map.
+     */
+    private static void addTimingFields(Map<String, Object> map, VpiCaptureView rec) {
+        map.put("startTime", rec.getStartTime());
+        map.put("gmtOffset", rec.getGmtOffset());
+        map.put("gmtStartTime", rec.getGmtStartTime());
+        map.put("duration", rec.getDuration());
+    }
+
+    /**
+     * Adds trigger and tag fields to metadata map.
+     */
+    private static void addTriggerAndTagFields(Map<String, Object> map, VpiCaptureView rec) {
+        map.put("triggeredByResourceTypeId", rec.getTriggeredByResourceTypeId());
+        map.put("triggeredByObjectId", rec.getTriggeredByObjectId());
+        map.put("flagId", rec.getFlagId());
+        map.put("tags", rec.getTags());
+        map.put("sensitivityLevel", rec.getSensitivityLevel());
+        map.put("clientId", rec.getClientId());
+    }
+
+    /**
+     * Adds channel and agent fields to metadata map.
+     */
+    private static void addChannelAndAgentFields(Map<String, Object> map, VpiCaptureView rec) {
+        map.put("channelNum", rec.getChannelNum());
+        map.put("channelName", rec.getChannelName());
+        map.put("extensionNum", rec.getExtensionNum());
+        map.put("agentId", rec.getAgentId());
+        map.put("pbxDnis", rec.getPbxDnis());
+        map.put("anialidigits", rec.getAnialidigits());
+        map.put("direction", rec.getDirection());
+    }
+
+    /**
+     * Adds media fields to metadata map.
+     */
+    private static void addMediaFields(Map<String, Object> map, VpiCaptureView rec) {
+        map.put("mediaFileId", rec.getMediaFileId());
+        map.put("mediaManagerId", rec.getMediaManagerId());
+        map.put("mediaRetention", rec.getMediaRetention());
+    }
+
+    /**
+     * Adds call ID fields to metadata map.
+     */
+    private static void addCallIdFields(Map<String, Object> map, VpiCaptureView rec) {
+        map.put("callId", rec.getCallId());
+        map.put("previousCallId", rec.getPreviousCallId());
+        map.put("globalCallId", rec.getGlobalCallId());
+    }
+
+    /**
+     * Adds service fields to metadata map.
+     */
+    private static void addServiceFields(Map<String, Object> map, VpiCaptureView rec) {
+        map.put("classOfService", rec.getClassOfService());
+        map.put("classOfServiceDate", rec.getClassOfServiceDate());
+        map.put("xPlatformRef", rec.getXPlatformRef());
+    }
+
+    /**
+     * Adds transcription fields to metadata map.
+     */
+    private static void addTranscriptionFields(Map<String, Object> map, VpiCaptureView rec) {
+        map.put("transcriptResult", rec.getTranscriptResult());
+        map.put("warehouseObjectKey", rec.getWarehouseObjectKey());
+        map.put("transcriptStatus", rec.getTranscriptStatus());
+        map.put("audioChannels", rec.getAudioChannels());
+        map.put("hasTalkover", rec.getHasTalkover());
+    }
+
+    /**
+     * Converts a recording entity to a VpiMetadata DTO.
+     *
+     * @param rec The recording entity
+     * @param opco OPCO code
+     * @param userNameMap Map of user IDs to names
+     * @return VpiMetadata DTO
+     */
+    static VpiMetadata convertToMetadata(
+            VpiCaptureView rec,
+            String opco,
+            Map<UUID, String> userNameMap) {
+
+        VpiMetadata dto = new VpiMetadata();
+
+        dto.setObjectId(rec.getObjectId());
+        dto.setDateAdded(VpiRecordingService.toXmlStartTime(rec.getDateAdded()));
+        dto.setStartTime(VpiRecordingService.toXmlStartTime(rec.getStartTime()));
+        dto.setDuration(rec.getDuration());
+        dto.setTags(rec.getTags());
+        dto.setChannelName(rec.getChannelName());
+        dto.setCallId(rec.getCallId());
+        dto.setUserId(rec.getUserId());
+        dto.setAgentId(rec.getAgentId());
+        dto.setExtensionNum(rec.getExtensionNum());
+        dto.setChannelNum(rec.getChannelNum());
+        dto.setAniAliDigits(rec.getAnialidigits());
+        dto.setUsername(userNameMap.get(rec.getUserId()));
+        dto.setDirection(rec.getDirection());
+        dto.setOpco(opco);
+
+        return dto;
+    }
+}
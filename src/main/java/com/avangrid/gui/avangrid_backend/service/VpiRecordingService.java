@@ -3,6 +3,7 @@ package com.avangrid.gui.avangrid_backend.service;
 import com.avangrid.gui.avangrid_backend.exception.InvalidRequestException;
 import com.avangrid.gui.avangrid_backend.exception.RecordingNotFoundException;
 import com.avangrid.gui.avangrid_backend.exception.RecordingProcessingException;
+import com.avangrid.gui.avangrid_backend.exception.TranscodeCapacityException;
 import com.avangrid.gui.avangrid_backend.infra.cmp.entity.VpiCaptureCmp;
 import com.avangrid.gui.avangrid_backend.infra.cmp.entity.VpiUsersCmp;
 import com.avangrid.gui.avangrid_backend.infra.cmp.repository.VpiCmpRepo;
@@ -15,9 +16,14 @@ import com.avangrid.gui.avangrid_backend.infra.rge.entity.VpiCaptureRge;
 import com.avangrid.gui.avangrid_backend.infra.rge.entity.VpiUsersRge;
 import com.avangrid.gui.avangrid_backend.infra.rge.repository.VpiRgeRepo;
 import com.avangrid.gui.avangrid_backend.infra.rge.repository.VpiRgeUserRepo;
-import com.avangrid.gui.avangrid_backend.infra.azure.AzureBlobRepository;
+import com.avangrid.gui.avangrid_backend.infra.azure.BlobListingCache;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStore;
+import com.avangrid.gui.avangrid_backend.infra.blob.BlobStream;
+import com.avangrid.gui.avangrid_backend.model.common.CountMode;
+import com.avangrid.gui.avangrid_backend.model.common.ExportFormat;
 import com.avangrid.gui.avangrid_backend.model.common.MediaMetadata;
 import com.avangrid.gui.avangrid_backend.model.common.RecordingStatus;
+import com.avangrid.gui.avangrid_backend.model.common.SearchPage;
 import com.avangrid.gui.avangrid_backend.model.common.VpiMetadata;
 import com.avangrid.gui.avangrid_backend.model.common.ZipStatusSummary;
 import com.avangrid.gui.avangrid_backend.model.dto.request.PaginationRequest;
@@ -27,6 +33,8 @@ import com.avangrid.gui.avangrid_backend.model.dto.request.VpiSearchRequest;
 import com.avangrid.gui.avangrid_backend.model.dto.response.PaginationResponse;
 import com.avangrid.gui.avangrid_backend.model.common.RecordingSearchResult;
 import com.avangrid.gui.avangrid_backend.model.dto.response.VpiSearchResponse;
+import com.avangrid.gui.avangrid_backend.infra.generic.VpiCaptureRepository;
+import com.avangrid.gui.avangrid_backend.model.entitiybase.VpiCaptureBase;
 import com.avangrid.gui.avangrid_backend.model.entitiybase.VpiCaptureView;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -34,7 +42,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpHeaders;
@@ -42,11 +53,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -54,11 +69,19 @@ import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -96,18 +119,30 @@ public class VpiRecordingService {
     private static final String RGE = "RGE";
     private static final int DEFAULT_PAGE_SIZE = 20;
     private static final int MIN_PAGE_NUMBER = 1;
+    private static final String SORT_DATE_ADDED = "dateAdded";
+    private static final String SORT_OBJECT_ID = "objectId";
+    private static final Sort KEYSET_SORT =
+            Sort.by(SORT_DATE_ADDED).descending().and(Sort.by(SORT_OBJECT_ID).descending());
+    private static final long UNKNOWN_TOTAL = -1L;
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("rows=(\\d+)");
     private static final String STATUS_SUCCESS = "200";
     private static final String MESSAGE_SUCCESS = "Success";
     private static final Set<String> ALLOWED_OPCOS = Set.of(RGE, CMP, NYSEG);
+    private static final String ALL_OPCOS = "ALL";
+    private static final List<String> FEDERATED_OPCO_ORDER = List.of(CMP, NYSEG, RGE);
+    private static final int FEDERATED_MAX_WINDOW = 5000;
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final String TRANSACTION_MANAGER_SUFFIX = "TransactionManager";
+    private static final List<String> EXPORT_CSV_COLUMNS = List.of(
+            "objectId", "dateAdded", "startTime", "duration", "opco", "userId", "username",
+            "agentId", "extensionNum", "channelNum", "channelName", "aniAliDigits",
+            "direction", "callId", "tags");
 
     private static final String WAV_EXTENSION = ".wav";
-    private static final String MP3_EXTENSION = ".mp3";
-    private static final int FILENAME_CUSTOMER_START = 24;
-    private static final int FILENAME_DATETIME_START = 5;
-    private static final int FILENAME_DATETIME_END = 24;
 
     private static final int CONVERSION_TIMEOUT_SECONDS = 120;
     private static final int BUFFER_SIZE = 8192;
+    private static final String ZIP_STAGING_PREFIX = "vpi-zip-";
 
     private static final String STATUS_NOT_FOUND = "NOT_FOUND";
     private static final String STATUS_ERROR = "ERROR";
@@ -119,7 +154,22 @@ public class VpiRecordingService {
     @Value("${ffmpeg.path:ffmpeg}")
     private String ffmpegPath;
 
-    private final AzureBlobRepository vpiAzureRepository;
+    @Value("${search.federated.timeout-ms:15000}")
+    private long federatedTimeoutMs;
+
+    @Value("${search.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Value("${recording.streaming.enabled:true}")
+    private boolean streamingEnabled;
+
+    @Value("${recording.transcode-deadline-ms:${transcode.queue-timeout-ms:10000}}")
+    private long transcodeDeadlineMs;
+
+    @Value("${download.parallelism:4}")
+    private int downloadParallelism;
+
+    private final BlobStore blobStore;
     private final VpiCmpRepo cmpRepo;
     private final VpiNysegRepo nysegRepo;
     private final VpiRgeRepo rgeRepo;
@@ -127,11 +177,22 @@ public class VpiRecordingService {
     private final VpiNysegUserRepo nysegUserRepo;
     private final VpiCmpUserRepo cmpUserRepo;
     private final XmlMediaParser xmlParser;
+    private final ExecutorService searchExecutor;
+    private final ExecutorService downloadExecutor;
+    private final ExecutorService processIoExecutor;
+    private final Map<String, PlatformTransactionManager> transactionManagers;
+    private final UserDirectoryService userDirectoryService;
+    private final BlobListingCache blobListingCache;
+    private final MediaMetadataCache mediaMetadataCache;
+    private final Mp3DiskCache mp3DiskCache;
+    private final TranscodeScheduler transcodeScheduler;
+    private final DirectBlobLookup directBlobLookup;
+    private final ObjectMapper exportMapper = new ObjectMapper();
 
     /**
      * Constructs a new VpiRecordingService with the required dependencies.
      *
-     * @param vpiAzureRepository Azure blob storage repository for recording files
+     * @param blobStore Blob storage of recording files
      * @param cmpRepo CMP database repository (optional)
      * @param nysegRepo NYSEG database repository (optional)
      * @param rgeRepo RGE database repository (optional)
@@ -139,17 +200,37 @@ public class VpiRecordingService {
      * @param nysegUserRepo NYSEG user repository (optional)
      * @param rgeUserRepo RGE user repository (optional)
      * @param xmlParser XML metadata parser
+     * @param searchExecutor Executor for concurrent search queries
+     * @param downloadExecutor Executor for resolving and fetching bulk download items
+     * @param processIoExecutor Executor for FFmpeg pipe pumps
+     * @param transactionManagers Per-OPCO transaction managers by bean name (optional)
+     * @param userDirectoryService In-memory user directories for name lookups
+     * @param blobListingCache Cache of day-prefix blob listings
+     * @param mediaMetadataCache Cache of parsed XML metadata files
+     * @param mp3DiskCache Local disk cache of transcoded recordings
+     * @param transcodeScheduler Admission control for FFmpeg processes
+     * @param directBlobLookup Point lookup of NYSEG/RGE recording blobs
      */
     public VpiRecordingService(
-            AzureBlobRepository vpiAzureRepository,
+            BlobStore blobStore,
             @Autowired(required = false) VpiCmpRepo cmpRepo,
             @Autowired(required = false) VpiNysegRepo nysegRepo,
             @Autowired(required = false) VpiRgeRepo rgeRepo,
             @Autowired(required = false) VpiCmpUserRepo cmpUserRepo,
             @Autowired(required = false) VpiNysegUserRepo nysegUserRepo,
             @Autowired(required = false) VpiRgeUserRepo rgeUserRepo,
-            @Autowired XmlMediaParser xmlParser) {
-        this.vpiAzureRepository = vpiAzureRepository;
+            @Autowired XmlMediaParser xmlParser,
+            @Qualifier("searchExecutor") ExecutorService searchExecutor,
+            @Qualifier("downloadExecutor") ExecutorService downloadExecutor,
+            @Qualifier("processIoExecutor") ExecutorService processIoExecutor,
+            @Autowired(required = false) Map<String, PlatformTransactionManager> transactionManagers,
+            UserDirectoryService userDirectoryService,
+            BlobListingCache blobListingCache,
+            MediaMetadataCache mediaMetadataCache,
+            Mp3DiskCache mp3DiskCache,
+            TranscodeScheduler transcodeScheduler,
+            DirectBlobLookup directBlobLookup) {
+        this.blobStore = blobStore;
         this.cmpRepo = cmpRepo;
         this.nysegRepo = nysegRepo;
         this.rgeRepo = rgeRepo;
@@ -157,6 +238,16 @@ public class VpiRecordingService {
         this.nysegUserRepo = nysegUserRepo;
         this.cmpUserRepo = cmpUserRepo;
         this.xmlParser = xmlParser;
+        this.searchExecutor = searchExecutor;
+        this.downloadExecutor = downloadExecutor;
+        this.processIoExecutor = processIoExecutor;
+        this.transactionManagers = transactionManagers != null ? transactionManagers : Collections.emptyMap();
+        this.userDirectoryService = userDirectoryService;
+        this.blobListingCache = blobListingCache;
+        this.mediaMetadataCache = mediaMetadataCache;
+        this.mp3DiskCache = mp3DiskCache;
+        this.transcodeScheduler = transcodeScheduler;
+        this.directBlobLookup = directBlobLookup;
     }
 
     // ========== Public API Methods ==========
@@ -171,6 +262,9 @@ public class VpiRecordingService {
      *   <li>Custom filters (tags, channels, etc.)</li>
      *   <li>User name filtering</li>
      *   <li>Pagination with configurable page size</li>
+     *   <li>Keyset (cursor) pagination via {@code pagination.cursor}</li>
+     *   <li>Selectable total count strategy via {@code countMode}</li>
+     *   <li>Federated search across several OPCOs via {@code opcos} or {@code opco = ALL}</li>
      * </ul>
      *
      * @param request Search request containing date range, OPCO, filters, and pagination
@@ -191,7 +285,13 @@ public class VpiRecordingService {
         }
 
         Pageable pageable = createPageable(request.getPagination());
-        Page<VpiMetadata> pageResult = search(from, to, request.getOpco(), request.getFilters(), pageable);
+        SearchCursor cursor = parseCursor(request.getPagination());
+        CountMode countMode = request.getCountMode() != null ? request.getCountMode() : CountMode.EXACT;
+
+        SearchPage pageResult = isFederated(request)
+                ? searchFederated(from, to, resolveFederatedOpcos(request), request.getFilters(),
+                        pageable, cursor, countMode)
+                : search(from, to, request.getOpco(), request.getFilters(), pageable, cursor, countMode);
 
         return buildSearchResponse(pageResult);
     }
@@ -236,27 +336,66 @@ public class VpiRecordingService {
      * <ol>
      *   <li>Validates the request parameters</li>
      *   <li>Searches for the recording in Azure blob storage</li>
-     *   <li>Downloads the WAV file</li>
-     *   <li>Converts to MP3 using FFmpeg</li>
+     *   <li>Serves the MP3 from the local disk cache if present</li>
+     *   <li>Otherwise converts the WAV to MP3 using FFmpeg</li>
      *   <li>Returns as a streamable response</li>
      * </ol>
      *
+     * <p>With {@code recording.streaming.enabled} (the default) the blob is piped into FFmpeg
+     * as it downloads and FFmpeg's output is sent to the client as it is produced, using
+     * chunked transfer. Conversion failures after that point abort the response instead of
+     * returning an error body. Otherwise the WAV and MP3 are fully buffered in memory.
+     *
+     * <p>Byte ranges (RFC 7233) are served with {@code 206 Partial Content} from the cached
+     * MP3. A range request for a recording that is not cached first transcodes it into the
+     * cache, so later seeks transfer only the requested bytes. A range that starts at byte 0
+     * and is open-ended is the same as the full body and is streamed as {@code 200}, as is
+     * any range request the cache cannot hold or that does not parse. Streamed bodies are
+     * never ranged; see {@link AudioResponses}.
+     *
+     * <p>A conversion waits for an FFmpeg slot until {@code recording.transcode-deadline-ms}
+     * after the request arrived, so time spent finding the blob counts against the wait.
+     *
      * @param request Recording request with filename, OPCO, date, and optional filters
+     * @param range The {@code Range} header (nullable)
      * @return ResponseEntity containing MP3 audio data with appropriate headers
      * @throws InvalidRequestException if request parameters are invalid
      * @throws RecordingNotFoundException if recording is not found in storage
      * @throws RecordingProcessingException if download or conversion fails
+     * @throws TranscodeCapacityException if too many conversions are running or queued
      */
-    public ResponseEntity<ByteArrayResource> getRecordingVpi(RecordingRequest request) {
+    public ResponseEntity<Resource> getRecordingVpi(RecordingRequest request, String range) {
         logger.info("Retrieving recording for: {}", request.getUsername());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(transcodeDeadlineMs);
 
         validateRequest(request);
         RecordingSearchResult blobStatus = findRecordingVPI(request);
+        String blobName = blobStatus.getBlobName();
+        String profile = transcodeProfile();
+
+        Optional<Path> cached = mp3DiskCache.lookup(blobName, profile);
+        if (cached.isPresent()) {
+            logger.debug("Serving cached MP3 for blob: {}", blobName);
+            return AudioResponses.complete(new FileSystemResource(cached.get()), request.getUsername());
+        }
+
+        if (AudioResponses.isPartialRange(range)) {
+            Optional<Path> transcoded = transcodeIntoCache(blobName, profile, deadline);
+            if (transcoded.isPresent()) {
+                return AudioResponses.complete(new FileSystemResource(transcoded.get()), request.getUsername());
+            }
+            logger.debug("Range request for {} not cacheable; streaming full body", blobName);
+        }
+
+        if (streamingEnabled) {
+            return AudioResponses.streamed(streamWavToMp3(blobName, profile, deadline), request.getUsername());
+        }
 
-        byte[] wavData = downloadBlob(blobStatus.getBlobName());
-        byte[] mp3Data = convertWavToMp3(wavData);
+        byte[] wavData = downloadBlob(blobName);
+        byte[] mp3Data = convertWavToMp3(wavData, deadline);
+        mp3DiskCache.offer(blobName, profile, mp3Data);
 
-        return buildAudioResponse(mp3Data, request.getUsername());
+        return AudioResponses.complete(new ByteArrayResource(mp3Data), request.getUsername());
     }
 
     /**
@@ -276,53 +415,69 @@ public class VpiRecordingService {
      *   <li>status.json with detailed processing results</li>
      * </ul>
      *
+     * <p>The ZIP is streamed to the client, with status.json last. Up to
+     * {@code download.parallelism} recordings are resolved and fetched concurrently ahead of
+     * the writer, each into a temp file, and the writer adds them in request order, flushing
+     * each entry. Memory use per download does not grow with the batch. All requests are validated and
+     * recordings are resolved up to the first one found before the response is committed,
+     * so a batch with nothing to download still gets {@code 204 No Content}.
+     *
      * @param requests List of recording requests to download
-     * @return ResponseEntity containing ZIP file with all available recordings and status
-     * @throws InvalidRequestException if request list is empty
-     * @throws RecordingProcessingException if ZIP creation fails
-     */
-    public ResponseEntity<byte[]> downloadVpi(List<RecordingRequest> requests) {
-        if (requests == null || requests.isEmpty()) {
-            throw new InvalidRequestException("Request list cannot be empty");
+     * @return ResponseEntity whose body writes the ZIP when the container invokes it
+     * @throws InvalidRequestException if request list is empty or a request is invalid
+     */
+    public ResponseEntity<StreamingResponseBody> downloadVpi(List<RecordingRequest> requests) {
+        validateDownloadRequests(requests);
+
+        List<ZipItem> resolved = new ArrayList<>();
+        boolean found = false;
+        while (!found && resolved.size() < requests.size()) {
+            ZipItem item = resolveZipItem(requests.get(resolved.size()));
+            resolved.add(item);
+            found = item.failure() == null;
         }
 
-        List<RecordingStatus> statuses = new ArrayList<>();
-        int successCount = 0;
-        int failureCount = 0;
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             ZipOutputStream zos = new ZipOutputStream(baos)) {
-
-            for (RecordingRequest req : requests) {
-                RecordingStatus status = addRecordingToZip(req, zos);
-                statuses.add(status);
-
-                if (STATUS_RECORDING_SUCCESS.equals(status.getStatus())) {
-                    successCount++;
-                } else {
-                    failureCount++;
-                }
-            }
-
-            if (successCount == 0) {
-                logger.warn("No recordings successfully added to ZIP. Returning no content.");
-                return ResponseEntity.noContent().build();
-            }
+        if (!found) {
+            logger.warn("No recordings found for ZIP. Returning no content.");
+            return ResponseEntity.noContent().build();
+        }
 
-            ZipStatusSummary summary = new ZipStatusSummary(
-                    requests.size(),
-                    successCount,
-                    failureCount,
-                    statuses
-            );
-            addStatusFileToZip(summary, zos);
+        StreamingResponseBody body = out -> writeZip(requests, resolved, out, status -> { });
+        return buildZipResponse(body);
+    }
 
-            zos.finish();
-            logger.info("ZIP creation successful: {} successes, {} failures", successCount, failureCount);
-            return buildZipResponse(baos.toByteArray());
+    /**
+     * Writes a ZIP of recordings, with status.json last, to an output stream.
+     *
+     * <p>Same archive as {@link #downloadVpi}, for callers that write it somewhere other
+     * than the response, such as asynchronous download jobs. Unlike {@link #downloadVpi}, a
+     * batch with no recordings found still produces an archive holding only status.json.
+     *
+     * @param requests Validated recording requests (see {@link #validateDownloadRequests})
+     * @param out Stream to write the ZIP to
+     * @param progress Called with each item's status, in request order, after it is written
+     * @return Summary written to status.json
+     * @throws IOException if writing to {@code out} fails
+     */
+    public ZipStatusSummary writeRecordingsZip(List<RecordingRequest> requests,
+                                               OutputStream out,
+                                               Consumer<RecordingStatus> progress) throws IOException {
+        return writeZip(requests, Collections.emptyList(), out, progress);
+    }
 
-        } catch (IOException e) {
-            throw new RecordingProcessingException("Failed to create ZIP", e);
+    /**
+     * Validates a bulk download request list.
+     *
+     * @param requests Recording requests to download
+     * @throws InvalidRequestException if the list is empty or a request is invalid
+     */
+    public void validateDownloadRequests(List<RecordingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidRequestException("Request list cannot be empty");
+        }
+        for (RecordingRequest req : requests) {
+            validateRequest(req);
+            xmlStartTimeToFileTimestamp(req.getDate());
         }
     }
 
@@ -343,15 +498,19 @@ public class VpiRecordingService {
      * @param opco Operating company code
      * @param filters Additional search filters (nullable)
      * @param pageable Pagination information
+     * @param cursor Keyset position to seek past (nullable; offset paging when null)
+     * @param countMode Strategy for computing the total record count
      * @return Page of VpiMetadata results matching the criteria
      * @throws InvalidRequestException if OPCO is invalid
      */
-    public Page<VpiMetadata> search(
+    public SearchPage search(
             OffsetDateTime from,
             OffsetDateTime to,
             String opco,
             VpiFiltersRequest filters,
-            Pageable pageable) {
+            Pageable pageable,
+            SearchCursor cursor,
+            CountMode countMode) {
 
         logger.debug("Searching recordings for OPCO: {} from {} to {}", opco, from, to);
 
@@ -365,11 +524,78 @@ public class VpiRecordingService {
 
             if (matchedUserIds.isEmpty()) {
                 logger.debug("No users matched the name filter. Returning empty page.");
-                return Page.empty(pageable);
+                return toSearchPage(Page.empty(pageable), 0L, opco, countMode);
             }
         }
 
-        return performSearch(from, to, opco, filters, matchedUserIds, pageable);
+        CountMode effectiveMode = resolveCountMode(countMode, filters, matchedUserIds);
+        return performSearch(from, to, opco, filters, matchedUserIds, pageable, cursor, effectiveMode);
+    }
+
+    /**
+     * Streams every recording matching the search criteria as NDJSON or CSV.
+     *
+     * <p>Uses the same predicate as {@link #search}, but instead of paging it reads the
+     * result through a forward-only JDBC cursor ({@code search.export.fetch-size} rows per
+     * round trip) inside a read-only transaction. Usernames are resolved in batches of
+     * {@value #EXPORT_BATCH_SIZE} rows and each batch is flushed to the client as soon as it
+     * is written, so neither the rows nor the output are held in memory.
+     *
+     * <p>Validation and the name filter run before the response is committed, so bad
+     * requests still get a normal error response. Pagination and count settings in the
+     * request are ignored; federated requests are not supported.
+     *
+     * @param request Search request containing date range, OPCO and filters
+     * @param format Output format ({@code ndjson} or {@code csv})
+     * @return Response whose body writes the export when the container invokes it
+     * @throws InvalidRequestException if the request or format is invalid
+     */
+    public ResponseEntity<StreamingResponseBody> exportSearch(VpiSearchRequest request, String format) {
+        logger.debug("Exporting search results for request: {}", request);
+
+        ExportFormat exportFormat = parseExportFormat(format);
+        validateSearchRequest(request);
+
+        if (isFederated(request)) {
+            throw new InvalidRequestException("Export supports a single OPCO per request");
+        }
+
+        OffsetDateTime from = parseDateTime(request.getFromDate()).atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = parseDateTime(request.getToDate()).atOffset(ZoneOffset.UTC);
+
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("End date must be after start date");
+        }
+
+        String opco = request.getOpco().trim().toUpperCase(Locale.ROOT);
+        VpiFiltersRequest filters = request.getFilters();
+        PlatformTransactionManager transactionManager = resolveTransactionManager(opco);
+
+        Optional<Set<UUID>> userFilter =
+                resolveUserFilter(opco, cleanNames(filters != null ? filters.getName() : null));
+
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            if (exportFormat == ExportFormat.CSV) {
+                writer.write(String.join(",", EXPORT_CSV_COLUMNS));
+                writer.write('\n');
+            }
+            if (userFilter.isPresent()) {
+                long rows = writeExport(opco, from, to, filters, userFilter.get(),
+                        transactionManager, exportFormat, writer);
+                logger.info("Exported {} {} rows for OPCO {}", rows, exportFormat, opco);
+            } else {
+                logger.debug("No users matched the name filter. Exporting no rows.");
+            }
+            writer.flush();
+        };
+
+        String filename = "vpi-export-" + opco.toLowerCase(Locale.ROOT) + exportFormat.getExtension();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(body);
     }
 
     /**
@@ -391,15 +617,30 @@ public class VpiRecordingService {
      * @return MP3 encoded audio bytes
      * @throws InvalidRequestException if WAV data is null or empty
      * @throws RecordingProcessingException if FFmpeg fails or times out
+     * @throws TranscodeCapacityException if no FFmpeg slot is available in time
      */
     public byte[] convertWavToMp3(byte[] wavData) {
+        return convertWavToMp3(wavData, transcodeScheduler.defaultDeadline());
+    }
+
+    /**
+     * Converts WAV audio to MP3, waiting for an FFmpeg slot no later than {@code deadline}.
+     *
+     * @param wavData Raw WAV audio bytes
+     * @param deadline Latest time to wait for an FFmpeg slot, in {@link System#nanoTime()} units
+     * @return MP3 encoded audio bytes
+     * @throws InvalidRequestException if WAV data is null or empty
+     * @throws RecordingProcessingException if FFmpeg fails or times out
+     * @throws TranscodeCapacityException if no FFmpeg slot is available in time
+     */
+    private byte[] convertWavToMp3(byte[] wavData, long deadline) {
         if (wavData == null || wavData.length == 0) {
             throw new InvalidRequestException("WAV data is empty");
         }
 
         Process process = null;
         try {
-            process = startFfmpegProcess();
+            process = startFfmpegProcess(deadline);
             final Process proc = process;
 
             CompletableFuture<String> errorReader = readErrorStream(proc);
@@ -435,6 +676,82 @@ public class VpiRecordingService {
         }
     }
 
+    /**
+     * Starts a streaming WAV to MP3 conversion of a blob.
+     *
+     * <p>The blob stream is pumped into FFmpeg's stdin in the background, and the returned
+     * stream reads FFmpeg's stdout, so neither the WAV nor the MP3 is held in memory. The
+     * output is also written to a temp file and offered to the MP3 cache if the conversion
+     * succeeds. Uses the same settings and timeout as {@link #convertWavToMp3}.
+     *
+     * @param blobName The WAV blob to convert
+     * @param profile Transcode profile, for caching the output
+     * @param deadline Latest time to wait for an FFmpeg slot, in {@link System#nanoTime()} units
+     * @return Stream of the MP3, readable once, with unknown length
+     * @throws RecordingProcessingException if the blob cannot be opened or FFmpeg fails to start
+     */
+    private InputStream streamWavToMp3(String blobName, String profile, long deadline) {
+        Path cacheFile = mp3DiskCache.newTempFile().orElse(null);
+        return startTranscode(blobName, cacheFile, file -> mp3DiskCache.offer(blobName, profile, file), deadline);
+    }
+
+    /**
+     * Transcodes a blob straight into the MP3 cache, without holding it in memory.
+     *
+     * @param blobName The WAV blob to convert
+     * @param profile Transcode profile, for caching the output
+     * @param deadline Latest time to wait for an FFmpeg slot, in {@link System#nanoTime()} units
+     * @return Path of the cached MP3, or empty if caching is disabled or it was not admitted
+     * @throws RecordingProcessingException if the conversion fails
+     */
+    private Optional<Path> transcodeIntoCache(String blobName, String profile, long deadline) {
+        Optional<Path> cacheFile = mp3DiskCache.newTempFile();
+        if (cacheFile.isEmpty()) {
+            return Optional.empty();
+        }
+
+        AtomicReference<Optional<Path>> cached = new AtomicReference<>(Optional.empty());
+        try (InputStream mp3Stream = startTranscode(blobName, cacheFile.get(),
+                file -> cached.set(mp3DiskCache.offer(blobName, profile, file)), deadline)) {
+            mp3Stream.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new RecordingProcessingException("Conversion failed", e);
+        }
+        return cached.get();
+    }
+
+    /**
+     * Starts FFmpeg with a blob pumped into its stdin in the background.
+     *
+     * @param blobName The WAV blob to convert
+     * @param cacheFile File to copy the output to (nullable)
+     * @param cacheSink Takes ownership of {@code cacheFile} after a successful conversion
+     * @param deadline Latest time to wait for an FFmpeg slot, in {@link System#nanoTime()} units
+     * @return Stream of FFmpeg's MP3 output
+     * @throws RecordingProcessingException if the blob cannot be opened or FFmpeg fails to start
+     * @throws TranscodeCapacityException if no FFmpeg slot is available in time
+     */
+    private TranscodeStream startTranscode(String blobName, Path cacheFile, Consumer<Path> cacheSink,
+                                           long deadline) {
+        Process process = null;
+        try {
+            process = startFfmpegProcess(deadline);
+            InputStream wavStream = openBlobStream(blobName);
+
+            CompletableFuture<String> errorReader = readErrorStream(process);
+            CompletableFuture<Void> writer = writeInputStream(process, wavStream);
+
+            return new TranscodeStream(process, writer, errorReader,
+                    CONVERSION_TIMEOUT_SECONDS, processIoExecutor, cacheFile, cacheSink);
+
+        } catch (IOException e) {
+            throw new RecordingProcessingException("Failed to start FFmpeg process", e);
+        } catch (RuntimeException e) {
+            destroyProcess(process);
+            throw e;
+        }
+    }
+
     // ========== Validation Methods ==========
 
     /**
@@ -449,10 +766,38 @@ public class VpiRecordingService {
         }
         validateRequiredField(request.getFromDate(), "From date");
         validateRequiredField(request.getToDate(), "To date");
+
+        if (isFederated(request)) {
+            validateFederatedOpcos(request);
+            return;
+        }
+
         validateRequiredField(request.getOpco(), "OPCO");
         validateOpco(request.getOpco());
     }
 
+    /**
+     * Validates the OPCO list of a federated search. Disabled datasources are allowed
+     * here; they are skipped and reported at search time.
+     *
+     * @param request The search request
+     * @throws InvalidRequestException if an OPCO code is unknown
+     */
+    private void validateFederatedOpcos(VpiSearchRequest request) {
+        if (request.getOpcos() == null) {
+            return;
+        }
+        for (String opco : request.getOpcos()) {
+            validateRequiredField(opco, "OPCO");
+            String upperOpco = opco.trim().toUpperCase(Locale.ROOT);
+            if (!ALL_OPCOS.equals(upperOpco) && !ALLOWED_OPCOS.contains(upperOpco)) {
+                throw new InvalidRequestException(
+                        String.format("Invalid OPCO '%s'. Allowed values: %s, %s",
+                                opco, String.join(", ", ALLOWED_OPCOS), ALL_OPCOS));
+            }
+        }
+    }
+
     /**
      * Validates a recording request for completeness.
      *
@@ -578,7 +923,7 @@ public class VpiRecordingService {
      * @return File timestamp string
      * @throws IllegalArgumentException if input is null, empty, or invalid format
      */
-    public String xmlStartTimeToFileTimestamp(String xmlStartTime) {
+    public static String xmlStartTimeToFileTimestamp(String xmlStartTime) {
         if (xmlStartTime == null || xmlStartTime.isBlank()) {
             throw new IllegalArgumentException("xmlStartTime cannot be null or empty");
         }
@@ -607,6 +952,9 @@ public class VpiRecordingService {
     /**
      * Creates a Pageable object from pagination request.
      *
+     * <p>Rows are ordered by {@code dateAdded} then {@code objectId}, both descending, so the
+     * order is total and a keyset cursor taken from any page resumes exactly where it ended.
+     *
      * @param pagination The pagination request (nullable)
      * @return Pageable with safe defaults if request is null
      */
@@ -617,7 +965,21 @@ public class VpiRecordingService {
         int pageSize = requestedPageSize > 0 ? requestedPageSize : DEFAULT_PAGE_SIZE;
         int safePage = Math.max(pageNumber - 1, 0);
 
-        return PageRequest.of(safePage, pageSize, Sort.by("dateAdded").descending());
+        return PageRequest.of(safePage, pageSize, KEYSET_SORT);
+    }
+
+    /**
+     * Decodes the keyset cursor from a pagination request, if present.
+     *
+     * @param pagination The pagination request (nullable)
+     * @return Decoded cursor, or null for offset paging
+     * @throws InvalidRequestException if the cursor is malformed
+     */
+    private SearchCursor parseCursor(PaginationRequest pagination) {
+        if (pagination == null || !StringUtils.hasText(pagination.getCursor())) {
+            return null;
+        }
+        return SearchCursor.decode(pagination.getCursor());
     }
 
     /**
@@ -626,7 +988,7 @@ public class VpiRecordingService {
      * @param pageResult The page of results
      * @return Formatted VpiSearchResponse
      */
-    private VpiSearchResponse buildSearchResponse(Page<VpiMetadata> pageResult) {
+    private VpiSearchResponse buildSearchResponse(SearchPage pageResult) {
         VpiSearchResponse response = new VpiSearchResponse();
         PaginationResponse pageResponse = new PaginationResponse();
 
@@ -634,11 +996,15 @@ public class VpiRecordingService {
         response.setMessage(MESSAGE_SUCCESS);
         response.setStatus(STATUS_SUCCESS);
 
-        pageResponse.setPageNumber(pageResult.getNumber() + 1);
-        pageResponse.setPageSize(pageResult.getSize());
-        pageResponse.setTotalRecords(pageResult.getTotalElements());
+        pageResponse.setPageNumber(pageResult.getPageNumber());
+        pageResponse.setPageSize(pageResult.getPageSize());
+        pageResponse.setTotalRecords(pageResult.getTotalRecords());
         pageResponse.setTotalPages(pageResult.getTotalPages());
+        pageResponse.setHasNext(pageResult.isHasNext());
+        pageResponse.setNextCursor(pageResult.getNextCursor());
+        pageResponse.setCountMode(pageResult.getCountMode());
         response.setPagination(pageResponse);
+        response.setUnavailableOpcos(pageResult.getUnavailableOpcos());
 
         return response;
     }
@@ -696,6 +1062,9 @@ public class VpiRecordingService {
      *   <li>Return the first successful match</li>
      * </ol>
      *
+     * <p>When nothing matches and the day's listing came from the cache, the day is re-listed
+     * once and only the XML files added since are searched.
+     *
      * @param req The recording request with search criteria
      * @return RecordingSearchResult containing blob name and match status
      * @throws RecordingNotFoundException if no matching recording is found
@@ -705,42 +1074,119 @@ public class VpiRecordingService {
         String prefix = buildDayPrefix(req.getOpco(), parseDateTimeXML(req.getDate()).toLocalDate());
         String normalizedCustomer = normalize(req.getUsername());
 
-        List<String> xmlCandidates = findXmlCandidates(req.getOpco(), prefix, fileDate, normalizedCustomer);
+        List<String> xmlCandidates = findXmlCandidates(req, prefix, fileDate, normalizedCustomer);
+
+        try {
+            return buildRecordingResult(
+                    searchXmlCandidates(xmlCandidates, fileDate, normalizedCustomer, req), prefix);
+        } catch (RecordingNotFoundException e) {
+            List<String> added = findAddedXmlCandidates(req, prefix, fileDate, normalizedCustomer, xmlCandidates);
+            if (added.isEmpty()) {
+                throw e;
+            }
+            logger.info("Searching {} XML files added to {} since it was cached", added.size(), prefix);
+            return buildRecordingResult(
+                    searchXmlCandidates(added, fileDate, normalizedCustomer, req), prefix);
+        }
+    }
 
+    /**
+     * Searches XML candidates for the requested recording.
+     *
+     * @throws RecordingNotFoundException if there are no candidates or none matches
+     */
+    private List<MediaMetadata> searchXmlCandidates(List<String> xmlCandidates,
+                                                    String fileDate,
+                                                    String normalizedCustomer,
+                                                    RecordingRequest req) {
         if (xmlCandidates.isEmpty()) {
             throw new RecordingNotFoundException("No XML recordings found");
         }
+        return processXmlCandidates(xmlCandidates, fileDate, normalizedCustomer, req);
+    }
 
-        List<MediaMetadata> matchedMedia = processXmlCandidates(
-                xmlCandidates, fileDate, normalizedCustomer, req);
-
-        return buildRecordingResult(matchedMedia, prefix);
+    /**
+     * Re-lists a completed day after a miss and returns the XML candidates that were not
+     * in the cached listing.
+     *
+     * @param req The recording request
+     * @param prefix Blob prefix path
+     * @param fileDate File timestamp
+     * @param normalizedCustomer Normalized customer name
+     * @param searched Candidates already searched
+     * @return New XML blob names, empty if the listing is unchanged or was not re-listed
+     */
+    private List<String> findAddedXmlCandidates(RecordingRequest req, String prefix, String fileDate,
+                                                String normalizedCustomer, List<String> searched) {
+        boolean cmp = CMP.equalsIgnoreCase(req.getOpco());
+        String listedPrefix = cmp ? prefix + "Metadata/" : prefix;
+
+        return blobListingCache.relistAfterMiss(listedPrefix)
+                .map(blobs -> cmp
+                        ? filterCmpXmlBlobs(blobs)
+                        : filterMatchingXmlBlobs(blobs, fileDate, normalizedCustomer))
+                .map(xmls -> {
+                    Set<String> seen = new HashSet<>(searched);
+                    return xmls.stream().filter(xml -> !seen.contains(xml)).toList();
+                })
+                .orElse(List.of());
     }
 
     /**
      * Finds XML blob candidates based on OPCO type.
      *
-     * @param opco Operating company code
+     * <p>For NYSEG/RGE the recording's blob names are derived from the request and checked
+     * directly; the day is listed only when they are not found.
+     *
+     * @param req The recording request
      * @param prefix Blob prefix path
      * @param fileDate File timestamp
      * @param normalizedCustomer Normalized customer name
      * @return List of XML blob names
      */
-    private List<String> findXmlCandidates(String opco, String prefix,
+    private List<String> findXmlCandidates(RecordingRequest req, String prefix,
                                            String fileDate, String normalizedCustomer) {
-        return CMP.equalsIgnoreCase(opco)
-                ? findCmpXmlBlobs(prefix + "Metadata/")
-                : findMatchingXmlBlobs(prefix, fileDate, normalizedCustomer);
+        if (CMP.equalsIgnoreCase(req.getOpco())) {
+            return findCmpXmlBlobs(prefix + "Metadata/");
+        }
+        return deriveWavFileName(req, fileDate)
+                .flatMap(wavFileName -> directBlobLookup.findXml(prefix + wavFileName))
+                .map(List::of)
+                .orElseGet(() -> findMatchingXmlBlobs(prefix, fileDate, normalizedCustomer));
+    }
+
+    /**
+     * Derives the WAV file name of a NYSEG/RGE recording: the channel number padded to the
+     * five characters before the timestamp, the file timestamp, then the customer name.
+     *
+     * @param req The recording request
+     * @param fileDate File timestamp
+     * @return WAV file name, or empty if the request lacks the parts to build it
+     */
+    private Optional<String> deriveWavFileName(RecordingRequest req, String fileDate) {
+        if (req.getChannelNum() == null || isNullOrEmpty(req.getUsername())) {
+            return Optional.empty();
+        }
+        String lead = String.format("%05d", req.getChannelNum());
+        if (lead.length() != RecordingFileNames.DATETIME_START) {
+            return Optional.empty();
+        }
+        return Optional.of(lead + fileDate + req.getUsername() + WAV_EXTENSION);
     }
 
     /**
-     * Processes XML candidates and extracts matching media metadata.
+     * Processes XML candidates and extracts the first matching media metadata.
+     *
+     * <p>Candidates are read in order and the search stops at the first record that matches
+     * the request and was recorded successfully; files after it are not read. In a file that
+     * holds more than one record (a CMP day file), only records named for this call by
+     * timestamp and customer are considered.
      *
      * @param xmlCandidates List of XML blob names to process
      * @param fileDate Expected file timestamp
      * @param normalizedCustomer Normalized customer name
      * @param req Recording request with filter criteria
-     * @return List of matched MediaMetadata
+     * @return Matched MediaMetadata (a single record)
      * @throws RecordingNotFoundException if no matches found
      */
     private List<MediaMetadata> processXmlCandidates(List<String> xmlCandidates,
@@ -750,40 +1196,87 @@ public class VpiRecordingService {
 
         AtomicBoolean metadataFoundButNoMatch = new AtomicBoolean(false);
 
-        List<MediaMetadata> matchedMedia = xmlCandidates.stream()
-
-                // Step 1: Parse XML → List<MediaMetadata>
-                .flatMap(xmlBlob -> getFilteredMedia(xmlBlob, fileDate, normalizedCustomer).stream())
+        Predicate<String> fileNameMatch = fileNameMatcher(fileDate, normalizedCustomer);
 
-                // Step 2: Match metadata
-                .filter(media -> {
-                    boolean matches = matchesMetadata(
-                            media,req);
+        Predicate<MediaMetadata> recordingMatch = media -> {
+            boolean matches = matchesMetadata(media, req);
 
-                    if (matches) {
-                        metadataFoundButNoMatch.set(true);
-                    }
+            if (matches) {
+                metadataFoundButNoMatch.set(true);
+            }
 
-                    return matches && STATUS_RECORDING_SUCCESS.equals(media.getResult());
-                })
+            return matches && STATUS_RECORDING_SUCCESS.equals(media.getResult());
+        };
 
+        List<MediaMetadata> matchedMedia = xmlCandidates.stream()
+                .map(xmlBlob -> findFirstMatch(xmlBlob, fileNameMatch, recordingMatch))
+                .flatMap(Optional::stream)
+                .limit(1)
                 .toList();
 
         validateMatchedMedia(matchedMedia, metadataFoundButNoMatch.get());
         return matchedMedia;
     }
 
-    private List<MediaMetadata> getFilteredMedia(String xmlBlob,
-                                                 String fileDate,
-                                                 String normalizedCustomer) {
+    /**
+     * Finds the first record in an XML blob that satisfies a predicate.
+     *
+     * <p>When the blob holds more than one record, a record must also pass
+     * {@code fileNameMatch}. A blob already in the metadata cache is searched there.
+     * Otherwise it is streamed from storage and parsing stops at the first match; a blob read
+     * to the end, with or without a match, is added to the cache. A single-record
+     * (NYSEG/RGE) blob is always read to the end.
+     *
+     * @param xmlBlob XML blob name
+     * @param fileNameMatch Predicate on the file name, applied to blobs with several records
+     * @param match Predicate a record must satisfy
+     * @return First matching record, if any
+     * @throws RecordingProcessingException if XML parsing fails
+     */
+    private Optional<MediaMetadata> findFirstMatch(String xmlBlob,
+                                                   Predicate<String> fileNameMatch,
+                                                   Predicate<MediaMetadata> match) {
+        Optional<List<MediaMetadata>> cached = mediaMetadataCache.getIfCached(xmlBlob,
+                xmlBytes -> processMediaXml(new ByteArrayInputStream(xmlBytes)));
+        if (cached.isPresent()) {
+            List<MediaMetadata> media = cached.get();
+            return media.stream()
+                    .filter(record -> media.size() == 1 || fileNameMatch.test(record.getFileName()))
+                    .filter(match)
+                    .findFirst();
+        }
 
-        List<MediaMetadata> metaMatch = parseXml(xmlBlob);
+        List<MediaMetadata> parsed = new ArrayList<>();
+        AtomicReference<MediaMetadata> found = new AtomicReference<>();
+        Predicate<MediaMetadata> namedMatch = media -> fileNameMatch.test(media.getFileName()) && match.test(media);
+
+        try (BlobStream xmlStream = blobStore.getBlobStream(xmlBlob)) {
+            boolean complete = xmlParser.parse(xmlStream, media -> {
+                parsed.add(media);
+                // Whether the first record's file name must match depends on whether a second follows
+                if (parsed.size() == 2 && namedMatch.test(parsed.getFirst())) {
+                    found.set(parsed.getFirst());
+                    return false;
+                }
+                if (parsed.size() >= 2 && namedMatch.test(media)) {
+                    found.set(media);
+                    return false;
+                }
+                return true;
+            });
 
-        if (metaMatch.size() > 1) {
-            return findMatchingMediaCMP(metaMatch, fileDate, normalizedCustomer);
+            if (complete) {
+                if (parsed.size() == 1 && match.test(parsed.getFirst())) {
+                    found.set(parsed.getFirst());
+                }
+                logger.debug("Read {} media records from {}", parsed.size(), xmlBlob);
+                mediaMetadataCache.put(xmlBlob, xmlStream.getETag(), parsed);
+            }
+        } catch (IOException e) {
+            throw new RecordingProcessingException("Failed parsing XML " + xmlBlob, e);
         }
 
-        return metaMatch;
+        return Optional.ofNullable(found.get());
     }
 
     /**
@@ -808,17 +1301,11 @@ public class VpiRecordingService {
      *
      * @param matchedMedia List of matched media metadata
      * @param prefix Blob prefix path
-     * @return RecordingSearchResult with blob name and multiple match flag
+     * @return RecordingSearchResult with blob name
      */
     private RecordingSearchResult buildRecordingResult(List<MediaMetadata> matchedMedia, String prefix) {
         RecordingSearchResult result = new RecordingSearchResult();
         result.setBlobName(prefix + matchedMedia.getFirst().getFileName());
-
-        if (matchedMedia.size() > 1) {
-            result.setMultipleFound(true);
-            logger.warn("Multiple recordings found for request. Using first match.");
-        }
-
         return result;
     }
     /**
@@ -828,7 +1315,10 @@ public class VpiRecordingService {
      * @return List of XML blob names
      */
     private List<String> findCmpXmlBlobs(String dayPrefix) {
-        List<String> blobs = vpiAzureRepository.listBlobs(dayPrefix);
+        return filterCmpXmlBlobs(blobListingCache.listBlobs(dayPrefix));
+    }
+
+    private List<String> filterCmpXmlBlobs(List<String> blobs) {
         return blobs.stream()
                 .filter(blob -> blob.toLowerCase(Locale.ROOT).endsWith(".xml"))
                 .toList();
@@ -845,12 +1335,17 @@ public class VpiRecordingService {
     private List<String> findMatchingXmlBlobs(String prefix,
                                               String expectedDateTime,
                                               String normalizedCustomer) {
-        List<String> blobs = vpiAzureRepository.listBlobs(prefix);
+        return filterMatchingXmlBlobs(blobListingCache.listBlobs(prefix), expectedDateTime, normalizedCustomer);
+    }
+
+    private List<String> filterMatchingXmlBlobs(List<String> blobs,
+                                                String expectedDateTime,
+                                                String normalizedCustomer) {
         List<String> matchedXmls = new ArrayList<>();
 
         for (String blobName : blobs) {
             if (blobName.endsWith(".xml")
-                    && matchesTimestamp(blobName, expectedDateTime)
+                    && RecordingFileNames.matchesTimestamp(blobName, expectedDateTime)
                     && matchesCustomer(blobName, normalizedCustomer)) {
                 matchedXmls.add(blobName);
             }
@@ -877,9 +1372,10 @@ public class VpiRecordingService {
         logger.info("Validating {} metadata records against timestamp: {} and customer: {}",
                 metadataList.size(), expectedDateTime, normalizedCustomer);
 
+        Predicate<String> fileNameMatch = fileNameMatcher(expectedDateTime, normalizedCustomer);
         List<MediaMetadata> validMetadata = metadataList.stream()
                 .filter(Objects::nonNull)
-                .filter(meta -> isValidFilename(meta.getFileName(), expectedDateTime, normalizedCustomer))
+                .filter(meta -> fileNameMatch.test(meta.getFileName()))
                 .toList();
 
         logger.info("Validation complete: {} out of {} records passed filename validation",
@@ -888,6 +1384,17 @@ public class VpiRecordingService {
         return validMetadata;
     }
 
+    /**
+     * Builds the filename check applied to CMP media records.
+     *
+     * @param expectedDateTime The expected timestamp
+     * @param normalizedCustomer The normalized customer name
+     * @return Predicate accepting filenames for that timestamp and customer
+     */
+    private Predicate<String> fileNameMatcher(String expectedDateTime, String normalizedCustomer) {
+        return fileName -> isValidFilename(fileName, expectedDateTime, normalizedCustomer);
+    }
+
     /**
      * Validates a filename against expected timestamp and customer name.
      *
@@ -902,7 +1409,7 @@ public class VpiRecordingService {
             return false;
         }
 
-        boolean timestampMatches = matchesTimestamp(fileName, expectedDateTime);
+        boolean timestampMatches = RecordingFileNames.matchesTimestamp(fileName, expectedDateTime);
         boolean customerMatches = matchesCustomer(fileName, normalizedCustomer);
 
         if (!timestampMatches || !customerMatches) {
@@ -913,24 +1420,6 @@ public class VpiRecordingService {
         return timestampMatches && customerMatches;
     }
 
-    /**
-     * Parses XML blob content to extract media metadata.
-     *
-     * @param blobName The blob name containing XML
-     * @return List of media metadata extracted from XML
-     * @throws RecordingProcessingException if XML parsing fails
-     */
-    private List<MediaMetadata> parseXml(String blobName) {
-        try {
-            byte[] xmlBytes = vpiAzureRepository.getBlobContent(blobName);
-            try (InputStream is = new ByteArrayInputStream(xmlBytes)) {
-                return processMediaXml(is);
-            }
-        } catch (IOException e) {
-            throw new RecordingProcessingException("Failed parsing XML " + blobName, e);
-        }
-    }
-
     /**
      * Processes XML stream to extract media metadata.
      *
@@ -1017,19 +1506,6 @@ public class VpiRecordingService {
         }
     }
 
-    /**
-     * Checks if a blob name's timestamp matches the expected value.
-     *
-     * @param blobName The blob name
-     * @param expected The expected timestamp string
-     * @return true if matches, false otherwise
-     */
-    private boolean matchesTimestamp(String blobName, String expected) {
-        return extractDateTime(blobName)
-                .map(actual -> actual.equals(expected))
-                .orElse(false);
-    }
-
     /**
      * Checks if a blob name's customer name matches the expected value.
      *
@@ -1038,7 +1514,7 @@ public class VpiRecordingService {
      * @return true if matches, false otherwise
      */
     private boolean matchesCustomer(String blobName, String normalizedCustomer) {
-        return extractCustomerName(blobName)
+        return RecordingFileNames.extractCustomerName(blobName)
                 .map(this::normalize)
                 .map(name -> name.equals(normalizedCustomer))
                 .orElse(false);
@@ -1062,7 +1538,7 @@ public class VpiRecordingService {
     }
 
     /**
-     * Downloads blob content from Azure storage.
+     * Downloads blob content from blob storage.
      *
      * @param blobName The blob name to download
      * @return Byte array of blob content
@@ -1070,71 +1546,41 @@ public class VpiRecordingService {
      */
     private byte[] downloadBlob(String blobName) {
         try {
-            return vpiAzureRepository.getBlobContent(blobName);
+            return blobStore.getBlobContent(blobName);
         } catch (Exception e) {
             throw new RecordingProcessingException("Failed to download recording: " + e.getMessage(), e);
         }
     }
 
-    // ========== Filename Parsing Methods ==========
-
     /**
-     * Extracts date-time portion from a blob filename.
+     * Opens a streaming download of blob content from blob storage. Long recordings are
+     * fetched as parallel ranges.
      *
-     * @param blobName The blob name
-     * @return Optional containing extracted datetime string
+     * @param blobName The blob name to stream
+     * @return Input stream of blob content
+     * @throws RecordingProcessingException if the blob cannot be opened
      */
-    private Optional<String> extractDateTime(String blobName) {
+    private InputStream openBlobStream(String blobName) {
         try {
-            String fileName = extractFileName(blobName);
-
-            if (fileName.length() < FILENAME_DATETIME_END) {
-                return Optional.empty();
-            }
-
-            return Optional.of(
-                    fileName.substring(FILENAME_DATETIME_START, FILENAME_DATETIME_END)
-            );
-        } catch (Exception ex) {
-            logger.debug("Failed to extract datetime from blob: {}", blobName, ex);
-            return Optional.empty();
+            return blobStore.getParallelBlobStream(blobName);
+        } catch (Exception e) {
+            throw new RecordingProcessingException("Failed to download recording: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Extracts customer name from a blob filename.
+     * Closes a stream, logging instead of throwing on failure.
      *
-     * @param blobName The blob name
-     * @return Optional containing extracted customer name
+     * @param stream The stream to close
      */
-    private Optional<String> extractCustomerName(String blobName) {
+    private void closeQuietly(InputStream stream) {
         try {
-            String fileName = extractFileName(blobName);
-            int endIndex = fileName.indexOf(WAV_EXTENSION);
-
-            if (endIndex == -1 || fileName.length() < FILENAME_CUSTOMER_START) {
-                return Optional.empty();
-            }
-
-            return Optional.of(
-                    fileName.substring(FILENAME_CUSTOMER_START, endIndex)
-            );
-        } catch (Exception ex) {
-            logger.debug("Failed to extract customer name from blob: {}", blobName, ex);
-            return Optional.empty();
+            stream.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close stream", e);
         }
     }
 
-    /**
-     * Extracts the filename portion from a full blob path.
-     *
-     * @param blobName The full blob path
-     * @return The filename only
-     */
-    private String extractFileName(String blobName) {
-        return blobName.substring(blobName.lastIndexOf('/') + 1);
-    }
-
     // ========== FFmpeg Conversion Helper Methods ==========
 
     /**
@@ -1159,27 +1605,50 @@ public class VpiRecordingService {
     }
 
     /**
-     * Starts the FFmpeg process with secure environment settings.
+     * Identifies the current transcode settings, for keying cached output.
      *
-     * @return Started Process instance
-     * @throws IOException if process creation fails
+     * @return FFmpeg arguments without the executable path
      */
-    private Process startFfmpegProcess() throws IOException {
-        ProcessBuilder pb = new ProcessBuilder(buildFfmpegCommand());
-
-        if ("/usr/bin/ffmpeg".equals(ffmpegPath)) {
-            Map<String, String> env = pb.environment();
-            env.clear();
-            env.put("PATH", "/usr/bin:/bin");
-        }
-
-        return pb.start();
+    private String transcodeProfile() {
+        String[] command = buildFfmpegCommand();
+        return String.join(" ", Arrays.copyOfRange(command, 1, command.length));
     }
 
     /**
-     * Asynchronously reads the error stream from FFmpeg process.
+     * Starts the FFmpeg process with secure environment settings.
      *
-     * @param process The FFmpeg process
+     * <p>Waits for a slot from the {@link TranscodeScheduler} first; the slot is released
+     * when the process exits.
+     *
+     * @param deadline Latest time to wait for a slot, in {@link System#nanoTime()} units
+     * @return Started Process instance
+     * @throws IOException if process creation fails
+     * @throws TranscodeCapacityException if no FFmpeg slot is available in time
+     */
+    private Process startFfmpegProcess(long deadline) throws IOException {
+        TranscodeScheduler.Slot slot = transcodeScheduler.acquire(deadline);
+        try {
+            ProcessBuilder pb = new ProcessBuilder(buildFfmpegCommand());
+
+            if ("/usr/bin/ffmpeg".equals(ffmpegPath)) {
+                Map<String, String> env = pb.environment();
+                env.clear();
+                env.put("PATH", "/usr/bin:/bin");
+            }
+
+            Process process = pb.start();
+            process.onExit().whenComplete((exited, error) -> slot.close());
+            return process;
+        } catch (IOException | RuntimeException e) {
+            slot.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronously reads the error stream from FFmpeg process on the process I/O executor.
+     *
+     * @param process The FFmpeg process
      * @return CompletableFuture containing error output
      */
     private CompletableFuture<String> readErrorStream(Process process) {
@@ -1192,11 +1661,11 @@ public class VpiRecordingService {
                 logger.error("Failed to read FFmpeg error stream", e);
                 return "Failed to read error stream: " + e.getMessage();
             }
-        });
+        }, processIoExecutor);
     }
 
     /**
-     * Asynchronously writes WAV data to FFmpeg's stdin.
+     * Asynchronously writes WAV data to FFmpeg's stdin on the process I/O executor.
      *
      * @param process The FFmpeg process
      * @param wavData The WAV data to write
@@ -1210,11 +1679,30 @@ public class VpiRecordingService {
             } catch (IOException e) {
                 throw new UncheckedIOException("Write failed", e);
             }
-        });
+        }, processIoExecutor);
+    }
+
+    /**
+     * Asynchronously copies a WAV stream to FFmpeg's stdin on the process I/O executor,
+     * closing both when done.
+     *
+     * @param process The FFmpeg process
+     * @param wavStream The WAV data to write
+     * @return CompletableFuture that completes when writing is done
+     */
+    private CompletableFuture<Void> writeInputStream(Process process, InputStream wavStream) {
+        return CompletableFuture.runAsync(() -> {
+            try (InputStream source = wavStream;
+                 OutputStream stdin = process.getOutputStream()) {
+                source.transferTo(stdin);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Write failed", e);
+            }
+        }, processIoExecutor);
     }
 
     /**
-     * Asynchronously reads MP3 data from FFmpeg's stdout.
+     * Asynchronously reads MP3 data from FFmpeg's stdout on the process I/O executor.
      *
      * @param process The FFmpeg process
      * @return CompletableFuture containing MP3 data
@@ -1234,7 +1722,7 @@ public class VpiRecordingService {
             } catch (IOException e) {
                 throw new UncheckedIOException("Read failed", e);
             }
-        });
+        }, processIoExecutor);
     }
 
     /**
@@ -1274,75 +1762,244 @@ public class VpiRecordingService {
     // ========== Response Building Methods ==========
 
     /**
-     * Builds an HTTP response for audio data.
+     * Builds an HTTP response for a streamed ZIP file.
      *
-     * @param mp3Data The MP3 audio bytes
-     * @param originalFilename The original filename
-     * @return ResponseEntity with appropriate headers and audio data
+     * @param body Writer of the ZIP
+     * @return ResponseEntity with appropriate headers; the length is unknown, so it is chunked
      */
-    private ResponseEntity<ByteArrayResource> buildAudioResponse(byte[] mp3Data, String originalFilename) {
-        String mp3Filename = originalFilename + MP3_EXTENSION;
-
+    private ResponseEntity<StreamingResponseBody> buildZipResponse(StreamingResponseBody body) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("audio/mpeg"));
-        headers.setContentDispositionFormData("inline", mp3Filename);
-        headers.setContentLength(mp3Data.length);
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recordings.zip\"");
 
-        ByteArrayResource resource = new ByteArrayResource(mp3Data);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
 
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(resource);
+    // ========== ZIP Creation Methods ==========
+
+    /**
+     * Writes a ZIP of the requested recordings, then status.json, to an output stream.
+     *
+     * <p>Items are resolved and staged on {@link #downloadExecutor}, at most
+     * {@code download.parallelism} ahead of the writer, and written in request order. Each
+     * entry is flushed as soon as it is written. A client disconnect surfaces as an
+     * {@link IOException} from the flush and stops the download; staged files of items still
+     * in flight are deleted when they complete.
+     *
+     * @param requests All recording requests, in order
+     * @param resolved Items already resolved for a prefix of {@code requests}
+     * @param out The response output stream
+     * @param progress Called with each item's status after it is written
+     * @return Summary written to status.json
+     * @throws IOException if writing to the client fails
+     */
+    private ZipStatusSummary writeZip(List<RecordingRequest> requests,
+                                      List<ZipItem> resolved,
+                                      OutputStream out,
+                                      Consumer<RecordingStatus> progress) throws IOException {
+        List<RecordingStatus> statuses = new ArrayList<>(requests.size());
+        int successCount = 0;
+        int failureCount = 0;
+        int parallelism = Math.max(1, downloadParallelism);
+        Deque<CompletableFuture<ZipItem>> inFlight = new ArrayDeque<>(parallelism);
+        int submitted = 0;
+
+        try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE))) {
+            for (int i = 0; i < requests.size(); i++) {
+                while (submitted < requests.size() && inFlight.size() < parallelism) {
+                    inFlight.add(submitZipItem(requests, resolved, submitted++));
+                }
+
+                ZipItem item = inFlight.poll().join();
+                RecordingStatus status;
+                try {
+                    status = addRecordingToZip(item, zos);
+                } finally {
+                    deleteStagedFile(item);
+                }
+                statuses.add(status);
+
+                if (STATUS_RECORDING_SUCCESS.equals(status.getStatus())) {
+                    successCount++;
+                } else {
+                    failureCount++;
+                }
+                zos.flush();
+                progress.accept(status);
+            }
+
+            ZipStatusSummary summary = new ZipStatusSummary(
+                    requests.size(),
+                    successCount,
+                    failureCount,
+                    statuses
+            );
+            addStatusFileToZip(summary, zos);
+            zos.finish();
+            logger.info("ZIP streaming successful: {} successes, {} failures", successCount, failureCount);
+            return summary;
+        } finally {
+            inFlight.forEach(future -> future.thenAccept(this::deleteStagedFile));
+        }
     }
 
     /**
-     * Builds an HTTP response for ZIP file data.
+     * Resolves and stages one ZIP item on the download executor.
      *
-     * @param zipData The ZIP file bytes
-     * @return ResponseEntity with appropriate headers and ZIP data
+     * @param requests All recording requests
+     * @param resolved Items already resolved for a prefix of {@code requests}
+     * @param index Index of the request to process
+     * @return Future of the staged item; it never completes exceptionally
      */
-    private ResponseEntity<byte[]> buildZipResponse(byte[] zipData) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recordings.zip\"");
-        headers.setContentLength(zipData.length);
+    private CompletableFuture<ZipItem> submitZipItem(List<RecordingRequest> requests,
+                                                     List<ZipItem> resolved,
+                                                     int index) {
+        ZipItem preResolved = index < resolved.size() ? resolved.get(index) : null;
+        RecordingRequest req = requests.get(index);
 
-        return new ResponseEntity<>(zipData, headers, HttpStatus.OK);
+        return CompletableFuture.supplyAsync(
+                        () -> preResolved != null ? preResolved : resolveZipItem(req), downloadExecutor)
+                .thenCompose(this::stageZipItem);
     }
 
-    // ========== ZIP Creation Methods ==========
+    /**
+     * Downloads the blob of a resolved item into a temp file.
+     *
+     * <p>On Azure the download runs on the async blob client, so it does not hold a download
+     * executor thread while the bytes arrive.
+     *
+     * @param item The resolved item
+     * @return Future of the item with its staged file, or with an error status if the
+     *         download fails
+     */
+    private CompletableFuture<ZipItem> stageZipItem(ZipItem item) {
+        if (item.failure() != null) {
+            return CompletableFuture.completedFuture(item);
+        }
+
+        Path stagedFile;
+        try {
+            stagedFile = Files.createTempFile(ZIP_STAGING_PREFIX, WAV_EXTENSION);
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(stagingFailed(item, null, e));
+        }
+
+        try {
+            return blobStore.downloadToFile(item.blobName(), stagedFile)
+                    .handle((size, error) -> error == null
+                            ? item.withStagedFile(stagedFile)
+                            : stagingFailed(item, stagedFile, error));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(stagingFailed(item, stagedFile, e));
+        }
+    }
 
     /**
-     * Adds a single recording to a ZIP output stream.
+     * Turns a failed download into an error status for the item.
      *
-     * @param req The recording request
-     * @param zos The ZIP output stream
-     * @return RecordingStatus indicating success or failure
+     * @param item The resolved item
+     * @param stagedFile Partially written temp file to delete (nullable)
+     * @param error Failure, possibly wrapped by the future
+     * @return Failed item
      */
-    private RecordingStatus addRecordingToZip(RecordingRequest req, ZipOutputStream zos) {
-        validateRequest(req);
+    private ZipItem stagingFailed(ZipItem item, Path stagedFile, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        RecordingRequest req = item.request();
+        deleteQuietly(stagedFile);
+
+        if (cause instanceof IOException || cause instanceof UncheckedIOException) {
+            logger.error("IO error while fetching recording for ZIP: user={} date={} blob={}",
+                    req.getUsername(), req.getDate(), item.blobName(), cause);
+            return ZipItem.failed(req, item.zipEntryName(), createErrorStatus(req, item.zipEntryName(),
+                    "Failed to write recording to ZIP: " + cause.getMessage()));
+        }
+
+        logger.error("Unexpected error while processing recording: user={} date={} blob={}",
+                req.getUsername(), req.getDate(), item.blobName(), cause);
+        return ZipItem.failed(req, item.zipEntryName(), createErrorStatus(req, item.zipEntryName(),
+                "Failed to process recording: " + cause.getMessage()));
+    }
+
+    /**
+     * Deletes the staged file of a ZIP item, if any.
+     *
+     * @param item The ZIP item
+     */
+    private void deleteStagedFile(ZipItem item) {
+        deleteQuietly(item.stagedFile());
+    }
 
+    /**
+     * Deletes a file, logging instead of throwing on failure.
+     *
+     * @param file The file to delete (nullable)
+     */
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete staged file {}", file, e);
+        }
+    }
+
+    /**
+     * Resolves the blob of a recording for a ZIP entry.
+     *
+     * @param req The recording request
+     * @return Item with the blob name, or with a failure status if it cannot be resolved
+     */
+    private ZipItem resolveZipItem(RecordingRequest req) {
         String fileDate = xmlStartTimeToFileTimestamp(req.getDate());
         String zipEntryName = fileDate + req.getUsername();
-        String blobName = null;
 
         try {
-            blobName = findRecordingVPI(req).getBlobName();
+            String blobName = findRecordingVPI(req).getBlobName();
 
             if (blobName == null || blobName.isEmpty()) {
                 logger.warn("No matching blob found for user={} date={}", req.getUsername(), req.getDate());
-                return createNotFoundStatus(req);
+                return ZipItem.failed(req, zipEntryName, createNotFoundStatus(req));
             }
-
-            addBlobToZip(blobName, zipEntryName, zos);
-            logger.info("Successfully added recording to ZIP: user={} date={} blob={}",
-                    req.getUsername(), req.getDate(), blobName);
-            return createSuccessStatus(req, zipEntryName);
+            return new ZipItem(req, zipEntryName, blobName, null, null);
 
         } catch (RecordingNotFoundException e) {
             logger.warn("Recording not found for user={} date={}: {}",
                     req.getUsername(), req.getDate(), e.getMessage());
-            return createNotFoundStatus(req);
+            return ZipItem.failed(req, zipEntryName, createNotFoundStatus(req));
+
+        } catch (Exception e) {
+            logger.error("Unexpected error while processing recording: user={} date={}",
+                    req.getUsername(), req.getDate(), e);
+            return ZipItem.failed(req, zipEntryName,
+                    createErrorStatus(req, zipEntryName, "Failed to process recording: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Adds a single staged recording to a ZIP output stream.
+     *
+     * @param item The staged recording
+     * @param zos The ZIP output stream
+     * @return RecordingStatus indicating success or failure
+     */
+    private RecordingStatus addRecordingToZip(ZipItem item, ZipOutputStream zos) {
+        if (item.failure() != null) {
+            return item.failure();
+        }
+
+        RecordingRequest req = item.request();
+        String blobName = item.blobName();
+        String zipEntryName = item.zipEntryName();
+
+        try {
+            addFileToZip(item.stagedFile(), zipEntryName, zos);
+            logger.info("Successfully added recording to ZIP: user={} date={} blob={}",
+                    req.getUsername(), req.getDate(), blobName);
+            return createSuccessStatus(req, zipEntryName);
 
         } catch (IOException e) {
             logger.error("IO error while adding recording to ZIP: user={} date={} blob={}",
@@ -1356,6 +2013,27 @@ public class VpiRecordingService {
         }
     }
 
+    /**
+     * A recording request resolved to its blob, or to the status explaining why not.
+     *
+     * @param request The recording request
+     * @param zipEntryName Name of its ZIP entry
+     * @param blobName Resolved blob name (null on failure)
+     * @param stagedFile Local copy of the blob, once fetched (nullable)
+     * @param failure Failure status (null when resolved)
+     */
+    private record ZipItem(RecordingRequest request, String zipEntryName, String blobName,
+                           Path stagedFile, RecordingStatus failure) {
+
+        static ZipItem failed(RecordingRequest request, String zipEntryName, RecordingStatus failure) {
+            return new ZipItem(request, zipEntryName, null, null, failure);
+        }
+
+        ZipItem withStagedFile(Path file) {
+            return new ZipItem(request, zipEntryName, blobName, file, null);
+        }
+    }
+
     /**
      * Creates a recording status for not found scenarios.
      *
@@ -1408,17 +2086,17 @@ public class VpiRecordingService {
     }
 
     /**
-     * Adds a blob to a ZIP output stream.
+     * Adds a staged file to a ZIP output stream.
      *
-     * @param blobName The blob name to add
+     * @param file The local file to add
      * @param zipEntryName The name for the ZIP entry
      * @param zos The ZIP output stream
      * @throws IOException if I/O error occurs
      */
-    private void addBlobToZip(String blobName, String zipEntryName, ZipOutputStream zos) throws IOException {
+    private void addFileToZip(Path file, String zipEntryName, ZipOutputStream zos) throws IOException {
         zos.putNextEntry(new ZipEntry(zipEntryName));
-        try (InputStream blobStream = vpiAzureRepository.getBlobStream(blobName)) {
-            StreamUtils.copy(blobStream, zos);
+        try {
+            Files.copy(file, zos);
         } finally {
             zos.closeEntry();
         }
@@ -1455,22 +2133,26 @@ public class VpiRecordingService {
      * @param filters Additional filters
      * @param userIds Matched user IDs
      * @param pageable Pagination settings
+     * @param cursor Keyset position (nullable)
+     * @param countMode Total count strategy
      * @return Page of VpiMetadata results
      */
-    private Page<VpiMetadata> performSearch(
+    private SearchPage performSearch(
             OffsetDateTime from,
             OffsetDateTime to,
             String opco,
             VpiFiltersRequest filters,
             Set<UUID> userIds,
-            Pageable pageable) {
+            Pageable pageable,
+            SearchCursor cursor,
+            CountMode countMode) {
 
         String upperOpco = opco.toUpperCase();
 
         return switch (upperOpco) {
-            case CMP -> searchCmp(from, to, filters, userIds, pageable);
-            case NYSEG -> searchNyseg(from, to, filters, userIds, pageable);
-            case RGE -> searchRge(from, to, filters, userIds, pageable);
+            case CMP -> searchCmp(from, to, filters, userIds, pageable, cursor, countMode);
+            case NYSEG -> searchNyseg(from, to, filters, userIds, pageable, cursor, countMode);
+            case RGE -> searchRge(from, to, filters, userIds, pageable, cursor, countMode);
             default -> throw new InvalidRequestException("Invalid OPCO code: " + opco);
         };
     }
@@ -1483,18 +2165,22 @@ public class VpiRecordingService {
      * @param filters Filters
      * @param userIds User IDs
      * @param pageable Pagination
+     * @param cursor Keyset position (nullable)
+     * @param countMode Total count strategy
      * @return Page of results
      */
-    private Page<VpiMetadata> searchCmp(
+    private SearchPage searchCmp(
             OffsetDateTime from,
             OffsetDateTime to,
             VpiFiltersRequest filters,
             Set<UUID> userIds,
-            Pageable pageable) {
+            Pageable pageable,
+            SearchCursor cursor,
+            CountMode countMode) {
 
         Specification<VpiCaptureCmp> spec = CaptureSpecifications.build(from, to, filters, userIds);
-        Page<VpiCaptureCmp> page = cmpRepo.findAll(spec, pageable);
-        return enrichAndMap(page, CMP);
+        CapturePage<VpiCaptureCmp> page = fetchPage(cmpRepo, spec, from, to, pageable, cursor, countMode);
+        return toSearchPage(page.slice(), page.total(), CMP, countMode);
     }
 
     /**
@@ -1505,18 +2191,22 @@ public class VpiRecordingService {
      * @param filters Filters
      * @param userIds User IDs
      * @param pageable Pagination
+     * @param cursor Keyset position (nullable)
+     * @param countMode Total count strategy
      * @return Page of results
      */
-    private Page<VpiMetadata> searchNyseg(
+    private SearchPage searchNyseg(
             OffsetDateTime from,
             OffsetDateTime to,
             VpiFiltersRequest filters,
             Set<UUID> userIds,
-            Pageable pageable) {
+            Pageable pageable,
+            SearchCursor cursor,
+            CountMode countMode) {
 
         Specification<VpiCaptureNyseg> spec = CaptureSpecifications.build(from, to, filters, userIds);
-        Page<VpiCaptureNyseg> page = nysegRepo.findAll(spec, pageable);
-        return enrichAndMap(page, NYSEG);
+        CapturePage<VpiCaptureNyseg> page = fetchPage(nysegRepo, spec, from, to, pageable, cursor, countMode);
+        return toSearchPage(page.slice(), page.total(), NYSEG, countMode);
     }
 
     /**
@@ -1527,18 +2217,772 @@ public class VpiRecordingService {
      * @param filters Filters
      * @param userIds User IDs
      * @param pageable Pagination
+     * @param cursor Keyset position (nullable)
+     * @param countMode Total count strategy
      * @return Page of results
      */
-    private Page<VpiMetadata> searchRge(
+    private SearchPage searchRge(
             OffsetDateTime from,
             OffsetDateTime to,
             VpiFiltersRequest filters,
             Set<UUID> userIds,
-            Pageable pageable) {
+            Pageable pageable,
+            SearchCursor cursor,
+            CountMode countMode) {
 
         Specification<VpiCaptureRge> spec = CaptureSpecifications.build(from, to, filters, userIds);
-        Page<VpiCaptureRge> page = rgeRepo.findAll(spec, pageable);
-        return enrichAndMap(page, RGE);
+        CapturePage<VpiCaptureRge> page = fetchPage(rgeRepo, spec, from, to, pageable, cursor, countMode);
+        return toSearchPage(page.slice(), page.total(), RGE, countMode);
+    }
+
+    /**
+     * Fetches one page of captures using offset or keyset paging, without counting.
+     *
+     * <p>With a cursor the query seeks past the cursor's {@code (dateAdded, objectId)} and
+     * reads only {@code pageSize + 1} rows from the index, so its cost does not depend on
+     * how deep the page is.
+     *
+     * @param repo Capture repository for the OPCO
+     * @param spec Search predicate
+     * @param pageable Pagination settings
+     * @param cursor Keyset position (nullable)
+     * @param <T> Capture entity type
+     * @return Slice of capture entities, reporting the requested page number
+     */
+    private <T extends VpiCaptureBase> Slice<T> fetchSlice(
+            VpiCaptureRepository<T> repo,
+            Specification<T> spec,
+            Pageable pageable,
+            SearchCursor cursor) {
+
+        if (cursor == null) {
+            return repo.findSlice(spec, pageable);
+        }
+
+        Slice<T> slice = repo.findSlice(seekAfter(spec, cursor), PageRequest.of(0, pageable.getPageSize(), KEYSET_SORT));
+        return new SliceImpl<>(slice.getContent(), pageable, slice.hasNext());
+    }
+
+    /**
+     * Restricts a search predicate to rows after the cursor in {@link #KEYSET_SORT} order.
+     *
+     * @param spec Search predicate
+     * @param cursor Keyset position (nullable)
+     * @param <T> Capture entity type
+     * @return Predicate with the keyset seek, or {@code spec} when there is no cursor
+     */
+    private static <T extends VpiCaptureBase> Specification<T> seekAfter(Specification<T> spec, SearchCursor cursor) {
+        if (cursor == null) {
+            return spec;
+        }
+        return spec.and(CaptureSpecifications.seekAfter(
+                SORT_DATE_ADDED, SORT_OBJECT_ID, cursor.getDateAdded(), cursor.getObjectId()));
+    }
+
+    /**
+     * Fetches one page of captures and its total using the requested count strategy.
+     *
+     * <ul>
+     *   <li>{@link CountMode#EXACT}: {@code count(*)} after the content query</li>
+     *   <li>{@link CountMode#CONCURRENT}: {@code count(*)} on the search executor while the
+     *       content query runs, so the page costs roughly the slower of the two</li>
+     *   <li>{@link CountMode#ESTIMATED}: planner row estimate, no rows counted</li>
+     *   <li>{@link CountMode#NONE}: no count; only {@code hasNext} is reported</li>
+     * </ul>
+     *
+     * @param repo Capture repository for the OPCO
+     * @param spec Search predicate (without keyset seek)
+     * @param from Start datetime
+     * @param to End datetime
+     * @param pageable Pagination settings
+     * @param cursor Keyset position (nullable)
+     * @param countMode Total count strategy
+     * @param <T> Capture entity type
+     * @return Content slice with its total, {@value #UNKNOWN_TOTAL} when not counted
+     */
+    private <T extends VpiCaptureBase> CapturePage<T> fetchPage(
+            VpiCaptureRepository<T> repo,
+            Specification<T> spec,
+            OffsetDateTime from,
+            OffsetDateTime to,
+            Pageable pageable,
+            SearchCursor cursor,
+            CountMode countMode) {
+
+        CompletableFuture<Long> concurrentCount = countMode == CountMode.CONCURRENT
+                ? CompletableFuture.supplyAsync(() -> repo.count(spec), searchExecutor)
+                : null;
+
+        Slice<T> slice;
+        try {
+            slice = fetchSlice(repo, spec, pageable, cursor);
+        } catch (RuntimeException e) {
+            if (concurrentCount != null) {
+                concurrentCount.cancel(true);
+            }
+            throw e;
+        }
+
+        long total = switch (countMode) {
+            case NONE -> UNKNOWN_TOTAL;
+            case CONCURRENT -> joinCount(concurrentCount);
+            case ESTIMATED -> Math.max(estimateTotal(repo, from, to), slice.getNumberOfElements());
+            case EXACT -> isLastOffsetPage(slice, cursor)
+                    ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                    : repo.count(spec);
+        };
+
+        return new CapturePage<>(slice, total);
+    }
+
+    /**
+     * Checks whether a slice is the final page of an offset search, in which case the
+     * total follows from the offset and no count query is needed.
+     *
+     * @param slice Content slice
+     * @param cursor Keyset position (nullable)
+     * @return true if the total can be derived from the slice
+     */
+    private boolean isLastOffsetPage(Slice<?> slice, SearchCursor cursor) {
+        return cursor == null && !slice.hasNext() && slice.hasContent() && slice.getPageable().isPaged();
+    }
+
+    /**
+     * Waits for a concurrent count and unwraps its failure.
+     *
+     * @param count Count future
+     * @return Counted total
+     */
+    private long joinCount(CompletableFuture<Long> count) {
+        try {
+            return count.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the PostgreSQL planner's row estimate for captures in a date range.
+     *
+     * @param repo Capture repository for the OPCO
+     * @param from Start datetime
+     * @param to End datetime
+     * @param <T> Capture entity type
+     * @return Estimated row count, or 0 if the plan carries no estimate
+     */
+    private <T extends VpiCaptureBase> long estimateTotal(
+            VpiCaptureRepository<T> repo,
+            OffsetDateTime from,
+            OffsetDateTime to) {
+
+        List<String> plan = repo.explainDateRange(from, to);
+        if (plan.isEmpty()) {
+            return 0L;
+        }
+
+        Matcher matcher = PLAN_ROWS_PATTERN.matcher(plan.getFirst());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+
+    /**
+     * Resolves the count strategy that can actually serve a search.
+     *
+     * <p>The planner estimate only covers the date range, so searches with any other
+     * predicate fall back to an exact count run concurrently with the content query.
+     *
+     * @param requested Requested count strategy
+     * @param filters Additional filters (nullable)
+     * @param userIds Matched user IDs
+     * @return Effective count strategy
+     */
+    private CountMode resolveCountMode(CountMode requested, VpiFiltersRequest filters, Set<UUID> userIds) {
+        if (requested == CountMode.ESTIMATED && !isDateRangeOnly(filters, userIds)) {
+            logger.debug("Estimated count requested with filters; using concurrent exact count");
+            return CountMode.CONCURRENT;
+        }
+        return requested;
+    }
+
+    /**
+     * Checks whether a search is constrained by its date range alone.
+     *
+     * @param filters Additional filters (nullable)
+     * @param userIds Matched user IDs
+     * @return true if no filter besides the date range applies
+     */
+    private boolean isDateRangeOnly(VpiFiltersRequest filters, Set<UUID> userIds) {
+        if (userIds != null && !userIds.isEmpty()) {
+            return false;
+        }
+        if (filters == null) {
+            return true;
+        }
+        return cleanNames(filters.getExtensionNum()).isEmpty()
+                && cleanNames(filters.getChannelNum()).isEmpty()
+                && cleanNames(filters.getAniAliDigits()).isEmpty()
+                && cleanNames(filters.getAgentID()).isEmpty()
+                && (filters.getObjectIDs() == null || filters.getObjectIDs().stream().allMatch(Objects::isNull))
+                && filters.getDirection() == null;
+    }
+
+    /**
+     * A slice of capture entities together with the total produced by the count strategy.
+     *
+     * @param slice Content slice
+     * @param total Total records, or {@value #UNKNOWN_TOTAL} when not counted
+     * @param <T> Capture entity type
+     */
+    private record CapturePage<T>(Slice<T> slice, long total) {
+    }
+
+    // ========== Federated Search Methods ==========
+
+    /**
+     * Checks whether a search request targets more than a single OPCO.
+     *
+     * @param request The search request
+     * @return true if {@code opcos} is set or {@code opco} is ALL
+     */
+    private boolean isFederated(VpiSearchRequest request) {
+        return (request.getOpcos() != null && !request.getOpcos().isEmpty())
+                || isAllOpcos(request.getOpco());
+    }
+
+    /**
+     * Checks whether an {@code opco} value selects every OPCO.
+     *
+     * @param opco The requested OPCO (nullable)
+     * @return true if it is ALL, ignoring case and surrounding whitespace
+     */
+    private static boolean isAllOpcos(String opco) {
+        return ALL_OPCOS.equalsIgnoreCase(opco == null ? null : opco.strip());
+    }
+
+    /**
+     * Resolves the OPCOs a federated search should query, in a stable order.
+     *
+     * @param request The search request
+     * @return Distinct upper-case OPCO codes
+     */
+    private List<String> resolveFederatedOpcos(VpiSearchRequest request) {
+        Set<String> requested = new HashSet<>();
+        if (request.getOpcos() != null) {
+            request.getOpcos().forEach(opco -> requested.add(opco.trim().toUpperCase(Locale.ROOT)));
+        }
+        if (isAllOpcos(request.getOpco())) {
+            requested.add(ALL_OPCOS);
+        }
+
+        boolean all = requested.contains(ALL_OPCOS);
+        return FEDERATED_OPCO_ORDER.stream()
+                .filter(opco -> all || requested.contains(opco))
+                .toList();
+    }
+
+    /**
+     * Checks whether the datasource for an OPCO is configured.
+     *
+     * @param opco Upper-case OPCO code
+     * @return true if its capture repository is available
+     */
+    private boolean isRepoEnabled(String opco) {
+        return switch (opco) {
+            case CMP -> cmpRepo != null;
+            case NYSEG -> nysegRepo != null;
+            case RGE -> rgeRepo != null;
+            default -> false;
+        };
+    }
+
+    /**
+     * Searches several OPCOs at once and merges the results by {@code dateAdded}.
+     *
+     * <p>Each OPCO is queried in parallel on its own datasource for only the rows that can
+     * reach the requested page ({@code offset + pageSize}, or {@code pageSize} past a keyset
+     * cursor). The per-OPCO streams are then k-way merged in sort order. OPCOs whose
+     * datasource is disabled, fails, or does not answer within
+     * {@code search.federated.timeout-ms} are left out and listed in the response. Each
+     * query carries the time left until that deadline as its JDBC timeout, so the database
+     * cancels a slow OPCO's query rather than letting it hold a search executor thread.
+     *
+     * @param from Start datetime
+     * @param to End datetime
+     * @param opcos OPCO codes to query
+     * @param filters Additional filters (nullable)
+     * @param pageable Pagination settings
+     * @param cursor Keyset position (nullable)
+     * @param countMode Total count strategy
+     * @return Merged page across all answering OPCOs
+     * @throws InvalidRequestException if the offset window is too deep
+     * @throws RecordingProcessingException if no OPCO could be queried
+     */
+    private SearchPage searchFederated(
+            OffsetDateTime from,
+            OffsetDateTime to,
+            List<String> opcos,
+            VpiFiltersRequest filters,
+            Pageable pageable,
+            SearchCursor cursor,
+            CountMode countMode) {
+
+        int skip = cursor == null ? Math.toIntExact(pageable.getOffset()) : 0;
+        int window = skip + pageable.getPageSize();
+        if (window > FEDERATED_MAX_WINDOW) {
+            throw new InvalidRequestException(String.format(
+                    "Federated offset paging is limited to %d rows; use pagination.cursor for deeper pages",
+                    FEDERATED_MAX_WINDOW));
+        }
+
+        List<String> cleanedNames = cleanNames(filters != null ? filters.getName() : null);
+        List<String> unavailable = new ArrayList<>();
+        Map<String, CompletableFuture<OpcoWindow>> tasks = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(federatedTimeoutMs);
+
+        for (String opco : opcos) {
+            if (!isRepoEnabled(opco)) {
+                logger.warn("{} datasource is disabled; skipping in federated search", opco);
+                unavailable.add(opco);
+                continue;
+            }
+            tasks.put(opco, CompletableFuture
+                    .supplyAsync(() -> resolveUserFilter(opco, cleanedNames), searchExecutor)
+                    .thenCompose(userIds -> userIds.isPresent()
+                            ? fetchOpcoWindowAsync(opco, from, to, filters, userIds.get(),
+                                    window, cursor, resolveCountMode(countMode, filters, userIds.get()), deadline)
+                            : CompletableFuture.completedFuture(OpcoWindow.empty(opco))));
+        }
+
+        List<OpcoWindow> windows = awaitWindows(tasks, unavailable, deadline);
+        if (windows.isEmpty() && !unavailable.isEmpty()) {
+            throw new RecordingProcessingException("No OPCO datasource answered the search: " + unavailable);
+        }
+
+        return mergeWindows(windows, skip, pageable, countMode, unavailable);
+    }
+
+    /**
+     * Resolves the name filter for one OPCO.
+     *
+     * @param opco OPCO code
+     * @param cleanedNames Cleaned name filter values
+     * @return Matched user IDs (empty set when no name filter), or empty Optional when
+     *         the name filter matched nobody in this OPCO
+     */
+    private Optional<Set<UUID>> resolveUserFilter(String opco, List<String> cleanedNames) {
+        if (cleanedNames.isEmpty()) {
+            return Optional.of(Collections.emptySet());
+        }
+        Set<UUID> matched = fetchMatchedUserIds(opco, cleanedNames);
+        return matched.isEmpty() ? Optional.empty() : Optional.of(matched);
+    }
+
+    /**
+     * Starts the window and count queries for one OPCO.
+     */
+    private CompletableFuture<OpcoWindow> fetchOpcoWindowAsync(
+            String opco,
+            OffsetDateTime from,
+            OffsetDateTime to,
+            VpiFiltersRequest filters,
+            Set<UUID> userIds,
+            int window,
+            SearchCursor cursor,
+            CountMode countMode,
+            long deadline) {
+
+        return switch (opco) {
+            case CMP -> fetchWindowAsync(CMP, cmpRepo, from, to, filters, userIds, window, cursor, countMode, deadline);
+            case NYSEG -> fetchWindowAsync(NYSEG, nysegRepo, from, to, filters, userIds, window, cursor, countMode, deadline);
+            case RGE -> fetchWindowAsync(RGE, rgeRepo, from, to, filters, userIds, window, cursor, countMode, deadline);
+            default -> throw new InvalidRequestException("Invalid OPCO code: " + opco);
+        };
+    }
+
+    /**
+     * Fetches the top {@code window} rows of one OPCO and, unless disabled, its total,
+     * as two parallel queries on the search executor.
+     *
+     * @param opco OPCO code
+     * @param repo Capture repository for the OPCO
+     * @param from Start datetime
+     * @param to End datetime
+     * @param filters Additional filters (nullable)
+     * @param userIds Matched user IDs
+     * @param window Number of rows to read
+     * @param cursor Keyset position (nullable)
+     * @param countMode Total count strategy
+     * @param deadline Federated deadline, in {@link System#nanoTime()} units
+     * @param <T> Capture entity type
+     * @return Future for the OPCO's window
+     */
+    private <T extends VpiCaptureBase> CompletableFuture<OpcoWindow> fetchWindowAsync(
+            String opco,
+            VpiCaptureRepository<T> repo,
+            OffsetDateTime from,
+            OffsetDateTime to,
+            VpiFiltersRequest filters,
+            Set<UUID> userIds,
+            int window,
+            SearchCursor cursor,
+            CountMode countMode,
+            long deadline) {
+
+        Specification<T> spec = CaptureSpecifications.build(from, to, filters, userIds);
+
+        CompletableFuture<Slice<T>> rows = CompletableFuture.supplyAsync(
+                () -> repo.findSlice(seekAfter(spec, cursor), PageRequest.of(0, window, KEYSET_SORT),
+                        remainingQueryTimeoutMs(opco, deadline)),
+                searchExecutor);
+
+        CompletableFuture<Long> total = countMode == CountMode.NONE
+                ? CompletableFuture.completedFuture(UNKNOWN_TOTAL)
+                : CompletableFuture.supplyAsync(() -> countMode == CountMode.ESTIMATED
+                        ? estimateTotal(repo, from, to)
+                        : repo.count(spec, remainingQueryTimeoutMs(opco, deadline)), searchExecutor);
+
+        return rows.thenCombine(total, (slice, count) ->
+                new OpcoWindow(opco, slice.getContent(), slice.hasNext(), count));
+    }
+
+    /**
+     * Time left until the federated deadline, as a query timeout. A query still queued on
+     * the search executor when the deadline passes is not started at all.
+     *
+     * @param opco OPCO code
+     * @param deadline Federated deadline, in {@link System#nanoTime()} units
+     * @return Remaining milliseconds
+     * @throws RecordingProcessingException if the deadline has passed
+     */
+    private static long remainingQueryTimeoutMs(String opco, long deadline) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+            throw new RecordingProcessingException(opco + " query not started before the federated search deadline");
+        }
+        return remaining;
+    }
+
+    /**
+     * Waits for per-OPCO windows within the federated deadline. OPCOs that fail or time
+     * out are added to {@code unavailable}.
+     *
+     * @param tasks Futures by OPCO
+     * @param unavailable Collector for OPCOs left out of the result
+     * @param deadline Federated deadline, in {@link System#nanoTime()} units
+     * @return Windows of the OPCOs that answered
+     */
+    private List<OpcoWindow> awaitWindows(Map<String, CompletableFuture<OpcoWindow>> tasks,
+                                          List<String> unavailable,
+                                          long deadline) {
+        List<OpcoWindow> windows = new ArrayList<>();
+
+        for (Map.Entry<String, CompletableFuture<OpcoWindow>> task : tasks.entrySet()) {
+            try {
+                long remaining = Math.max(deadline - System.nanoTime(), 0L);
+                windows.add(task.getValue().get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                task.getValue().cancel(true);
+                logger.warn("{} did not answer federated search within {} ms", task.getKey(), federatedTimeoutMs);
+                unavailable.add(task.getKey());
+            } catch (ExecutionException e) {
+                logger.error("{} failed during federated search", task.getKey(), e.getCause());
+                unavailable.add(task.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                tasks.values().forEach(future -> future.cancel(true));
+                throw new RecordingProcessingException("Federated search interrupted", e);
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * K-way merges per-OPCO windows in sort order and maps the requested page.
+     *
+     * @param windows Per-OPCO windows, each already sorted
+     * @param skip Rows to skip before the page (offset paging)
+     * @param pageable Pagination settings
+     * @param countMode Count strategy that produced the totals
+     * @param unavailable OPCOs left out of the result
+     * @return Merged page
+     */
+    private SearchPage mergeWindows(List<OpcoWindow> windows,
+                                    int skip,
+                                    Pageable pageable,
+                                    CountMode countMode,
+                                    List<String> unavailable) {
+
+        Comparator<WindowHead> headOrder = Comparator.comparing(WindowHead::current, SearchCursor.DESCENDING_ORDER);
+        PriorityQueue<WindowHead> heads = new PriorityQueue<>(Math.max(windows.size(), 1), headOrder);
+        windows.stream()
+                .filter(window -> !window.rows().isEmpty())
+                .forEach(window -> heads.add(new WindowHead(window, 0)));
+
+        List<OpcoCapture> merged = new ArrayList<>(pageable.getPageSize());
+        int position = 0;
+        while (!heads.isEmpty() && merged.size() < pageable.getPageSize()) {
+            WindowHead head = heads.poll();
+            if (position++ >= skip) {
+                merged.add(new OpcoCapture(head.window().opco(), head.current()));
+            }
+            if (head.index() + 1 < head.window().rows().size()) {
+                heads.add(new WindowHead(head.window(), head.index() + 1));
+            }
+        }
+
+        boolean hasNext = !heads.isEmpty() || windows.stream().anyMatch(OpcoWindow::hasMore);
+        long total = windows.stream().anyMatch(window -> window.total() < 0)
+                ? UNKNOWN_TOTAL
+                : windows.stream().mapToLong(OpcoWindow::total).sum();
+
+        String nextCursor = null;
+        if (hasNext && !merged.isEmpty()) {
+            SearchCursor cursor = SearchCursor.of(merged.getLast().capture());
+            nextCursor = cursor != null ? cursor.encode() : null;
+        }
+
+        int pageSize = pageable.getPageSize();
+        int totalPages = total < 0 ? (int) UNKNOWN_TOTAL : (int) Math.ceil((double) total / pageSize);
+
+        return new SearchPage(
+                mapFederated(merged),
+                pageable.getPageNumber() + 1,
+                pageSize,
+                total,
+                totalPages,
+                hasNext,
+                nextCursor,
+                countMode,
+                List.copyOf(unavailable));
+    }
+
+    /**
+     * Maps merged captures to DTOs, resolving usernames once per OPCO.
+     *
+     * @param merged Captures in page order
+     * @return DTOs in the same order
+     */
+    private List<VpiMetadata> mapFederated(List<OpcoCapture> merged) {
+        Map<String, Set<UUID>> userIdsByOpco = new HashMap<>();
+        for (OpcoCapture item : merged) {
+            if (item.capture().getUserId() != null) {
+                userIdsByOpco.computeIfAbsent(item.opco(), key -> new HashSet<>())
+                        .add(item.capture().getUserId());
+            }
+        }
+
+        Map<String, Map<UUID, String>> namesByOpco = new HashMap<>();
+        userIdsByOpco.forEach((opco, ids) -> namesByOpco.put(opco, fetchUserNames(opco, ids)));
+
+        return merged.stream()
+                .map(item -> VpiMetadataMapper.convertToMetadata(item.capture(), item.opco(),
+                        namesByOpco.getOrDefault(item.opco(), Collections.emptyMap())))
+                .toList();
+    }
+
+    /**
+     * The top rows of one OPCO for a federated search.
+     *
+     * @param opco OPCO code
+     * @param rows Rows in sort order
+     * @param hasMore Whether the OPCO has rows beyond this window
+     * @param total Total for the OPCO, or {@value #UNKNOWN_TOTAL} when not counted
+     */
+    private record OpcoWindow(String opco, List<? extends VpiCaptureView> rows, boolean hasMore, long total) {
+
+        static OpcoWindow empty(String opco) {
+            return new OpcoWindow(opco, Collections.emptyList(), false, 0L);
+        }
+    }
+
+    /**
+     * Merge cursor into an {@link OpcoWindow}.
+     */
+    private record WindowHead(OpcoWindow window, int index) {
+
+        VpiCaptureView current() {
+            return window.rows().get(index);
+        }
+    }
+
+    /**
+     * A capture tagged with the OPCO it came from.
+     */
+    private record OpcoCapture(String opco, VpiCaptureView capture) {
+    }
+
+    // ========== Export Methods ==========
+
+    /**
+     * Parses the requested export format.
+     *
+     * @param format Format name (case-insensitive)
+     * @return Export format
+     * @throws InvalidRequestException if the format is unknown
+     */
+    private ExportFormat parseExportFormat(String format) {
+        validateRequiredField(format, "Export format");
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid export format '" + format + "'. Allowed values: ndjson, csv");
+        }
+    }
+
+    /**
+     * Looks up the transaction manager of an OPCO datasource ({@code cmpTransactionManager}, ...).
+     *
+     * @param opco Upper-case OPCO code
+     * @return Transaction manager
+     * @throws InvalidRequestException if the datasource is not configured
+     */
+    private PlatformTransactionManager resolveTransactionManager(String opco) {
+        PlatformTransactionManager manager =
+                transactionManagers.get(opco.toLowerCase(Locale.ROOT) + TRANSACTION_MANAGER_SUFFIX);
+        if (manager == null) {
+            throw new InvalidRequestException(opco + " datasource is disabled");
+        }
+        return manager;
+    }
+
+    /**
+     * Writes all matching rows of one OPCO to the export writer.
+     *
+     * @return Number of rows written
+     */
+    private long writeExport(
+            String opco,
+            OffsetDateTime from,
+            OffsetDateTime to,
+            VpiFiltersRequest filters,
+            Set<UUID> userIds,
+            PlatformTransactionManager transactionManager,
+            ExportFormat format,
+            Writer writer) throws IOException {
+
+        return switch (opco) {
+            case CMP -> exportCaptures(cmpRepo, opco, from, to, filters, userIds, transactionManager, format, writer);
+            case NYSEG -> exportCaptures(nysegRepo, opco, from, to, filters, userIds, transactionManager, format, writer);
+            case RGE -> exportCaptures(rgeRepo, opco, from, to, filters, userIds, transactionManager, format, writer);
+            default -> throw new InvalidRequestException("Invalid OPCO code: " + opco);
+        };
+    }
+
+    /**
+     * Streams matching captures from one repository in batches.
+     *
+     * <p>The cursor only stays open inside a transaction, so the whole export runs in a
+     * read-only one. A failed write (typically the client going away) closes the cursor
+     * and releases the connection.
+     *
+     * @return Number of rows written
+     */
+    private <T extends VpiCaptureBase> long exportCaptures(
+            VpiCaptureRepository<T> repo,
+            String opco,
+            OffsetDateTime from,
+            OffsetDateTime to,
+            VpiFiltersRequest filters,
+            Set<UUID> userIds,
+            PlatformTransactionManager transactionManager,
+            ExportFormat format,
+            Writer writer) throws IOException {
+
+        Specification<T> spec = CaptureSpecifications.build(from, to, filters, userIds);
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        try {
+            Long written = template.execute(status -> {
+                long count = 0;
+                List<T> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+
+                try (Stream<T> rows = repo.streamAll(spec, KEYSET_SORT, exportFetchSize)) {
+                    Iterator<T> it = rows.iterator();
+                    while (it.hasNext()) {
+                        batch.add(it.next());
+                        if (batch.size() == EXPORT_BATCH_SIZE) {
+                            count += writeExportBatch(batch, opco, format, writer);
+                            batch.clear();
+                        }
+                    }
+                    count += writeExportBatch(batch, opco, format, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+            return written != null ? written : 0L;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Resolves usernames for a batch, writes it and flushes it to the client.
+     *
+     * @return Number of rows written
+     */
+    private int writeExportBatch(
+            List<? extends VpiCaptureView> batch,
+            String opco,
+            ExportFormat format,
+            Writer writer) throws IOException {
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, String> userNameMap = fetchUserNames(opco, extractUserIds(batch));
+
+        for (VpiCaptureView rec : batch) {
+            VpiMetadata dto = VpiMetadataMapper.convertToMetadata(rec, opco, userNameMap);
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(dto, writer);
+            } else {
+                writer.write(exportMapper.writeValueAsString(dto));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+
+        return batch.size();
+    }
+
+    /**
+     * Writes one CSV row in {@link #EXPORT_CSV_COLUMNS} order.
+     */
+    private void writeCsvRow(VpiMetadata dto, Writer writer) throws IOException {
+        List<Object> values = Arrays.asList(
+                dto.getObjectId(), dto.getDateAdded(), dto.getStartTime(), dto.getDuration(),
+                dto.getOpco(), dto.getUserId(), dto.getUsername(), dto.getAgentId(),
+                dto.getExtensionNum(), dto.getChannelNum(), dto.getChannelName(),
+                dto.getAniAliDigits(), dto.isDirection(), dto.getCallId(), dto.getTags());
+
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+    }
+
+    /**
+     * Quotes a CSV value when it contains a delimiter, quote or line break (RFC 4180).
+     */
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0
+                && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
     }
 
     // ========== User Management Methods ==========
@@ -1546,6 +2990,9 @@ public class VpiRecordingService {
     /**
      * Fetches user IDs matching any of the provided names.
      *
+     * <p>Served from the in-memory {@link UserDirectory} when it is loaded, otherwise
+     * from a {@code LIKE} scan of the user table.
+     *
      * @param opco OPCO code
      * @param names List of names to match
      * @return Set of matched user UUIDs
@@ -1555,6 +3002,11 @@ public class VpiRecordingService {
             return Collections.emptySet();
         }
 
+        Optional<UserDirectory> directory = userDirectoryService.find(opco);
+        if (directory.isPresent()) {
+            return directory.get().findIdsByNameContainsAny(names);
+        }
+
         String upperOpco = opco.toUpperCase();
         String[] namesArray = names.toArray(new String[0]);
 
@@ -1569,6 +3021,9 @@ public class VpiRecordingService {
     /**
      * Fetches usernames for a set of user IDs.
      *
+     * <p>Names come from the in-memory {@link UserDirectory} when it is loaded; only users
+     * added since its last refresh are looked up in the database.
+     *
      * @param opco OPCO code
      * @param userIds Set of user UUIDs
      * @return Map of user ID to full name
@@ -1578,6 +3033,28 @@ public class VpiRecordingService {
             return Collections.emptyMap();
         }
 
+        Optional<UserDirectory> directory = userDirectoryService.find(opco);
+        if (directory.isPresent()) {
+            Map<UUID, String> names = directory.get().findNames(userIds);
+            if (names.size() < userIds.size()) {
+                Set<UUID> missing = new HashSet<>(userIds);
+                missing.removeAll(names.keySet());
+                names.putAll(queryUserNames(opco, missing));
+            }
+            return names;
+        }
+
+        return queryUserNames(opco, userIds);
+    }
+
+    /**
+     * Loads usernames for a set of user IDs from the OPCO user table.
+     *
+     * @param opco OPCO code
+     * @param userIds Set of user UUIDs
+     * @return Map of user ID to full name
+     */
+    private Map<UUID, String> queryUserNames(String opco, Set<UUID> userIds) {
         String upperOpco = opco.toUpperCase();
 
         return switch (upperOpco) {
@@ -1642,179 +3119,79 @@ public class VpiRecordingService {
      */
     private List<Map<String, Object>> metadataFull(List<? extends VpiCaptureView> recordings) {
         return recordings.stream()
-                .map(this::buildMetadataMap)
+                .map(VpiMetadataMapper::buildMetadataMap)
                 .toList();
     }
 
-    /**
-     * Builds a comprehensive metadata map from a recording entity.
-     *
-     * @param rec The recording entity
-     * @return Map containing all metadata fields
-     */
-    private Map<String, Object> buildMetadataMap(VpiCaptureView rec) {
-        Map<String, Object> map = new LinkedHashMap<>();
-
-        addIdentifierFields(map, rec);
-        addTimingFields(map, rec);
-        addTriggerAndTagFields(map, rec);
-        addChannelAndAgentFields(map, rec);
-        addMediaFields(map, rec);
-        addCallIdFields(map, rec);
-        addServiceFields(map, rec);
-        addTranscriptionFields(map, rec);
-
-        return map;
-    }
-
-    /**
-     * Adds identifier fields to metadata map.
-     */
-    private void addIdentifierFields(Map<String, Object> map, VpiCaptureView rec) {
-        map.put("objectId", rec.getObjectId());
-        map.put("dateAdded", rec.getDateAdded());
-        map.put("resourceId", rec.getResourceId());
-        map.put("workstationId", rec.getWorkstationId());
-        map.put("userId", rec.getUserId());
-    }
-
-    /**
-     * Adds timing fields to metadata map.
-     */
-    private void addTimingFields(Map<String, Object> map, VpiCaptureView rec) {
-        map.put("startTime", rec.getStartTime());
-        map.put("gmtOffset", rec.getGmtOffset());
-        map.put("gmtStartTime", rec.getGmtStartTime());
-        map.put("duration", rec.getDuration());
-    }
-
-    /**
-     * Adds trigger and tag fields to metadata map.
-     */
-    private void addTriggerAndTagFields(Map<String, Object> map, VpiCaptureView rec) {
-        map.put("triggeredByResourceTypeId", rec.getTriggeredByResourceTypeId());
-        map.put("triggeredByObjectId", rec.getTriggeredByObjectId());
-        map.put("flagId", rec.getFlagId());
-        map.put("tags", rec.getTags());
-        map.put("sensitivityLevel", rec.getSensitivityLevel());
-        map.put("clientId", rec.getClientId());
-    }
+    // ========== Entity Mapping Methods ==========
 
     /**
-     * Adds channel and agent fields to metadata map.
+     * Enriches a slice of recordings and wraps it with paging state, including the
+     * keyset cursor for the next page.
+     *
+     * @param slice Slice of recording entities
+     * @param total Total records, or {@value #UNKNOWN_TOTAL} when not counted
+     * @param opco OPCO code
+     * @param countMode Count strategy that produced the total
+     * @return SearchPage ready for the response
      */
-    private void addChannelAndAgentFields(Map<String, Object> map, VpiCaptureView rec) {
-        map.put("channelNum", rec.getChannelNum());
-        map.put("channelName", rec.getChannelName());
-        map.put("extensionNum", rec.getExtensionNum());
-        map.put("agentId", rec.getAgentId());
-        map.put("pbxDnis", rec.getPbxDnis());
-        map.put("anialidigits", rec.getAnialidigits());
-        map.put("direction", rec.getDirection());
-    }
+    private SearchPage toSearchPage(
+            Slice<? extends VpiCaptureView> slice,
+            long total,
+            String opco,
+            CountMode countMode) {
 
-    /**
-     * Adds media fields to metadata map.
-     */
-    private void addMediaFields(Map<String, Object> map, VpiCaptureView rec) {
-        map.put("mediaFileId", rec.getMediaFileId());
-        map.put("mediaManagerId", rec.getMediaManagerId());
-        map.put("mediaRetention", rec.getMediaRetention());
-    }
+        String nextCursor = null;
+        if (slice.hasContent() && slice.hasNext()) {
+            SearchCursor cursor = SearchCursor.of(slice.getContent().getLast());
+            nextCursor = cursor != null ? cursor.encode() : null;
+        }
 
-    /**
-     * Adds call ID fields to metadata map.
-     */
-    private void addCallIdFields(Map<String, Object> map, VpiCaptureView rec) {
-        map.put("callId", rec.getCallId());
-        map.put("previousCallId", rec.getPreviousCallId());
-        map.put("globalCallId", rec.getGlobalCallId());
-    }
+        int pageSize = slice.getSize();
+        int totalPages = total < 0 || pageSize == 0
+                ? (int) UNKNOWN_TOTAL
+                : (int) Math.ceil((double) total / pageSize);
 
-    /**
-     * Adds service fields to metadata map.
-     */
-    private void addServiceFields(Map<String, Object> map, VpiCaptureView rec) {
-        map.put("classOfService", rec.getClassOfService());
-        map.put("classOfServiceDate", rec.getClassOfServiceDate());
-        map.put("xPlatformRef", rec.getXPlatformRef());
+        return new SearchPage(
+                enrichAndMap(slice, opco).getContent(),
+                slice.getNumber() + 1,
+                pageSize,
+                total,
+                totalPages,
+                slice.hasNext(),
+                nextCursor,
+                countMode,
+                null);
     }
 
     /**
-     * Adds transcription fields to metadata map.
-     */
-    private void addTranscriptionFields(Map<String, Object> map, VpiCaptureView rec) {
-        map.put("transcriptResult", rec.getTranscriptResult());
-        map.put("warehouseObjectKey", rec.getWarehouseObjectKey());
-        map.put("transcriptStatus", rec.getTranscriptStatus());
-        map.put("audioChannels", rec.getAudioChannels());
-        map.put("hasTalkover", rec.getHasTalkover());
-    }
-
-    // ========== Entity Mapping Methods ==========
-
-    /**
-     * Enriches a page of recordings with usernames and converts to DTOs.
+     * Enriches a slice of recordings with usernames and converts to DTOs.
      *
-     * @param page Page of recording entities
+     * @param page Slice of recording entities
      * @param opco OPCO code
-     * @return Page of VpiMetadata DTOs
+     * @return Slice of VpiMetadata DTOs
      */
-    private Page<VpiMetadata> enrichAndMap(Page<? extends VpiCaptureView> page, String opco) {
+    private Slice<VpiMetadata> enrichAndMap(Slice<? extends VpiCaptureView> page, String opco) {
         if (page.isEmpty()) {
-            return Page.empty(page.getPageable());
+            return new SliceImpl<>(Collections.emptyList(), page.getPageable(), false);
         }
 
-        Set<UUID> userIds = extractUserIds(page);
+        Set<UUID> userIds = extractUserIds(page.getContent());
         Map<UUID, String> userNameMap = fetchUserNames(opco, userIds);
 
-        return page.map(rec -> convertToMetadata(rec, opco, userNameMap));
+        return page.map(rec -> VpiMetadataMapper.convertToMetadata(rec, opco, userNameMap));
     }
 
     /**
-     * Extracts unique user IDs from a page of recordings.
+     * Extracts unique user IDs from a list of recordings.
      *
-     * @param page Page of recordings
+     * @param recordings Recordings
      * @return Set of user UUIDs
      */
-    private Set<UUID> extractUserIds(Page<? extends VpiCaptureView> page) {
-        return page.getContent().stream()
+    private Set<UUID> extractUserIds(List<? extends VpiCaptureView> recordings) {
+        return recordings.stream()
                 .map(VpiCaptureView::getUserId)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
     }
-
-    /**
-     * Converts a recording entity to a VpiMetadata DTO.
-     *
-     * @param rec The recording entity
-     * @param opco OPCO code
-     * @param userNameMap Map of user IDs to names
-     * @return VpiMetadata DTO
-     */
-    private VpiMetadata convertToMetadata(
-            VpiCaptureView rec,
-            String opco,
-            Map<UUID, String> userNameMap) {
-
-        VpiMetadata dto = new VpiMetadata();
-
-        dto.setObjectId(rec.getObjectId());
-        dto.setDateAdded(toXmlStartTime(rec.getDateAdded()));
-        dto.setStartTime(toXmlStartTime(rec.getStartTime()));
-        dto.setDuration(rec.getDuration());
-        dto.setTags(rec.getTags());
-        dto.setChannelName(rec.getChannelName());
-        dto.setCallId(rec.getCallId());
-        dto.setUserId(rec.getUserId());
-        dto.setAgentId(rec.getAgentId());
-        dto.setExtensionNum(rec.getExtensionNum());
-        dto.setChannelNum(rec.getChannelNum());
-        dto.setAniAliDigits(rec.getAnialidigits());
-        dto.setUsername(userNameMap.get(rec.getUserId()));
-        dto.setDirection(rec.getDirection());
-        dto.setOpco(opco);
-
-        return dto;
-    }
 }
\ No newline at end of file
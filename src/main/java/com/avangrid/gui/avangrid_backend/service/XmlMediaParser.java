@@ -5,16 +5,15 @@ import com.avangrid.gui.avangrid_backend.model.common.MediaMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.*;
-import org.xml.sax.SAXException;
 
 import javax.xml.XMLConstants;
-import javax.xml.parsers.*;
-import java.io.IOException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.InputStream;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.function.Predicate;
 
 /**
  * Parser for VPI XML media metadata files.
@@ -25,6 +24,10 @@ import java.util.stream.IntStream;
  *   <li>NYSEG/RGE format: Direct Media element</li>
  * </ul>
  *
+ * <p>Files are read with a StAX pull parser, so records are produced one at a time as the
+ * stream is read and a caller looking for one record can stop as soon as it is found. A CMP
+ * day file can hold thousands of Media elements; no document tree is built for them.
+ *
  * <p>Implements secure XML parsing to prevent XXE and other attacks.
  *
  * @author Avangrid Backend Team
@@ -45,13 +48,7 @@ public class XmlMediaParser {
     private static final String ATTR_TYPE = "Type";
     private static final String ATTR_RESULT = "Result";
 
-    // Security features
-
-    private static final String FEATURE_DISALLOW_DOCTYPE = "http://apache.org/xml/features/disallow-doctype-decl";
-    private static final String FEATURE_EXTERNAL_GENERAL = "http://xml.org/sax/features/external-general-entities";
-    private static final String FEATURE_EXTERNAL_PARAMETER = "http://xml.org/sax/features/external-parameter-entities";
-    private static final String FEATURE_LOAD_EXTERNAL_DTD = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
-    private final DocumentBuilderFactory factory;
+    private final XMLInputFactory factory;
 
     /**
      * Constructs a new XmlMediaParser with secure XML parsing configuration.
@@ -59,7 +56,9 @@ public class XmlMediaParser {
      * @throws RecordingProcessingException if factory configuration fails
      */
     public XmlMediaParser() {
-        this.factory = DocumentBuilderFactory.newInstance();
+        // The JDK implementation, not whichever StAX provider is on the classpath, so the
+        // security properties below are known to be supported
+        this.factory = XMLInputFactory.newDefaultFactory();
         configureSecureFactory();
     }
 
@@ -71,32 +70,34 @@ public class XmlMediaParser {
      *   <li>External DTD loading</li>
      * </ul>
      *
+     * <p>DOCTYPE declarations are additionally rejected while parsing.
+     *
      * @throws RecordingProcessingException if configuration fails
      */
     private void configureSecureFactory() {
         try {
-            // Disable DOCTYPE declarations to prevent XXE attacks
-            factory.setFeature(FEATURE_DISALLOW_DOCTYPE, true);
+            // Do not process DTDs, so no entities can be declared
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
 
             // Disable external entities
-            factory.setFeature(FEATURE_EXTERNAL_GENERAL, false);
-            factory.setFeature(FEATURE_EXTERNAL_PARAMETER, false);
-
-            // Disable external DTD loading
-            factory.setFeature(FEATURE_LOAD_EXTERNAL_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
 
-            // Disable XInclude processing
-            factory.setXIncludeAware(false);
+            // Disable external DTD and schema loading
+            factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
 
-            // Disable entity expansion
-            factory.setExpandEntityReferences(false);
+            // Block any resolution that still gets through (defense in depth)
+            factory.setXMLResolver((publicId, systemId, baseUri, namespace) -> {
+                logger.warn("Attempted to resolve external entity - blocking: {}", systemId);
+                throw new XMLStreamException("External entity resolution is disabled");
+            });
 
-            // Set secure processing
-            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            // Deliver each text node as a single event
+            factory.setProperty(XMLInputFactory.IS_COALESCING, true);
 
             logger.debug("XML parser configured with security features enabled");
 
-        } catch (ParserConfigurationException e) {
+        } catch (IllegalArgumentException e) {
             throw new RecordingProcessingException("Failed to configure XML parser", e);
         }
     }
@@ -112,39 +113,43 @@ public class XmlMediaParser {
      * @throws RecordingProcessingException if parsing fails or stream is invalid
      */
     public List<MediaMetadata> parse(InputStream xmlStream) {
+        List<MediaMetadata> results = new ArrayList<>();
+        parse(xmlStream, results::add);
+        logger.debug("Successfully parsed {} media metadata records", results.size());
+        return results;
+    }
+
+    /**
+     * Parses XML stream and hands each media record to a consumer as soon as it is read.
+     *
+     * <p>Parsing stops as soon as {@code consumer} returns false, such as on the first
+     * record matching a lookup; the rest of the stream is left unread.
+     *
+     * @param xmlStream the XML input stream (must not be null)
+     * @param consumer receives each record in document order; returns false to stop parsing
+     * @return true if the whole document was read, false if the consumer stopped it
+     * @throws RecordingProcessingException if parsing fails or stream is invalid
+     */
+    public boolean parse(InputStream xmlStream, Predicate<MediaMetadata> consumer) {
 
         if (xmlStream == null) {
             throw new RecordingProcessingException("XML input stream cannot be null");
         }
 
+        XMLStreamReader reader = null;
         try {
-            DocumentBuilder builder = factory.newDocumentBuilder();
+            reader = factory.createXMLStreamReader(xmlStream);
+            return extractMediaMetadata(reader, consumer);
 
-            // Disable external entity resolution at builder level (defense in depth)
-            builder.setEntityResolver((publicId, systemId) -> {
-                logger.warn("Attempted to resolve external entity - blocking: {}", systemId);
-                throw new SAXException("External entity resolution is disabled");
-            });
-
-            Document document = builder.parse(xmlStream);
-            document.getDocumentElement().normalize();
-
-            List<MediaMetadata> results = extractMediaMetadata(document);
-            logger.debug("Successfully parsed {} media metadata records", results.size());
-
-            return results;
-
-        } catch (ParserConfigurationException e) {
-            throw new RecordingProcessingException("XML parser configuration failed", e);
-        } catch (SAXException e) {
+        } catch (XMLStreamException e) {
             throw new RecordingProcessingException("XML parsing failed - invalid XML", e);
-        } catch (IOException e) {
-            throw new RecordingProcessingException("Failed to read XML stream", e);
+        } finally {
+            closeQuietly(reader);
         }
     }
 
     /**
-     * Extracts MediaMetadata from parsed XML document.
+     * Reads media records from the document.
      *
      * <p>Handles two formats:
      * <ul>
@@ -152,24 +157,26 @@ public class XmlMediaParser {
      *   <li>NYSEG/RGE: Media (direct root element)</li>
      * </ul>
      *
-     * @param document the parsed XML document
-     * @return list of extracted MediaMetadata
+     * @param reader reader positioned at the start of the document
+     * @param consumer receives each record
+     * @return true if the whole document was read
      * @throws RecordingProcessingException if document structure is invalid
      */
-    private List<MediaMetadata> extractMediaMetadata(Document document) {
-        Element root = document.getDocumentElement();
-        String rootTag = root.getTagName();
+    private boolean extractMediaMetadata(XMLStreamReader reader,
+                                         Predicate<MediaMetadata> consumer) throws XMLStreamException {
+        String rootTag = nextRootElement(reader);
 
         logger.debug("Processing XML with root element: {}", rootTag);
 
         // CMP format: ExportSummary wrapper
         if (EXPORT_SUMMARY_TAG.equals(rootTag)) {
-            return parseExportSummaryFormat(root);
+            return parseExportSummaryFormat(reader, consumer);
         }
 
         // NYSEG/RGE format: Direct Media element
         if (MEDIA_TAG.equals(rootTag)) {
-            return Collections.singletonList(buildMetadata(root));
+            // A consumer that stops on the only record has not seen the whole document
+            return consumer.test(buildMetadata(reader));
         }
 
         throw new RecordingProcessingException(
@@ -181,39 +188,57 @@ public class XmlMediaParser {
     /**
      * Parses CMP format with ExportSummary > Objects > Media structure.
      *
-     * @param exportSummary the ExportSummary root element
-     * @return list of MediaMetadata from all Media elements
+     * <p>Only the first Objects element is read, at whatever depth it appears, and every
+     * Media element inside it.
+     *
+     * @param reader reader positioned on the ExportSummary start tag
+     * @param consumer receives each record
+     * @return true if the whole document was read
      * @throws RecordingProcessingException if required structure is missing
      */
-    private List<MediaMetadata> parseExportSummaryFormat(Element exportSummary) {
-        NodeList objectsNodes = exportSummary.getElementsByTagName(OBJECTS_TAG);
+    private boolean parseExportSummaryFormat(XMLStreamReader reader,
+                                             Predicate<MediaMetadata> consumer) throws XMLStreamException {
+        boolean objectsFound = false;
+        int objectsDepth = -1;
+        int depth = 1;
+        int mediaCount = 0;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == objectsDepth) {
+                    objectsDepth = -1;
+                }
+                depth--;
+
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String tag = qualifiedName(reader);
+
+                if (!objectsFound && OBJECTS_TAG.equals(tag)) {
+                    objectsFound = true;
+                    objectsDepth = depth;
+
+                } else if (objectsDepth != -1 && MEDIA_TAG.equals(tag)) {
+                    mediaCount++;
+                    if (!consumer.test(buildMetadata(reader))) {
+                        logger.debug("Stopped parsing after {} Media elements", mediaCount);
+                        return false;
+                    }
+                    // The reader is now on the Media end tag
+                    depth--;
+                }
+            }
+        }
 
-        if (objectsNodes.getLength() == 0) {
+        if (!objectsFound) {
             logger.error("Missing Objects element in ExportSummary");
             throw new RecordingProcessingException("Invalid XML: Missing Objects element in ExportSummary");
         }
 
-        Node firstNode = objectsNodes.item(0);
-        if (firstNode.getNodeType() != Node.ELEMENT_NODE) {
-            throw new RecordingProcessingException("Invalid XML: Objects is not an element node");
-        }
-
-        Element objectsElement = (Element) firstNode;
-        NodeList mediaNodes = objectsElement.getElementsByTagName(MEDIA_TAG);
-
-        if (mediaNodes.getLength() == 0) {
-            logger.debug("No Media elements found in Objects");
-            return Collections.emptyList();
-        }
-
-        logger.debug("Found {} Media elements", mediaNodes.getLength());
-
-        return IntStream.range(0, mediaNodes.getLength())
-                .mapToObj(mediaNodes::item)
-                .filter(node -> node.getNodeType() == Node.ELEMENT_NODE)
-                .map(Element.class::cast)
-                .map(this::buildMetadata)
-                .toList();
+        logger.debug("Found {} Media elements", mediaCount);
+        return true;
     }
 
     /**
@@ -225,19 +250,19 @@ public class XmlMediaParser {
      *   <li>Child elements: All mapped to dynamic fields</li>
      * </ul>
      *
-     * @param mediaElement the Media XML element
+     * @param reader reader positioned on the Media start tag; left on its end tag
      * @return populated MediaMetadata object
      */
-    private MediaMetadata buildMetadata(Element mediaElement) {
+    private MediaMetadata buildMetadata(XMLStreamReader reader) throws XMLStreamException {
         MediaMetadata metadata = new MediaMetadata();
 
         // Extract standard attributes
-        metadata.setFileName(getAttributeOrEmpty(mediaElement, ATTR_FILE_NAME));
-        metadata.setType(getAttributeOrEmpty(mediaElement, ATTR_TYPE));
-        metadata.setResult(getAttributeOrEmpty(mediaElement, ATTR_RESULT));
+        metadata.setFileName(getAttributeOrEmpty(reader, ATTR_FILE_NAME));
+        metadata.setType(getAttributeOrEmpty(reader, ATTR_TYPE));
+        metadata.setResult(getAttributeOrEmpty(reader, ATTR_RESULT));
 
         // Extract all child elements as dynamic fields
-        Map<String, String> fields = extractChildElements(mediaElement);
+        Map<String, String> fields = extractChildElements(reader);
         metadata.setFields(fields);
 
         logger.debug("Built metadata for file: {}", metadata.getFileName());
@@ -246,42 +271,108 @@ public class XmlMediaParser {
     }
 
     /**
-     * Extracts all child elements from a parent element as key-value pairs.
+     * Extracts all child elements of the current element as key-value pairs.
      *
      * <p>Duplicate keys keep the first occurrence.
      * Empty text content is stored as empty string.
      *
-     * @param parent the parent XML element
+     * @param reader reader positioned on the parent start tag; left on its end tag
      * @return map of element name to text content (never null)
      */
-    private Map<String, String> extractChildElements(Element parent) {
-        NodeList children = parent.getChildNodes();
-
-        return IntStream.range(0, children.getLength())
-                .mapToObj(children::item)
-                .filter(node -> node.getNodeType() == Node.ELEMENT_NODE)
-                .collect(Collectors.toMap(
-                        Node::getNodeName,
-                        node -> {
-                            String content = node.getTextContent();
-                            return content != null ? content : "";
-                        },
-                        (existing, replacement) -> existing, // Keep first occurrence on duplicate
-                        LinkedHashMap::new // Preserve insertion order
-                ));
+    private Map<String, String> extractChildElements(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> fields = new LinkedHashMap<>(); // Preserve insertion order
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return fields;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = qualifiedName(reader);
+                // Keep first occurrence on duplicate
+                fields.putIfAbsent(name, readTextContent(reader));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Reads the text content of the current element, including that of nested elements.
+     *
+     * @param reader reader positioned on the start tag; left on the matching end tag
+     * @return concatenated text (never null)
+     */
+    private String readTextContent(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+
+        while (depth > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        text.append(reader.getText());
+                default -> {
+                    // comments and processing instructions carry no text content
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Advances to the root element, rejecting a DOCTYPE declaration on the way.
+     *
+     * @param reader reader positioned at the start of the document
+     * @return root element name
+     */
+    private String nextRootElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.DTD) {
+                throw new XMLStreamException("DOCTYPE is disallowed", reader.getLocation());
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return qualifiedName(reader);
+            }
+        }
+        throw new XMLStreamException("Document has no root element", reader.getLocation());
+    }
+
+    /**
+     * Returns the element name as written in the document, including any prefix.
+     */
+    private String qualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return (prefix == null || prefix.isEmpty())
+                ? reader.getLocalName()
+                : prefix + ":" + reader.getLocalName();
     }
 
     /**
-     * Safely retrieves an XML attribute value.
+     * Safely retrieves an XML attribute value of the current element.
      *
-     * @param element the XML element
+     * @param reader reader positioned on a start tag
      * @param attributeName the attribute name
      * @return attribute value or empty string if not present
      */
-    private String getAttributeOrEmpty(Element element, String attributeName) {
-        return (element == null || attributeName == null)
-                ? ""
-                : element.getAttribute(attributeName);
+    private String getAttributeOrEmpty(XMLStreamReader reader, String attributeName) {
+        if (attributeName == null) {
+            return "";
+        }
+        String value = reader.getAttributeValue(null, attributeName);
+        return value != null ? value : "";
+    }
+
+    private void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            logger.debug("Failed to close XML reader: {}", e.getMessage());
+        }
     }
 
 
@@ -306,31 +397,27 @@ public class XmlMediaParser {
             return false;
         }
 
+        XMLStreamReader reader = null;
         try {
-            DocumentBuilder builder = factory.newDocumentBuilder();
-
-            // Security: disable entity resolution
-            builder.setEntityResolver((publicId, systemId) -> {
-                throw new SAXException("External entity resolution is disabled");
-            });
-
-            Document document = builder.parse(xmlStream);
-            Element root = document.getDocumentElement();
+            reader = factory.createXMLStreamReader(xmlStream);
+            String rootTag = nextRootElement(reader);
 
-            if (root == null) {
-                return false;
+            // Read to the end so the whole document is checked for well-formedness
+            while (reader.hasNext()) {
+                reader.next();
             }
 
-            String rootTag = root.getTagName();
             boolean isValid = EXPORT_SUMMARY_TAG.equals(rootTag) || MEDIA_TAG.equals(rootTag);
 
             logger.debug("XML validation result: {} (root: {})", isValid, rootTag);
 
             return isValid;
 
-        } catch (ParserConfigurationException | SAXException | IOException e) {
+        } catch (XMLStreamException e) {
             logger.debug("XML validation failed: {}", e.getMessage());
             return false;
+        } finally {
+            closeQuietly(reader);
         }
     }
-}
\ No newline at end of file
+}
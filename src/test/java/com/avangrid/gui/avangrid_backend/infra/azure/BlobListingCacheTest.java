@@ -0,0 +1,93 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import com.avangrid.gui.avangrid_backend.infra.blob.InMemoryBlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlobListingCacheTest {
+
+    private static final String DAY = "NYSEG/2024/1/15/";
+
+    @TempDir
+    Path dir;
+
+    private final InMemoryBlobStore store = new InMemoryBlobStore(new SimpleMeterRegistry(), 0, 0, 0, 0);
+    private final List<BlobListingCache> caches = new ArrayList<>();
+
+    @AfterEach
+    void closeCaches() {
+        caches.forEach(BlobListingCache::close);
+    }
+
+    @Test
+    void completedDayIsServedFromCacheUntilRelistedAfterMiss() {
+        store.put(DAY + "a.xml", new byte[0]);
+        BlobListingCache cache = cache(30);
+
+        assertThat(cache.listBlobs(DAY)).containsExactly(DAY + "a.xml");
+
+        store.put(DAY + "b.xml", new byte[0]);
+        assertThat(cache.listBlobs(DAY)).containsExactly(DAY + "a.xml");
+
+        assertThat(cache.relistAfterMiss(DAY)).contains(List.of(DAY + "a.xml", DAY + "b.xml"));
+        assertThat(cache.listBlobs(DAY)).containsExactly(DAY + "a.xml", DAY + "b.xml");
+    }
+
+    @Test
+    void completedDayIsRelistedAtMostOncePerTtl() {
+        store.put(DAY + "a.xml", new byte[0]);
+        BlobListingCache cache = cache(30);
+        cache.listBlobs(DAY);
+
+        assertThat(cache.relistAfterMiss(DAY)).isEmpty();
+
+        store.put(DAY + "b.xml", new byte[0]);
+        assertThat(cache.relistAfterMiss(DAY)).isEmpty();
+        assertThat(cache.listBlobs(DAY)).containsExactly(DAY + "a.xml");
+    }
+
+    @Test
+    void relistedDaySurvivesRestart() {
+        store.put(DAY + "a.xml", new byte[0]);
+        BlobListingCache cache = cache(30);
+        cache.listBlobs(DAY);
+        store.put(DAY + "b.xml", new byte[0]);
+        cache.relistAfterMiss(DAY);
+        cache.close();
+
+        store.delete(DAY + "a.xml");
+        BlobListingCache restarted = cache(30);
+
+        assertThat(restarted.listBlobs(DAY)).containsExactly(DAY + "a.xml", DAY + "b.xml");
+    }
+
+    @Test
+    void openDayIsNotRelistedAfterMiss() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String prefix = "NYSEG/" + today.getYear() + "/" + today.getMonthValue() + "/" + today.getDayOfMonth() + "/";
+        store.put(prefix + "a.xml", new byte[0]);
+        BlobListingCache cache = cache(0);
+        cache.listBlobs(prefix);
+
+        store.put(prefix + "b.xml", new byte[0]);
+
+        assertThat(cache.relistAfterMiss(prefix)).isEmpty();
+    }
+
+    private BlobListingCache cache(long completedRelistMinutes) {
+        BlobListingCache cache = new BlobListingCache(store, true, dir.resolve("listings.bin").toString(),
+                60, 120, completedRelistMinutes, 10, 256, "UTC");
+        caches.add(cache);
+        return cache;
+    }
+}
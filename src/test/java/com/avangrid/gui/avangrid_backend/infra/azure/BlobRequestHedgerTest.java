@@ -0,0 +1,186 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlobRequestHedgerTest {
+
+    private static final String OP = "content";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ManualExecutor attempts = new ManualExecutor();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final List<String> discarded = new CopyOnWriteArrayList<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Supplier<String> request = () -> "attempt-" + calls.incrementAndGet();
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void primaryAnsweringWithinTheDelayIsNotHedged() throws Exception {
+        BlobRequestHedger hedger = hedger(10_000, 10);
+
+        CompletableFuture<String> result = call(hedger, request);
+        attempts.next().run();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("attempt-1");
+        assertThat(attempts.pending()).isZero();
+        assertThat(requests("primary-won") + requests("hedge-won") + requests("budget-exhausted")).isZero();
+    }
+
+    @Test
+    void hedgeWinsAndTheSlowPrimaryIsDiscarded() throws Exception {
+        BlobRequestHedger hedger = hedger(1, 10);
+
+        CompletableFuture<String> result = call(hedger, request);
+        Runnable primary = attempts.next();
+        Runnable hedge = attempts.next();
+        hedge.run();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("attempt-1");
+        primary.run();
+        assertThat(discarded).containsExactly("attempt-2");
+        assertThat(requests("hedge-won")).isEqualTo(1);
+        assertThat(requests("primary-won")).isZero();
+    }
+
+    @Test
+    void primaryWinsAfterTheHedgeIsSentAndTheHedgeIsDiscarded() throws Exception {
+        BlobRequestHedger hedger = hedger(1, 10);
+
+        CompletableFuture<String> result = call(hedger, request);
+        Runnable primary = attempts.next();
+        Runnable hedge = attempts.next();
+        primary.run();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("attempt-1");
+        hedge.run();
+        assertThat(discarded).containsExactly("attempt-2");
+        assertThat(requests("primary-won")).isEqualTo(1);
+        assertThat(requests("hedge-won")).isZero();
+    }
+
+    @Test
+    void exhaustedBudgetWaitsForThePrimaryWithoutHedging() throws Exception {
+        BlobRequestHedger hedger = hedger(1, 0);
+
+        // The initial burst allows ten hedges
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<String> result = call(hedger, request);
+            Runnable primary = attempts.next();
+            attempts.next().run();
+            result.get(5, TimeUnit.SECONDS);
+            primary.run();
+        }
+
+        CompletableFuture<String> result = call(hedger, request);
+        Runnable primary = attempts.next();
+        assertThat(attempts.poll(200)).isNull();
+        primary.run();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("attempt-21");
+        assertThat(requests("budget-exhausted")).isEqualTo(1);
+        assertThat(requests("hedge-won")).isEqualTo(10);
+    }
+
+    @Test
+    void failureOfBothAttemptsIsRethrown() throws Exception {
+        BlobRequestHedger hedger = hedger(1, 10);
+        Supplier<String> failing = () -> {
+            throw new IllegalStateException("attempt " + calls.incrementAndGet() + " failed");
+        };
+
+        CompletableFuture<String> result = call(hedger, failing);
+        Runnable primary = attempts.next();
+        Runnable hedge = attempts.next();
+        primary.run();
+        assertThat(result).isNotDone();
+        hedge.run();
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("attempt 2 failed");
+        assertThat(discarded).isEmpty();
+    }
+
+    @Test
+    void hedgeFailureStillLetsTheSlowPrimaryWin() throws Exception {
+        BlobRequestHedger hedger = hedger(1, 10);
+        Supplier<String> hedgeFails = () -> {
+            int attempt = calls.incrementAndGet();
+            if (attempt == 1) {
+                throw new IllegalStateException("hedge failed");
+            }
+            return "attempt-" + attempt;
+        };
+
+        CompletableFuture<String> result = call(hedger, hedgeFails);
+        Runnable primary = attempts.next();
+        attempts.next().run();
+        primary.run();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("attempt-2");
+        assertThat(requests("primary-won")).isEqualTo(1);
+    }
+
+    private BlobRequestHedger hedger(long minDelayMs, double budgetPercent) {
+        return new BlobRequestHedger(true, 0.95, minDelayMs, budgetPercent, attempts, registry);
+    }
+
+    private CompletableFuture<String> call(BlobRequestHedger hedger, Supplier<String> request) {
+        return CompletableFuture.supplyAsync(() -> hedger.call(OP, request, discarded::add), callers);
+    }
+
+    private double requests(String result) {
+        return registry.get("vpi.blob.hedge.requests").tag("operation", OP).tag("result", result).counter().count();
+    }
+
+    /**
+     * Holds submitted attempts until the test runs them, so it decides which one is slow.
+     */
+    private static final class ManualExecutor implements Executor {
+
+        private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        Runnable next() throws InterruptedException {
+            Runnable task = poll(5_000);
+            assertThat(task).as("submitted attempt").isNotNull();
+            return task;
+        }
+
+        Runnable poll(long timeoutMs) throws InterruptedException {
+            return tasks.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        int pending() {
+            return tasks.size();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RangedBlobInputStreamTest {
+
+    private static final byte[] BLOB = new byte[1000];
+
+    static {
+        for (int i = 0; i < BLOB.length; i++) {
+            BLOB[i] = (byte) (i * 31);
+        }
+    }
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rangesAreReturnedInOrderWhenTheyCompleteOutOfOrder() throws IOException {
+        // Later ranges finish first
+        RangedBlobInputStream.RangeReader reader = (offset, count) -> {
+            sleep(5 * (BLOB.length - offset) / 100);
+            return Arrays.copyOfRange(BLOB, (int) offset, (int) offset + count);
+        };
+        AtomicLong completed = new AtomicLong(-1);
+
+        try (InputStream in = new RangedBlobInputStream(reader, BLOB.length, 100, 8, executor, completed::set)) {
+            assertThat(in.readAllBytes()).isEqualTo(BLOB);
+        }
+        assertThat(completed).hasValue(BLOB.length);
+    }
+
+    @Test
+    void lastRangeIsShortAndSingleByteReadsWork() throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        RangedBlobInputStream.RangeReader reader = (offset, count) -> {
+            synchronized (offsets) {
+                offsets.add(offset);
+            }
+            return Arrays.copyOfRange(BLOB, (int) offset, (int) offset + count);
+        };
+
+        try (InputStream in = new RangedBlobInputStream(reader, 250, 100, 2, executor, size -> { })) {
+            for (int i = 0; i < 250; i++) {
+                assertThat(in.read()).isEqualTo(BLOB[i] & 0xFF);
+            }
+            assertThat(in.read()).isEqualTo(-1);
+        }
+        assertThat(offsets).containsExactlyInAnyOrder(0L, 100L, 200L);
+    }
+
+    @Test
+    void noMoreThanConcurrencyRangesAreInFlight() throws IOException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        RangedBlobInputStream.RangeReader reader = (offset, count) -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            inFlight.decrementAndGet();
+            return Arrays.copyOfRange(BLOB, (int) offset, (int) offset + count);
+        };
+
+        try (InputStream in = new RangedBlobInputStream(reader, BLOB.length, 50, 3, executor, size -> { })) {
+            assertThat(in.readAllBytes()).isEqualTo(BLOB);
+        }
+        assertThat(peak.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void failedRangeSurfacesWhenTheReaderReachesIt() throws IOException {
+        RangedBlobInputStream.RangeReader reader = (offset, count) -> {
+            if (offset == 200) {
+                throw new IllegalStateException("range failed");
+            }
+            return Arrays.copyOfRange(BLOB, (int) offset, (int) offset + count);
+        };
+        AtomicLong completed = new AtomicLong(-1);
+
+        try (InputStream in = new RangedBlobInputStream(reader, BLOB.length, 100, 4, executor, completed::set)) {
+            assertThat(in.readNBytes(200)).isEqualTo(Arrays.copyOf(BLOB, 200));
+            assertThatThrownBy(in::read)
+                    .isInstanceOf(IOException.class)
+                    .hasRootCauseMessage("range failed");
+        }
+        assertThat(completed).hasValue(-1);
+    }
+
+    @Test
+    void emptyRangeIsAnError() throws IOException {
+        try (InputStream in = new RangedBlobInputStream((offset, count) -> new byte[0], 100, 50, 2, executor, size -> { })) {
+            assertThatThrownBy(in::read).isInstanceOf(IOException.class).hasMessageContaining("no data");
+        }
+    }
+
+    @Test
+    void closedStreamRejectsReadsWhileRangesAreInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RangedBlobInputStream.RangeReader reader = (offset, count) -> {
+            if (offset == 0) {
+                return Arrays.copyOfRange(BLOB, 0, count);
+            }
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Arrays.copyOfRange(BLOB, (int) offset, (int) offset + count);
+        };
+
+        InputStream in = new RangedBlobInputStream(reader, BLOB.length, 100, 2, executor, size -> { });
+        assertThat(in.read()).isEqualTo(BLOB[0] & 0xFF);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        in.close();
+        release.countDown();
+
+        assertThatThrownBy(in::read).isInstanceOf(IOException.class).hasMessage("Stream closed");
+    }
+
+    @Test
+    void closeInterruptsRangesInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        RangedBlobInputStream.RangeReader reader = (offset, count) -> {
+            if (offset == 0) {
+                return Arrays.copyOfRange(BLOB, 0, count);
+            }
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return new byte[0];
+        };
+
+        InputStream in = new RangedBlobInputStream(reader, BLOB.length, 100, 2, executor, size -> { });
+        assertThat(in.read()).isEqualTo(BLOB[0] & 0xFF);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        in.close();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
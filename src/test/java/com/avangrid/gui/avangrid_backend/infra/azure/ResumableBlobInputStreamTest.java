@@ -0,0 +1,140 @@
+package com.avangrid.gui.avangrid_backend.infra.azure;
+
+import com.avangrid.gui.avangrid_backend.infra.blob.InMemoryBlobStore;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.specialized.BlobInputStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumableBlobInputStreamTest {
+
+    private static final String BLOB = "NYSEG/2024/1/15/call.wav";
+    private static final byte[] CONTENT = new byte[1000];
+
+    static {
+        for (int i = 0; i < CONTENT.length; i++) {
+            CONTENT[i] = (byte) (i * 7);
+        }
+    }
+
+    private final InMemoryBlobStore store = new InMemoryBlobStore(new SimpleMeterRegistry(), 0, 0, 0, 0);
+    private final List<Long> reopenedAt = new ArrayList<>();
+
+    @Test
+    void failedReadResumesFromTheNextUnreadByte() throws IOException {
+        store.put(BLOB, CONTENT);
+
+        try (ResumableBlobInputStream in = resumable(open(0, 300, false), 3)) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+        assertThat(reopenedAt).containsExactly(300L);
+    }
+
+    @Test
+    void streamEndingBeforeTheBlobSizeIsResumed() throws IOException {
+        store.put(BLOB, CONTENT);
+
+        try (ResumableBlobInputStream in = resumable(open(0, 400, true), 3)) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+        assertThat(reopenedAt).containsExactly(400L);
+    }
+
+    @Test
+    void blobReplacedMidReadFailsWithPreconditionFailed() throws IOException {
+        store.put(BLOB, CONTENT);
+        ResumableBlobInputStream in = resumable(open(0, 300, false), 3);
+        assertThat(in.readNBytes(300)).isEqualTo(Arrays.copyOf(CONTENT, 300));
+
+        store.put(BLOB, new byte[CONTENT.length]);
+
+        assertThatThrownBy(in::read)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("changed while being read")
+                .hasCauseInstanceOf(BlobStorageException.class);
+        assertThat(reopenedAt).containsExactly(300L);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws IOException {
+        store.put(BLOB, CONTENT);
+        ResumableBlobInputStream in = new ResumableBlobInputStream(BLOB, open(0, 100, false),
+                (offset, eTag) -> {
+                    reopenedAt.add(offset);
+                    throw new IllegalStateException("connection refused");
+                }, 2, 1, 1);
+
+        assertThat(in.readNBytes(100)).hasSize(100);
+        assertThatThrownBy(in::read).isInstanceOf(IOException.class);
+        assertThat(reopenedAt).containsExactly(100L, 100L);
+    }
+
+    @Test
+    void closedStreamRejectsReads() throws IOException {
+        store.put(BLOB, CONTENT);
+        ResumableBlobInputStream in = resumable(open(0, -1, false), 3);
+        assertThat(in.getETag()).isEqualTo(store.getBlobStream(BLOB).getETag());
+
+        in.close();
+
+        assertThatThrownBy(in::read).isInstanceOf(IOException.class).hasMessage("Stream closed");
+    }
+
+    private ResumableBlobInputStream resumable(BlobInputStream first, int maxAttempts) {
+        return new ResumableBlobInputStream(BLOB, first, (offset, eTag) -> {
+            reopenedAt.add(offset);
+            if (!store.getBlobStream(BLOB).getETag().equals(eTag)) {
+                BlobStorageException preconditionFailed = mock(BlobStorageException.class);
+                when(preconditionFailed.getStatusCode()).thenReturn(412);
+                throw preconditionFailed;
+            }
+            return open(offset, -1, false);
+        }, maxAttempts, 1, 1);
+    }
+
+    /**
+     * Opens the stored blob from {@code offset}, breaking after {@code breakAfter} bytes
+     * (never when negative) with an exception or, if {@code endEarly}, an early end of stream.
+     */
+    private BlobInputStream open(long offset, int breakAfter, boolean endEarly) {
+        byte[] content = store.getBlobContent(BLOB);
+        String eTag = store.getBlobStream(BLOB).getETag();
+        int end = breakAfter < 0 ? content.length : (int) offset + breakAfter;
+        InputStream source = new ByteArrayInputStream(content, (int) offset, end - (int) offset);
+
+        BlobProperties properties = mock(BlobProperties.class);
+        when(properties.getETag()).thenReturn(eTag);
+        when(properties.getBlobSize()).thenReturn((long) content.length);
+
+        BlobInputStream stream = mock(BlobInputStream.class);
+        when(stream.getProperties()).thenReturn(properties);
+        try {
+            when(stream.read(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+                int count = source.read(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+                if (count == -1 && end < content.length && !endEarly) {
+                    throw new IOException("connection reset");
+                }
+                return count;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stream;
+    }
+}
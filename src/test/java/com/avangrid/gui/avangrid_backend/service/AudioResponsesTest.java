@@ -0,0 +1,157 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.config.ZeroCopyResourceHttpMessageConverter;
+import com.avangrid.gui.avangrid_backend.config.ZeroCopyResourceRegionHttpMessageConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class AudioResponsesTest {
+
+    private static final byte[] MP3 = new byte[100];
+
+    static {
+        for (int i = 0; i < MP3.length; i++) {
+            MP3[i] = (byte) i;
+        }
+    }
+
+    private final AudioController controller = new AudioController();
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setMessageConverters(new ZeroCopyResourceHttpMessageConverter(), new ZeroCopyResourceRegionHttpMessageConverter())
+            .build();
+
+    @Test
+    void isPartialRangeTreatsOnlyRangesShortOfTheWholeBodyAsPartial() {
+        assertThat(AudioResponses.isPartialRange(null)).isFalse();
+        assertThat(AudioResponses.isPartialRange(" ")).isFalse();
+        assertThat(AudioResponses.isPartialRange("bytes=0-")).isFalse();
+
+        assertThat(AudioResponses.isPartialRange("bytes=0-99")).isTrue();
+        assertThat(AudioResponses.isPartialRange("bytes=100-")).isTrue();
+        assertThat(AudioResponses.isPartialRange("bytes=-500")).isTrue();
+        assertThat(AudioResponses.isPartialRange("bytes=0-,50-")).isTrue();
+    }
+
+    @Test
+    void isPartialRangeIgnoresUnparseableRanges() {
+        assertThat(AudioResponses.isPartialRange("bytes=abc")).isFalse();
+        assertThat(AudioResponses.isPartialRange("items=0-5")).isFalse();
+        assertThat(AudioResponses.isPartialRange("bytes=9-1")).isFalse();
+    }
+
+    @Test
+    void completeMp3AnswersRangeWithPartialContent() throws Exception {
+        MvcResult result = request("/complete", "bytes=10-19");
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(206);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+        assertThat(result.getResponse().getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(MP3, 10, 20));
+    }
+
+    @Test
+    void completeMp3AnswersWholeBodyRangeWithPartialContent() throws Exception {
+        MvcResult result = request("/complete", "bytes=0-");
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(206);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-99/100");
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(MP3);
+    }
+
+    @Test
+    void streamedMp3AnswersOpenRangeFromZeroWithFullBody() throws Exception {
+        assertStreamedInFull(request("/streamed", "bytes=0-"));
+    }
+
+    @Test
+    void streamedMp3AnswersUnparseableRangeWithFullBody() throws Exception {
+        assertStreamedInFull(request("/streamed", "bytes=abc"));
+    }
+
+    @Test
+    void streamedMp3AnswersPartialRangeWithFullBody() throws Exception {
+        assertStreamedInFull(request("/streamed", "bytes=10-19"));
+    }
+
+    @Test
+    void streamedMp3WithoutRangeIsSentInFull() throws Exception {
+        assertStreamedInFull(request("/streamed", null));
+    }
+
+    private void assertStreamedInFull(MvcResult result) throws Exception {
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(result.getResponse().getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("none");
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(MP3);
+        assertThat(controller.streamReads.get()).isEqualTo(MP3.length);
+    }
+
+    private MvcResult request(String path, String range) throws Exception {
+        var request = get(path);
+        if (range != null) {
+            request.header(HttpHeaders.RANGE, range);
+        }
+        return mockMvc.perform(request).andReturn();
+    }
+
+    @RestController
+    static class AudioController {
+
+        private final AtomicInteger streamReads = new AtomicInteger();
+
+        @GetMapping("/complete")
+        ResponseEntity<Resource> complete() {
+            return AudioResponses.complete(new ByteArrayResource(MP3), "call");
+        }
+
+        @GetMapping("/streamed")
+        ResponseEntity<Resource> streamed() {
+            return AudioResponses.streamed(new ByteArrayInputStream(MP3) {
+                @Override
+                public synchronized int read(byte[] buffer, int offset, int length) {
+                    int read = super.read(buffer, offset, length);
+                    streamReads.addAndGet(Math.max(read, 0));
+                    return read;
+                }
+
+                @Override
+                public synchronized int read() {
+                    int read = super.read();
+                    if (read >= 0) {
+                        streamReads.incrementAndGet();
+                    }
+                    return read;
+                }
+
+                @Override
+                public long transferTo(OutputStream out) throws IOException {
+                    byte[] buffer = new byte[16];
+                    long total = 0;
+                    int read;
+                    while ((read = read(buffer, 0, buffer.length)) >= 0) {
+                        out.write(buffer, 0, read);
+                        total += read;
+                    }
+                    return total;
+                }
+            }, "call");
+        }
+    }
+}
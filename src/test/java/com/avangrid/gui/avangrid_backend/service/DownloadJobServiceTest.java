@@ -0,0 +1,114 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.exception.DownloadJobCapacityException;
+import com.avangrid.gui.avangrid_backend.exception.DownloadJobNotFoundException;
+import com.avangrid.gui.avangrid_backend.model.common.DownloadJobState;
+import com.avangrid.gui.avangrid_backend.model.dto.request.RecordingRequest;
+import com.avangrid.gui.avangrid_backend.model.dto.response.DownloadJobResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class DownloadJobServiceTest {
+
+    private static final List<RecordingRequest> REQUESTS = List.of(new RecordingRequest());
+    private static final String OWNER = "alice";
+
+    @TempDir
+    Path dir;
+
+    private final VpiRecordingService recordingService = mock(VpiRecordingService.class);
+    private final QueueingExecutor executor = new QueueingExecutor();
+
+    @Test
+    void submitsPastThePendingLimitAreRejected() throws IOException {
+        DownloadJobService service = service(2);
+        service.submit(REQUESTS, OWNER);
+        service.submit(REQUESTS, OWNER);
+
+        assertThatThrownBy(() -> service.submit(REQUESTS, OWNER))
+                .isInstanceOf(DownloadJobCapacityException.class)
+                .extracting(e -> ((DownloadJobCapacityException) e).getRetryAfterSeconds())
+                .isEqualTo(30L);
+        assertThat(executor.queued).hasSize(2);
+    }
+
+    @Test
+    void finishedJobsFreeTheirPendingSlot() throws IOException {
+        DownloadJobService service = service(1);
+        DownloadJobResponse first = service.submit(REQUESTS, OWNER);
+
+        executor.runNext();
+
+        assertThat(service.getStatus(first.getJobId(), OWNER).getState()).isEqualTo(DownloadJobState.COMPLETED);
+        assertThat(service.submit(REQUESTS, OWNER).getState()).isEqualTo(DownloadJobState.QUEUED);
+    }
+
+    @Test
+    void jobsAreHiddenFromOtherCallers() throws IOException {
+        DownloadJobService service = service(1);
+        UUID jobId = service.submit(REQUESTS, OWNER).getJobId();
+        executor.runNext();
+
+        assertThatThrownBy(() -> service.getStatus(jobId, "mallory")).isInstanceOf(DownloadJobNotFoundException.class);
+        assertThatThrownBy(() -> service.getArchive(jobId, "mallory")).isInstanceOf(DownloadJobNotFoundException.class);
+        assertThat(service.getArchive(jobId, OWNER)).exists();
+    }
+
+    private DownloadJobService service(int maxPending) throws IOException {
+        return new DownloadJobService(recordingService, executor, dir.toString(), 60, maxPending, 30);
+    }
+
+    /**
+     * Holds submitted jobs until the test runs them.
+     */
+    private static final class QueueingExecutor extends AbstractExecutorService {
+
+        private final Deque<Runnable> queued = new ArrayDeque<>();
+
+        void runNext() {
+            queued.removeFirst().run();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            queued.addLast(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.copyOf(queued);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
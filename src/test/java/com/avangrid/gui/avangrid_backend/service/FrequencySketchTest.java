@@ -0,0 +1,55 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencySketchTest {
+
+    @Test
+    void neverUndercountsUpToSaturation() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < 40; i++) {
+            counts.put("recording-" + i, i % 20);
+        }
+        counts.forEach((key, count) -> {
+            for (int n = 0; n < count; n++) {
+                sketch.increment(key);
+            }
+        });
+
+        counts.forEach((key, count) ->
+                assertThat(sketch.frequency(key)).as(key).isGreaterThanOrEqualTo(Math.min(count, 15)));
+    }
+
+    @Test
+    void countersSaturateAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("hot");
+        }
+
+        assertThat(sketch.frequency("hot")).isEqualTo(15);
+    }
+
+    @Test
+    void agingHalvesCountsAfterSampleOfIncrements() {
+        // 16 expected items: 32 counters per row, aged after 320 increments
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment("hot");
+        }
+
+        int others = 0;
+        while (sketch.frequency("hot") == 15 && others < 1_000) {
+            sketch.increment("cold-" + others++);
+        }
+
+        assertThat(others).isLessThanOrEqualTo(320);
+        assertThat(sketch.frequency("hot")).isEqualTo(7);
+    }
+}
@@ -0,0 +1,160 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Mp3DiskCacheTest {
+
+    private static final String PROFILE = "-b:a 64k";
+    private static final byte[] MP3 = new byte[10];
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void offeredMp3IsServedForTheSameProfileOnly() throws IOException {
+        Mp3DiskCache cache = cache(100);
+
+        assertThat(cache.lookup("a.wav", PROFILE)).isEmpty();
+        cache.offer("a.wav", PROFILE, MP3);
+
+        Optional<Path> hit = cache.lookup("a.wav", PROFILE);
+        assertThat(hit).isPresent();
+        assertThat(Files.readAllBytes(hit.get())).isEqualTo(MP3);
+        assertThat(cache.lookup("a.wav", "-b:a 128k")).isEmpty();
+        assertThat(registry.get("vpi.mp3.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("vpi.mp3.cache.requests").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void fullCacheRejectsCandidateNoMoreFrequentThanTheLruEntry() {
+        Mp3DiskCache cache = fill(cache(30), "a.wav", "b.wav", "c.wav");
+
+        cache.lookup("d.wav", PROFILE);
+        cache.offer("d.wav", PROFILE, MP3);
+
+        assertThat(cache.lookup("d.wav", PROFILE)).isEmpty();
+        assertThat(cache.lookup("a.wav", PROFILE)).isPresent();
+        assertThat(registry.get("vpi.mp3.cache.admissions").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void admittedCandidateEvictsLeastRecentlyUsedEntry() {
+        Mp3DiskCache cache = fill(cache(30), "a.wav", "b.wav", "c.wav");
+        // "a" becomes the most recently used, leaving "b" eldest
+        cache.lookup("a.wav", PROFILE);
+
+        cache.lookup("d.wav", PROFILE);
+        cache.lookup("d.wav", PROFILE);
+        cache.offer("d.wav", PROFILE, MP3);
+
+        assertThat(cache.lookup("d.wav", PROFILE)).isPresent();
+        assertThat(cache.lookup("a.wav", PROFILE)).isPresent();
+        assertThat(cache.lookup("c.wav", PROFILE)).isPresent();
+        assertThat(cache.lookup("b.wav", PROFILE)).isEmpty();
+        assertThat(mp3Files()).isEqualTo(3);
+    }
+
+    @Test
+    void evictedFileStaysOnDiskDuringItsGracePeriod() {
+        Mp3DiskCache cache = fill(new Mp3DiskCache(registry, true, dir.toString(), 20, 60), "a.wav", "b.wav");
+        Path served = cache.lookup("a.wav", PROFILE).orElseThrow();
+        // "b" becomes the most recently used, leaving the served "a" eldest
+        cache.lookup("b.wav", PROFILE);
+
+        cache.lookup("c.wav", PROFILE);
+        cache.lookup("c.wav", PROFILE);
+        cache.lookup("c.wav", PROFILE);
+        cache.offer("c.wav", PROFILE, MP3);
+
+        assertThat(cache.lookup("c.wav", PROFILE)).isPresent();
+        assertThat(cache.lookup("a.wav", PROFILE)).isEmpty();
+        assertThat(mp3Files()).isEqualTo(3);
+        assertThat(served).exists();
+    }
+
+    @Test
+    void gaugesAreBoundToTheRegistry() {
+        Mp3DiskCache cache = fill(cache(30), "a.wav", "b.wav");
+
+        cache.bindTo(registry);
+
+        assertThat(registry.get("vpi.mp3.cache.entries").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("vpi.mp3.cache.bytes").gauge().value()).isEqualTo(20);
+    }
+
+    @Test
+    void mp3LargerThanTheBudgetIsNotStored() {
+        Mp3DiskCache cache = cache(5);
+
+        cache.lookup("a.wav", PROFILE);
+        cache.offer("a.wav", PROFILE, MP3);
+
+        assertThat(cache.lookup("a.wav", PROFILE)).isEmpty();
+        assertThat(mp3Files()).isZero();
+    }
+
+    @Test
+    void rejectedTempFileIsDeleted() throws IOException {
+        Mp3DiskCache cache = fill(cache(30), "a.wav", "b.wav", "c.wav");
+        Path temp = cache.newTempFile().orElseThrow();
+        Files.write(temp, MP3);
+
+        assertThat(cache.offer("d.wav", PROFILE, temp)).isEmpty();
+        assertThat(temp).doesNotExist();
+    }
+
+    @Test
+    void admittedTempFileIsMovedIntoPlace() throws IOException {
+        Mp3DiskCache cache = cache(30);
+        Path temp = cache.newTempFile().orElseThrow();
+        Files.write(temp, MP3);
+
+        Optional<Path> cached = cache.offer("a.wav", PROFILE, temp);
+
+        assertThat(cached).isPresent();
+        assertThat(temp).doesNotExist();
+        assertThat(cache.lookup("a.wav", PROFILE)).isEqualTo(cached);
+    }
+
+    @Test
+    void restartKeepsCachedFilesAndRemovesAbandonedTempFiles() throws IOException {
+        Mp3DiskCache cache = fill(cache(30), "a.wav");
+        Path abandoned = cache.newTempFile().orElseThrow();
+
+        Mp3DiskCache restarted = new Mp3DiskCache(new SimpleMeterRegistry(), true, dir.toString(), 30, 0);
+
+        assertThat(restarted.lookup("a.wav", PROFILE)).isPresent();
+        assertThat(abandoned).doesNotExist();
+    }
+
+    private Mp3DiskCache fill(Mp3DiskCache cache, String... blobNames) {
+        for (String blobName : blobNames) {
+            cache.lookup(blobName, PROFILE);
+            cache.offer(blobName, PROFILE, MP3);
+        }
+        return cache;
+    }
+
+    private Mp3DiskCache cache(long maxBytes) {
+        return new Mp3DiskCache(registry, true, dir.toString(), maxBytes, 0);
+    }
+
+    private long mp3Files() {
+        try (var files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".mp3")).count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.exception.InvalidRequestException;
+import com.avangrid.gui.avangrid_backend.infra.nyseg.entity.VpiCaptureNyseg;
+import com.avangrid.gui.avangrid_backend.model.entitiybase.VpiCaptureView;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorTest {
+
+    private static final OffsetDateTime DATE_ADDED = OffsetDateTime.of(2024, 1, 15, 15, 45, 30, 123_456_789, ZoneOffset.UTC);
+
+    @Test
+    void encodeDecodeRoundTripsAtMicrosecondPrecision() {
+        UUID objectId = UUID.fromString("f1d90bf7-8364-8c43-9701-b6ed4f716f2f");
+
+        SearchCursor decoded = SearchCursor.decode(new SearchCursor(DATE_ADDED, objectId).encode());
+
+        assertThat(decoded.getObjectId()).isEqualTo(objectId);
+        assertThat(decoded.getDateAdded()).isEqualTo(DATE_ADDED.withNano(123_456_000));
+    }
+
+    @Test
+    void decodeNormalizesOffsetToUtc() {
+        OffsetDateTime eastern = DATE_ADDED.withNano(0).withOffsetSameInstant(ZoneOffset.ofHours(-5));
+
+        SearchCursor decoded = SearchCursor.decode(new SearchCursor(eastern, new UUID(1, 2)).encode());
+
+        assertThat(decoded.getDateAdded()).isEqualTo(DATE_ADDED.withNano(0));
+        assertThat(decoded.getDateAdded().getOffset()).isEqualTo(ZoneOffset.UTC);
+    }
+
+    @Test
+    void encodedTokenIsUrlSafe() {
+        String token = new SearchCursor(DATE_ADDED, new UUID(-1, -1)).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decodeRejectsMalformedTokens() {
+        assertThatThrownBy(() -> SearchCursor.decode("not base64!"))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token("1705333530000000")))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token(":" + new UUID(1, 2))))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token("abc:" + new UUID(1, 2))))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(token("1705333530000000:not-a-uuid")))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void ofReturnsNullWithoutSortKey() {
+        VpiCaptureNyseg capture = capture(null, new UUID(1, 2));
+
+        assertThat(SearchCursor.of(capture)).isNull();
+        assertThat(SearchCursor.of(null)).isNull();
+    }
+
+    @Test
+    void descendingOrderSortsByDateAddedThenUnsignedObjectId() {
+        // Signed comparison would put the high-bit UUIDs last; PostgreSQL puts them first
+        UUID highBit = UUID.fromString("ffffffff-0000-0000-0000-000000000000");
+        UUID lowHighBit = UUID.fromString("00000000-0000-0000-8000-000000000000");
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        VpiCaptureNyseg newest = capture(DATE_ADDED.plusSeconds(1), low);
+        VpiCaptureNyseg first = capture(DATE_ADDED, highBit);
+        VpiCaptureNyseg second = capture(DATE_ADDED, lowHighBit);
+        VpiCaptureNyseg third = capture(DATE_ADDED, low);
+        VpiCaptureNyseg undated = capture(null, highBit);
+
+        List<VpiCaptureView> rows = new ArrayList<>(List.of(undated, third, first, newest, second));
+        rows.sort(SearchCursor.DESCENDING_ORDER);
+
+        assertThat(rows).containsExactly(newest, first, second, third, undated);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static VpiCaptureNyseg capture(OffsetDateTime dateAdded, UUID objectId) {
+        VpiCaptureNyseg capture = new VpiCaptureNyseg();
+        capture.setDateAdded(dateAdded);
+        capture.setObjectId(objectId);
+        return capture;
+    }
+}
@@ -0,0 +1,39 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.exception.TranscodeCapacityException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TranscodeSchedulerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void callerDeadlineBoundsTheWaitInsteadOfTheQueueTimeout() {
+        TranscodeScheduler scheduler = new TranscodeScheduler(registry, 1, 1, 60_000);
+
+        try (TranscodeScheduler.Slot held = scheduler.acquire()) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> scheduler.acquire(start + TimeUnit.MILLISECONDS.toNanos(50)))
+                    .isInstanceOf(TranscodeCapacityException.class)
+                    .hasMessageContaining("Timed out");
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(10));
+        }
+        assertThat(registry.get("vpi.transcode.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void passedDeadlineStillTakesAFreeSlot() {
+        TranscodeScheduler scheduler = new TranscodeScheduler(registry, 1, 1, 60_000);
+
+        try (TranscodeScheduler.Slot slot = scheduler.acquire(System.nanoTime() - 1)) {
+            assertThat(registry.get("vpi.transcode.active").gauge().value()).isEqualTo(1);
+        }
+        assertThat(registry.get("vpi.transcode.active").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,106 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.infra.nyseg.entity.VpiUsersNyseg;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDirectoryTest {
+
+    private static final VpiUsersNyseg SMITH = user(1, "John Smith");
+    private static final VpiUsersNyseg SMITHERS = user(2, "Waylon Smithers");
+    private static final VpiUsersNyseg JONES = user(3, "Mary Jones");
+    private static final VpiUsersNyseg ANNA = user(4, "Anna Banana");
+    private static final VpiUsersNyseg NANA = user(5, "Nan Anab");
+
+    private static final List<VpiUsersNyseg> USERS = List.of(SMITH, SMITHERS, JONES, ANNA, NANA);
+
+    private final UserDirectory directory = UserDirectory.of(USERS);
+
+    @Test
+    void substringLookupIntersectsPostingLists() {
+        assertThat(directory.findIdsByNameContainsAny(List.of("smith")))
+                .containsExactlyInAnyOrder(SMITH.getUserId(), SMITHERS.getUserId());
+        assertThat(directory.findIdsByNameContainsAny(List.of("SMITHERS")))
+                .containsExactly(SMITHERS.getUserId());
+        assertThat(directory.findIdsByNameContainsAny(List.of("smithx"))).isEmpty();
+    }
+
+    @Test
+    void candidatesWithAllTrigramsOutOfOrderAreRejected() {
+        // "Nan Anab" holds every trigram of "anana" ("ana", "nan") but not the substring
+        assertThat(directory.findIdsByNameContainsAny(List.of("anana")))
+                .containsExactly(ANNA.getUserId());
+    }
+
+    @Test
+    void needlesShorterThanATrigramScanAllNames() {
+        assertThat(directory.findIdsByNameContainsAny(List.of("jo")))
+                .containsExactlyInAnyOrder(SMITH.getUserId(), JONES.getUserId());
+        assertThat(directory.findIdsByNameContainsAny(List.of("s")))
+                .containsExactlyInAnyOrder(SMITH.getUserId(), SMITHERS.getUserId(), JONES.getUserId());
+    }
+
+    @Test
+    void matchesAnyOfSeveralNamesAndSkipsBlankValues() {
+        assertThat(directory.findIdsByNameContainsAny(Arrays.asList("jones", null, "", "waylon")))
+                .containsExactlyInAnyOrder(JONES.getUserId(), SMITHERS.getUserId());
+    }
+
+    @Test
+    void agreesWithCaseInsensitiveContainsForEverySubstring() {
+        for (VpiUsersNyseg user : USERS) {
+            String name = user.getFullName();
+            for (int from = 0; from < name.length(); from++) {
+                for (int to = from + 1; to <= name.length(); to++) {
+                    String needle = name.substring(from, to);
+                    assertThat(directory.findIdsByNameContainsAny(List.of(needle)))
+                            .as(needle)
+                            .isEqualTo(containing(needle));
+                }
+            }
+        }
+    }
+
+    @Test
+    void skipsUsersWithoutIdOrName() {
+        VpiUsersNyseg noName = user(6, null);
+        VpiUsersNyseg noId = user(7, "Ghost User");
+        noId.setUserId(null);
+
+        UserDirectory partial = UserDirectory.of(List.of(SMITH, noName, noId));
+
+        assertThat(partial.size()).isEqualTo(1);
+        assertThat(partial.findIdsByNameContainsAny(List.of("ghost"))).isEmpty();
+    }
+
+    @Test
+    void findNamesOmitsUnknownIds() {
+        Map<UUID, String> names = directory.findNames(List.of(SMITH.getUserId(), new UUID(0, 99)));
+
+        assertThat(names).containsExactly(Map.entry(SMITH.getUserId(), "John Smith"));
+    }
+
+    private static Set<UUID> containing(String needle) {
+        String lower = needle.toLowerCase(Locale.ROOT);
+        return USERS.stream()
+                .filter(user -> user.getFullName().toLowerCase(Locale.ROOT).contains(lower))
+                .map(VpiUsersNyseg::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    private static VpiUsersNyseg user(long id, String fullName) {
+        VpiUsersNyseg user = new VpiUsersNyseg();
+        user.setUserId(new UUID(0, id));
+        user.setFullName(fullName);
+        return user;
+    }
+}
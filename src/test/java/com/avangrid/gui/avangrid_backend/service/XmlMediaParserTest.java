@@ -0,0 +1,144 @@
+package com.avangrid.gui.avangrid_backend.service;
+
+import com.avangrid.gui.avangrid_backend.exception.RecordingProcessingException;
+import com.avangrid.gui.avangrid_backend.model.common.MediaMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XmlMediaParserTest {
+
+    private static final String NYSEG_MEDIA = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <Media FileName="00042202401151545300000John Smith.wav" Type="Voice" Result="Success">
+              <ExtensionNum>4021</ExtensionNum>
+              <ChannelNum>42</ChannelNum>
+              <ANIALIDigits>5551234</ANIALIDigits>
+              <ExtensionNum>9999</ExtensionNum>
+            </Media>
+            """;
+
+    private static final String CMP_DAY = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <ExportSummary>
+              <Header><Count>3</Count></Header>
+              <Objects>
+                <Media FileName="a.wav" Type="Voice" Result="Success"><ChannelNum>1</ChannelNum></Media>
+                <Media FileName="b.wav" Type="Voice" Result="Failed"><ChannelNum>2</ChannelNum></Media>
+                <Media FileName="c.wav" Type="Voice" Result="Success"><ChannelNum>3</ChannelNum></Media>
+              </Objects>
+              <Objects>
+                <Media FileName="ignored.wav"/>
+              </Objects>
+            </ExportSummary>
+            """;
+
+    private final XmlMediaParser parser = new XmlMediaParser();
+
+    @Test
+    void parsesSingleMediaDocument() {
+        List<MediaMetadata> media = parser.parse(stream(NYSEG_MEDIA));
+
+        assertThat(media).hasSize(1);
+        MediaMetadata only = media.getFirst();
+        assertThat(only.getFileName()).isEqualTo("00042202401151545300000John Smith.wav");
+        assertThat(only.getType()).isEqualTo("Voice");
+        assertThat(only.getResult()).isEqualTo("Success");
+        assertThat(only.getField("ChannelNum")).isEqualTo("42");
+        assertThat(only.getField("ANIALIDigits")).isEqualTo("5551234");
+        // Duplicate child elements keep the first occurrence
+        assertThat(only.getField("ExtensionNum")).isEqualTo("4021");
+    }
+
+    @Test
+    void parsesMediaOfTheFirstObjectsElementOnly() {
+        List<MediaMetadata> media = parser.parse(stream(CMP_DAY));
+
+        assertThat(media).extracting(MediaMetadata::getFileName).containsExactly("a.wav", "b.wav", "c.wav");
+        assertThat(media).extracting(m -> m.getField("ChannelNum")).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void reportsWholeDocumentReadWhenConsumerNeverStops() {
+        List<String> seen = new ArrayList<>();
+
+        assertThat(parser.parse(stream(CMP_DAY), media -> seen.add(media.getFileName()))).isTrue();
+        assertThat(seen).containsExactly("a.wav", "b.wav", "c.wav");
+        assertThat(parser.parse(stream(NYSEG_MEDIA), media -> true)).isTrue();
+    }
+
+    @Test
+    void stopsAtFirstMatchInExportSummary() {
+        List<String> seen = new ArrayList<>();
+
+        boolean complete = parser.parse(stream(CMP_DAY), media -> {
+            seen.add(media.getFileName());
+            return !media.getFileName().equals("b.wav");
+        });
+
+        assertThat(complete).isFalse();
+        assertThat(seen).containsExactly("a.wav", "b.wav");
+    }
+
+    @Test
+    void earlyStopOnSingleMediaDocumentIsReported() {
+        List<String> seen = new ArrayList<>();
+
+        boolean complete = parser.parse(stream(NYSEG_MEDIA), media -> {
+            seen.add(media.getFileName());
+            return false;
+        });
+
+        assertThat(complete).isFalse();
+        assertThat(seen).hasSize(1);
+    }
+
+    @Test
+    void earlyStopLeavesTheRestOfTheStreamUnread() {
+        StringBuilder xml = new StringBuilder("<ExportSummary><Objects>");
+        for (int i = 0; i < 20_000; i++) {
+            xml.append("<Media FileName=\"").append(i).append(".wav\"><ChannelNum>1</ChannelNum></Media>");
+        }
+        xml.append("</Objects></ExportSummary>");
+        byte[] content = xml.toString().getBytes(StandardCharsets.UTF_8);
+        ByteArrayInputStream input = new ByteArrayInputStream(content);
+
+        assertThat(parser.parse(input, media -> false)).isFalse();
+        assertThat(input.available()).isGreaterThan(content.length / 2);
+    }
+
+    @Test
+    void rejectsDoctype() {
+        String xml = """
+                <?xml version="1.0"?>
+                <!DOCTYPE Media [<!ENTITY xxe SYSTEM "file:///etc/passwd">]>
+                <Media FileName="x.wav"><ChannelNum>&xxe;</ChannelNum></Media>
+                """;
+
+        assertThatThrownBy(() -> parser.parse(stream(xml))).isInstanceOf(RecordingProcessingException.class);
+        assertThat(parser.isValidXml(stream(xml))).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownRootAndMissingObjects() {
+        assertThatThrownBy(() -> parser.parse(stream("<Other/>")))
+                .isInstanceOf(RecordingProcessingException.class)
+                .hasMessageContaining("Root element");
+        assertThatThrownBy(() -> parser.parse(stream("<ExportSummary><Media/></ExportSummary>")))
+                .isInstanceOf(RecordingProcessingException.class)
+                .hasMessageContaining("Missing Objects");
+        assertThatThrownBy(() -> parser.parse(stream("<Media>")))
+                .isInstanceOf(RecordingProcessingException.class);
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}